@@ -0,0 +1,59 @@
+package com.raastabuzz.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.broker.AbstractBrokerMessageHandler;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+
+import com.raastabuzz.service.ReportBroadcaster;
+
+/**
+ * Replays missed report events for a SUBSCRIBE frame carrying a
+ * {@code resume-from: <seq>} header. Runs after the broker has registered the
+ * subscription so nothing sent in between is lost; at worst an event arrives
+ * both live and in the replay, which clients drop by version.
+ */
+@Component
+public class ReportReplayInterceptor implements ExecutorChannelInterceptor {
+
+    public static final String RESUME_FROM_HEADER = "resume-from";
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportReplayInterceptor.class);
+
+    // Lazy: the broadcaster needs the messaging template, which is built from the channel this intercepts
+    @Lazy
+    @Autowired
+    private ReportBroadcaster reportBroadcaster;
+
+    @Override
+    public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler, Exception ex) {
+        // Every inbound handler sees the frame; only the broker's pass means the subscription is live
+        if (!(handler instanceof AbstractBrokerMessageHandler)) {
+            return;
+        }
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (ex != null || accessor == null || !StompCommand.SUBSCRIBE.equals(accessor.getCommand())) {
+            return;
+        }
+        String resumeFrom = accessor.getFirstNativeHeader(RESUME_FROM_HEADER);
+        if (resumeFrom == null || accessor.getDestination() == null || accessor.getSessionId() == null) {
+            return;
+        }
+        try {
+            reportBroadcaster.replay(accessor.getSessionId(), accessor.getDestination(), Long.parseLong(resumeFrom.trim()));
+        } catch (NumberFormatException e) {
+            logger.debug("Ignoring malformed {} header: {}", RESUME_FROM_HEADER, resumeFrom);
+        } catch (RuntimeException e) {
+            logger.error("Failed to replay report events for {}", accessor.getDestination(), e);
+        }
+    }
+}
@@ -77,6 +77,8 @@ public class SecurityConfig {
                         .requestMatchers(mvc.pattern("/api/auth/**")).permitAll()
                         .requestMatchers(mvc.pattern(HttpMethod.GET, "/api/traffic-reports/**")).permitAll()
                         .requestMatchers(mvc.pattern(HttpMethod.GET, "/api/forum/**")).permitAll()
+                        .requestMatchers(mvc.pattern(HttpMethod.GET, "/api/search")).permitAll()
+                        .requestMatchers(mvc.pattern(HttpMethod.GET, "/api/addresses/**")).permitAll()
                         .requestMatchers(mvc.pattern("/h2-console/**")).permitAll()
                         .requestMatchers(mvc.pattern("/actuator/**")).permitAll()
                         .requestMatchers(mvc.pattern("/error")).permitAll()
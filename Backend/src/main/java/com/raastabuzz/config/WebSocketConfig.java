@@ -1,22 +1,41 @@
 package com.raastabuzz.config;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
 
+import com.raastabuzz.security.JwtChannelInterceptor;
+
 @Configuration
 @EnableWebSocketMessageBroker
 @CrossOrigin(origins = "*")
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    @Autowired
+    private JwtChannelInterceptor jwtChannelInterceptor;
+
+    @Autowired
+    private ReportReplayInterceptor reportReplayInterceptor;
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
         config.enableSimpleBroker("/topic", "/queue"); // broker
         config.setApplicationDestinationPrefixes("/api");
         config.setUserDestinationPrefix("/user");
+        // Report events carry a seq clients resume from; keep each session's messages in the order sent
+        config.setPreservePublishOrder(true);
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        // Identifies the user on CONNECT so /user/queue/alerts can be delivered;
+        // answers report subscriptions that ask to resume with what they missed
+        registration.interceptors(jwtChannelInterceptor, reportReplayInterceptor);
     }
 
     @Override
@@ -0,0 +1,69 @@
+package com.raastabuzz.controller;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.raastabuzz.dto.response.AddressBackfillResponse;
+import com.raastabuzz.dto.response.AddressSuggestionResponse;
+import com.raastabuzz.dto.response.MessageResponse;
+import com.raastabuzz.service.AddressSuggestService;
+import com.raastabuzz.service.ReportAddressBackfill;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/api/addresses")
+public class AddressController {
+    
+    private static final int MAX_LIMIT = 20;
+    private static final int MAX_PREFIX_LENGTH = 100;
+    
+    @Autowired
+    private AddressSuggestService addressSuggestService;
+    
+    @Autowired
+    private ReportAddressBackfill reportAddressBackfill;
+    
+    @GetMapping("/suggest")
+    public ResponseEntity<?> suggest(
+            @RequestParam String prefix,
+            @RequestParam(required = false) Double lat,
+            @RequestParam(required = false) Double lng,
+            @RequestParam(defaultValue = "5") int limit) {
+        if (prefix.length() > MAX_PREFIX_LENGTH) {
+            return ResponseEntity.badRequest()
+                .body(new MessageResponse("Error: prefix must be at most " + MAX_PREFIX_LENGTH + " characters"));
+        }
+        if ((lat == null) != (lng == null)) {
+            return ResponseEntity.badRequest()
+                .body(new MessageResponse("Error: lat and lng must be given together"));
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            return ResponseEntity.badRequest()
+                .body(new MessageResponse("Error: limit must be between 1 and " + MAX_LIMIT));
+        }
+        List<AddressSuggestionResponse> suggestions = addressSuggestService.suggest(prefix, lat, lng, limit);
+        return ResponseEntity.ok(suggestions);
+    }
+    
+    // Names reports saved without an address from the bundled gazetteer
+    @PostMapping("/backfill")
+    @PreAuthorize("hasRole('MODERATOR')")
+    public ResponseEntity<?> backfill() {
+        try {
+            AddressBackfillResponse result = reportAddressBackfill.backfill();
+            return ResponseEntity.ok(result);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                .body(new MessageResponse("Error: " + e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.raastabuzz.controller;
+
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.raastabuzz.dto.response.HeatmapResponse;
+import com.raastabuzz.dto.response.MessageResponse;
+import com.raastabuzz.model.TrafficCategory;
+import com.raastabuzz.service.HeatmapAggregator;
+import com.raastabuzz.util.BoundingBox;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/api/analytics")
+public class AnalyticsController {
+    
+    @Autowired
+    private HeatmapAggregator heatmapAggregator;
+    
+    @GetMapping("/heatmap")
+    public ResponseEntity<?> getHeatmap(
+            @RequestParam String bbox,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) TrafficCategory category) {
+        try {
+            HeatmapResponse heatmap = heatmapAggregator.getHeatmap(BoundingBox.parse(bbox), from, to, category);
+            return ResponseEntity.ok(heatmap);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(new MessageResponse("Error: " + e.getMessage()));
+        }
+    }
+}
@@ -20,6 +20,7 @@ import com.raastabuzz.model.User;
 import com.raastabuzz.security.JwtTokenProvider;
 import com.raastabuzz.security.UserPrincipal;
 import com.raastabuzz.service.UserService;
+import com.raastabuzz.service.UserVoteStore;
 
 import jakarta.validation.Valid;
 
@@ -37,6 +38,9 @@ public class AuthController {
     @Autowired
     JwtTokenProvider jwtTokenProvider;
     
+    @Autowired
+    UserVoteStore userVoteStore;
+    
     @PostMapping("/signin")
     public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
         try {
@@ -53,6 +57,9 @@ public class AuthController {
             UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
             User user = userService.findById(userPrincipal.getId()).orElse(null);
             
+            // Load the user's votes now so the first report list can show them without a query
+            userVoteStore.warm(userPrincipal.getId());
+            
             return ResponseEntity.ok(new JwtResponse(
                 jwt,
                 userPrincipal.getId(),
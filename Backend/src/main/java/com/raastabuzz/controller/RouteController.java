@@ -0,0 +1,96 @@
+package com.raastabuzz.controller;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.raastabuzz.dto.request.SavedRouteRequest;
+import com.raastabuzz.dto.response.MessageResponse;
+import com.raastabuzz.dto.response.RouteIncidentResponse;
+import com.raastabuzz.model.SavedRoute;
+import com.raastabuzz.model.User;
+import com.raastabuzz.security.UserPrincipal;
+import com.raastabuzz.service.RouteIncidentService;
+import com.raastabuzz.service.SavedRouteService;
+import com.raastabuzz.service.UserService;
+
+import jakarta.validation.Valid;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/api/routes")
+@PreAuthorize("hasRole('CONTRIBUTOR') or hasRole('MODERATOR')")
+public class RouteController {
+    
+    @Autowired
+    private SavedRouteService savedRouteService;
+    
+    @Autowired
+    private RouteIncidentService routeIncidentService;
+    
+    @Autowired
+    private UserService userService;
+    
+    @GetMapping
+    public ResponseEntity<List<SavedRoute>> getMyRoutes(@AuthenticationPrincipal UserPrincipal userPrincipal) {
+        User user = userService.findById(userPrincipal.getId())
+            .orElseThrow(() -> new RuntimeException("User not found"));
+        return ResponseEntity.ok(savedRouteService.getRoutesByUser(user));
+    }
+    
+    @PostMapping
+    public ResponseEntity<?> createRoute(
+            @Valid @RequestBody SavedRouteRequest routeRequest,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        try {
+            User user = userService.findById(userPrincipal.getId())
+                .orElseThrow(() -> new RuntimeException("User not found"));
+            
+            SavedRoute route = savedRouteService.createRoute(routeRequest, user);
+            return ResponseEntity.ok(route);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                .body(new MessageResponse("Error: " + e.getMessage()));
+        }
+    }
+    
+    @DeleteMapping("/{id}")
+    public ResponseEntity<?> deleteRoute(
+            @PathVariable Long id,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        try {
+            savedRouteService.deleteRoute(id, userPrincipal.getId());
+            return ResponseEntity.ok(new MessageResponse("Route deleted successfully"));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                .body(new MessageResponse("Error: " + e.getMessage()));
+        }
+    }
+    
+    @GetMapping("/{id}/incidents")
+    public ResponseEntity<?> getRouteIncidents(
+            @PathVariable Long id,
+            @RequestParam(required = false) Double bufferKm,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        try {
+            SavedRoute route = savedRouteService.getOwnedRoute(id, userPrincipal.getId());
+            List<RouteIncidentResponse> incidents = routeIncidentService.getRouteIncidents(route, bufferKm);
+            return ResponseEntity.ok(incidents);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                .body(new MessageResponse("Error: " + e.getMessage()));
+        }
+    }
+}
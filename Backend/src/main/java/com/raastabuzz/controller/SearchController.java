@@ -0,0 +1,49 @@
+package com.raastabuzz.controller;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.raastabuzz.dto.response.MessageResponse;
+import com.raastabuzz.dto.response.SearchResultResponse;
+import com.raastabuzz.service.SearchService;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/api/search")
+public class SearchController {
+    
+    private static final int MAX_LIMIT = 50;
+    private static final int MAX_QUERY_LENGTH = 200;
+    
+    @Autowired
+    private SearchService searchService;
+    
+    @GetMapping
+    public ResponseEntity<?> search(
+            @RequestParam String q,
+            @RequestParam(required = false) String type,
+            @RequestParam(defaultValue = "20") int limit) {
+        if (q.isBlank() || q.length() > MAX_QUERY_LENGTH) {
+            return ResponseEntity.badRequest()
+                .body(new MessageResponse("Error: q must be between 1 and " + MAX_QUERY_LENGTH + " characters"));
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            return ResponseEntity.badRequest()
+                .body(new MessageResponse("Error: limit must be between 1 and " + MAX_LIMIT));
+        }
+        try {
+            List<SearchResultResponse> results = searchService.search(q, type, limit);
+            return ResponseEntity.ok(results);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(new MessageResponse("Error: " + e.getMessage()));
+        }
+    }
+}
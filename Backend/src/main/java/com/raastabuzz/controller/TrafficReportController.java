@@ -5,11 +5,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -24,18 +21,31 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.raastabuzz.dto.request.AlongRouteRequest;
+import com.raastabuzz.dto.request.MyVotesRequest;
 import com.raastabuzz.dto.request.TrafficReportRequest;
 import com.raastabuzz.dto.request.VoteRequest;
+import com.raastabuzz.dto.response.CursorPageResponse;
+import com.raastabuzz.dto.response.DuplicateCandidateResponse;
 import com.raastabuzz.dto.response.MessageResponse;
+import com.raastabuzz.dto.response.NearbyReportResponse;
+import com.raastabuzz.dto.response.ReportCellsResponse;
+import com.raastabuzz.dto.response.ReportChangesResponse;
+import com.raastabuzz.dto.response.ReportClusterResponse;
+import com.raastabuzz.dto.response.ReportSubmissionResult;
+import com.raastabuzz.dto.response.RouteIncidentResponse;
+import com.raastabuzz.dto.response.TrafficReportSummary;
+import com.raastabuzz.dto.response.TrendingReportResponse;
 import com.raastabuzz.model.Severity;
 import com.raastabuzz.model.TrafficCategory;
-import com.raastabuzz.model.TrafficReport;
 import com.raastabuzz.model.User;
-import com.raastabuzz.repository.TrafficReportRepository;
+import com.raastabuzz.model.VoteType;
 import com.raastabuzz.security.UserPrincipal;
 import com.raastabuzz.service.FirebaseStorageService;
+import com.raastabuzz.service.RouteIncidentService;
 import com.raastabuzz.service.TrafficReportService;
 import com.raastabuzz.service.UserService;
+import com.raastabuzz.util.BoundingBox;
 
 import jakarta.validation.Valid;
 
@@ -45,74 +55,202 @@ import jakarta.validation.Valid;
 @RequestMapping("/api/traffic-reports")
 public class TrafficReportController {
 
+    private static final int MAX_NEAREST = 100;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_CHANGES = 2000;
+    private static final int MAX_TRENDING = 100;
 
     private final TrafficReportService trafficReportService;
 
     private final UserService userService;
 
     private final FirebaseStorageService firebaseStorageService;
-    @Autowired
-    private SimpMessagingTemplate messagingTemplate;
-    private final TrafficReportRepository trafficReportRepository;
+
+    private final RouteIncidentService routeIncidentService;
     public TrafficReportController(
             TrafficReportService trafficReportService,
             UserService userService,
             FirebaseStorageService firebaseStorageService,
-            TrafficReportRepository trafficReportRepository
+            RouteIncidentService routeIncidentService
     ) {
         this.trafficReportService = trafficReportService;
         this.userService = userService;
         this.firebaseStorageService = firebaseStorageService;
-        this.trafficReportRepository = trafficReportRepository;
+        this.routeIncidentService = routeIncidentService;
     }
     
     @GetMapping
-    public ResponseEntity<List<TrafficReport>> getAllReports() {
-        List<TrafficReport> reports = trafficReportService.getAllActiveReports();
+    public ResponseEntity<List<TrafficReportSummary>> getAllReports() {
+        List<TrafficReportSummary> reports = trafficReportService.getAllActiveReports();
 
         return ResponseEntity.ok(reports);
     }
     
     @GetMapping("/paginated")
-    public ResponseEntity<Page<TrafficReport>> getAllReportsPaginated(Pageable pageable) {
-        Page<TrafficReport> reports = trafficReportService.getAllActiveReports(pageable);
-        return ResponseEntity.ok(reports);
+    public ResponseEntity<?> getAllReportsPaginated(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) TrafficCategory category,
+            @RequestParam(required = false) Severity severity) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest()
+                .body(new MessageResponse("Error: size must be between 1 and " + MAX_PAGE_SIZE));
+        }
+        try {
+            CursorPageResponse<TrafficReportSummary> page = trafficReportService.getReportFeed(cursor, size, category, severity);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(new MessageResponse("Error: " + e.getMessage()));
+        }
+    }
+    
+    @GetMapping("/changes")
+    public ResponseEntity<?> getChanges(
+            @RequestParam(defaultValue = "0") long since,
+            @RequestParam(defaultValue = "500") int limit) {
+        if (limit < 1 || limit > MAX_CHANGES) {
+            return ResponseEntity.badRequest()
+                .body(new MessageResponse("Error: limit must be between 1 and " + MAX_CHANGES));
+        }
+        ReportChangesResponse changes = trafficReportService.getChangesSince(since, limit);
+        return ResponseEntity.ok(changes);
+    }
+    
+    @GetMapping("/history")
+    public ResponseEntity<?> getReportHistory(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) TrafficCategory category) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest()
+                .body(new MessageResponse("Error: size must be between 1 and " + MAX_PAGE_SIZE));
+        }
+        try {
+            CursorPageResponse<TrafficReportSummary> page = trafficReportService.getReportHistory(cursor, size, userId, category);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(new MessageResponse("Error: " + e.getMessage()));
+        }
+    }
+    
+    @GetMapping("/history/{id}")
+    public ResponseEntity<TrafficReportSummary> getArchivedReportById(@PathVariable Long id) {
+        return trafficReportService.getArchivedReportById(id)
+            .map(report -> ResponseEntity.ok().body(report))
+            .orElse(ResponseEntity.notFound().build());
     }
     
     @GetMapping("/{id}")
-    public ResponseEntity<TrafficReport> getReportById(@PathVariable Long id) {
+    public ResponseEntity<TrafficReportSummary> getReportById(@PathVariable Long id) {
         return trafficReportService.getReportById(id)
             .map(report -> ResponseEntity.ok().body(report))
             .orElse(ResponseEntity.notFound().build());
     }
     
     @GetMapping("/category/{category}")
-    public ResponseEntity<List<TrafficReport>> getReportsByCategory(@PathVariable TrafficCategory category) {
-        List<TrafficReport> reports = trafficReportService.getReportsByCategory(category);
+    public ResponseEntity<List<TrafficReportSummary>> getReportsByCategory(@PathVariable TrafficCategory category) {
+        List<TrafficReportSummary> reports = trafficReportService.getReportsByCategory(category);
         return ResponseEntity.ok(reports);
     }
     
     @GetMapping("/severity/{severity}")
-    public ResponseEntity<List<TrafficReport>> getReportsBySeverity(@PathVariable Severity severity) {
-        List<TrafficReport> reports = trafficReportService.getReportsBySeverity(severity);
+    public ResponseEntity<List<TrafficReportSummary>> getReportsBySeverity(@PathVariable Severity severity) {
+        List<TrafficReportSummary> reports = trafficReportService.getReportsBySeverity(severity);
         return ResponseEntity.ok(reports);
     }
     
     @GetMapping("/area")
-    public ResponseEntity<List<TrafficReport>> getReportsInArea(
+    public ResponseEntity<List<TrafficReportSummary>> getReportsInArea(
             @RequestParam Double minLat,
             @RequestParam Double maxLat,
             @RequestParam Double minLng,
             @RequestParam Double maxLng) {
-        List<TrafficReport> reports = trafficReportService.getReportsInArea(minLat, maxLat, minLng, maxLng);
+        List<TrafficReportSummary> reports = trafficReportService.getReportsInArea(minLat, maxLat, minLng, maxLng);
+        return ResponseEntity.ok(reports);
+    }
+    
+    @GetMapping("/nearest")
+    public ResponseEntity<?> getNearestReports(
+            @RequestParam Double lat,
+            @RequestParam Double lng,
+            @RequestParam(defaultValue = "10") int k,
+            @RequestParam(defaultValue = "5") double maxKm,
+            @RequestParam(required = false) TrafficCategory category,
+            @RequestParam(required = false) Severity severity) {
+        if (k < 1 || k > MAX_NEAREST || maxKm <= 0) {
+            return ResponseEntity.badRequest()
+                .body(new MessageResponse("Error: k must be between 1 and " + MAX_NEAREST + " and maxKm positive"));
+        }
+        List<NearbyReportResponse> reports = trafficReportService.getNearestReports(lat, lng, k, maxKm, category, severity);
+        return ResponseEntity.ok(reports);
+    }
+    
+    @GetMapping("/duplicates")
+    public ResponseEntity<List<DuplicateCandidateResponse>> getDuplicateCandidates(
+            @RequestParam Double lat,
+            @RequestParam Double lng,
+            @RequestParam TrafficCategory category) {
+        List<DuplicateCandidateResponse> duplicates = trafficReportService.findDuplicates(category, lat, lng);
+        return ResponseEntity.ok(duplicates);
+    }
+    
+    @GetMapping("/clusters")
+    public ResponseEntity<?> getClusters(
+            @RequestParam String bbox,
+            @RequestParam int zoom) {
+        try {
+            List<ReportClusterResponse> clusters = trafficReportService.getClusters(BoundingBox.parse(bbox), zoom);
+            return ResponseEntity.ok(clusters);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(new MessageResponse("Error: " + e.getMessage()));
+        }
+    }
+    
+    // Cell topics to subscribe to for live updates within the viewport
+    @GetMapping("/cells")
+    public ResponseEntity<?> getCells(@RequestParam String bbox) {
+        try {
+            ReportCellsResponse cells = trafficReportService.getCells(BoundingBox.parse(bbox));
+            return ResponseEntity.ok(cells);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(new MessageResponse("Error: " + e.getMessage()));
+        }
+    }
+    
+    @PostMapping("/along-route")
+    public ResponseEntity<?> getReportsAlongRoute(@Valid @RequestBody AlongRouteRequest alongRouteRequest) {
+        try {
+            List<double[]> path = alongRouteRequest.getPath().stream()
+                .map(point -> new double[] {point.getLatitude(), point.getLongitude()})
+                .toList();
+            List<RouteIncidentResponse> reports = routeIncidentService.findAlongRoute(path, alongRouteRequest.getBufferKm());
+            return ResponseEntity.ok(reports);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                .body(new MessageResponse("Error: " + e.getMessage()));
+        }
+    }
+    
+    @GetMapping("/trending")
+    public ResponseEntity<?> getTrendingReports(@RequestParam(defaultValue = "20") int limit) {
+        if (limit < 1 || limit > MAX_TRENDING) {
+            return ResponseEntity.badRequest()
+                .body(new MessageResponse("Error: limit must be between 1 and " + MAX_TRENDING));
+        }
+        List<TrendingReportResponse> reports = trafficReportService.getTrending(limit);
         return ResponseEntity.ok(reports);
     }
     
     @GetMapping("/recent")
-    public ResponseEntity<List<TrafficReport>> getRecentReports(
+    public ResponseEntity<List<TrafficReportSummary>> getRecentReports(
             @RequestParam(defaultValue = "24") int hours) {
         LocalDateTime since = LocalDateTime.now().minusHours(hours);
-        List<TrafficReport> reports = trafficReportService.getRecentReports(since);
+        List<TrafficReportSummary> reports = trafficReportService.getRecentReports(since);
         return ResponseEntity.ok(reports);
     }
     
@@ -124,12 +262,14 @@ public class TrafficReportController {
             User user = userService.findById(userPrincipal.getId())
                 .orElseThrow(() -> new RuntimeException("User not found"));
             
-            TrafficReport report = trafficReportService.createReport(reportRequest, user);
+            ReportSubmissionResult result = trafficReportService.createReport(reportRequest, user);
             
-            // Award points for creating a report
-            userService.updateUserPoints(user, 5);
+            // Award points for creating a report; confirming an existing one earns less, and only once
+            if (result.isNewReporter()) {
+                userService.updateUserPoints(user, result.isMerged() ? 1 : 5);
+            }
             
-            return ResponseEntity.ok(report);
+            return ResponseEntity.ok(result.getReport());
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                 .body(new MessageResponse("Error: " + e.getMessage()));
@@ -146,7 +286,7 @@ public class TrafficReportController {
             User user = userService.findById(userPrincipal.getId())
                 .orElseThrow(() -> new RuntimeException("User not found"));
             
-            TrafficReport report = trafficReportService.updateReport(id, reportRequest, user);
+            TrafficReportSummary report = trafficReportService.updateReport(id, reportRequest, user);
             return ResponseEntity.ok(report);
         } catch (Exception e) {
             return ResponseEntity.badRequest()
@@ -177,26 +317,32 @@ public class TrafficReportController {
             @Valid @RequestBody VoteRequest voteRequest,
             @AuthenticationPrincipal UserPrincipal userPrincipal) {
         try {
-            User user = userService.findById(userPrincipal.getId())
-                .orElseThrow(() -> new RuntimeException("User not found"));
-            
-            TrafficReport report = trafficReportService.voteOnReport(id, voteRequest.getVoteType(), user);
-            
-            // Award points for voting
-            userService.updateUserPoints(user, 1);
-            
+            // Points for voting are awarded when the vote is persisted
+            TrafficReportSummary report = trafficReportService.voteOnReport(id, voteRequest.getVoteType(), userPrincipal.getId());
             return ResponseEntity.ok(report);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(new MessageResponse("Error: " + e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                 .body(new MessageResponse("Error: " + e.getMessage()));
         }
     }
     
+    @PostMapping("/my-votes")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<Map<Long, VoteType>> getMyVotes(
+            @Valid @RequestBody MyVotesRequest myVotesRequest,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        Map<Long, VoteType> votes = trafficReportService.getUserVotes(userPrincipal.getId(), myVotesRequest.getReportIds());
+        return ResponseEntity.ok(votes);
+    }
+    
     @PostMapping("/{reportId}/image")
     public ResponseEntity<?> uploadReportImage(
             @PathVariable Long reportId,
             @RequestParam("file") MultipartFile file) {
-        Optional<TrafficReport> optionalReport = trafficReportRepository.findById(reportId);
+        Optional<TrafficReportSummary> optionalReport = trafficReportService.getReportById(reportId);
         if (optionalReport.isEmpty()) {
             return ResponseEntity.badRequest().body("Traffic report not found");
         }
@@ -204,13 +350,7 @@ public class TrafficReportController {
             String imageUrl = firebaseStorageService.uploadReportImage(file, reportId);
             System.out.println(imageUrl);
 
-            TrafficReport report = optionalReport.get();
-            report.setImageUrl(imageUrl);
-            trafficReportRepository.save(report);
-            System.out.println("yes please");
-
-
-            messagingTemplate.convertAndSend("/topic/reports", report);
+            trafficReportService.updateReportImage(reportId, imageUrl);
 
             return ResponseEntity.ok().body(
                     java.util.Map.of("message", "Image uploaded successfully", "imageUrl", imageUrl)
@@ -223,11 +363,11 @@ public class TrafficReportController {
     
     @GetMapping("/{reportId}/image")
     public ResponseEntity<?> getTrafficReportImage(@PathVariable Long reportId) {
-        Optional<TrafficReport> optionalReport = trafficReportRepository.findById(reportId);
+        Optional<TrafficReportSummary> optionalReport = trafficReportService.getReportById(reportId);
         if (optionalReport.isEmpty()) {
             return ResponseEntity.badRequest().body(Map.of("error", "Traffic report not found"));
         }
-        TrafficReport report = optionalReport.get();
+        TrafficReportSummary report = optionalReport.get();
         return ResponseEntity.ok(Map.of(
             "reportId", report.getId(),
             "imageUrl", report.getImageUrl(),
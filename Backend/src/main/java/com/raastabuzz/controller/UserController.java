@@ -14,7 +14,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.raastabuzz.dto.response.MessageResponse;
-import com.raastabuzz.model.TrafficReport;
+import com.raastabuzz.dto.response.TrafficReportSummary;
 import com.raastabuzz.model.User;
 import com.raastabuzz.security.UserPrincipal;
 import com.raastabuzz.service.TrafficReportService;
@@ -54,11 +54,11 @@ public class UserController {
     
     @GetMapping("/me/reports")
     @PreAuthorize("hasRole('CONTRIBUTOR') or hasRole('MODERATOR')")
-    public ResponseEntity<List<TrafficReport>> getUserReports(@AuthenticationPrincipal UserPrincipal userPrincipal) {
+    public ResponseEntity<List<TrafficReportSummary>> getUserReports(@AuthenticationPrincipal UserPrincipal userPrincipal) {
         User user = userService.findById(userPrincipal.getId())
             .orElseThrow(() -> new RuntimeException("User not found"));
         
-        List<TrafficReport> reports = trafficReportService.getReportsByUser(user);
+        List<TrafficReportSummary> reports = trafficReportService.getReportsByUser(user);
         return ResponseEntity.ok(reports);
     }
     
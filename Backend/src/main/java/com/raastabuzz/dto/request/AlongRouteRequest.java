@@ -0,0 +1,41 @@
+package com.raastabuzz.dto.request;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+public class AlongRouteRequest {
+    
+    @NotNull
+    @Size(min = 2, max = 2000)
+    private List<@Valid @NotNull RoutePoint> path;
+    
+    @Positive
+    private Double bufferKm;
+    
+    public AlongRouteRequest() {}
+    
+    public AlongRouteRequest(List<RoutePoint> path, Double bufferKm) {
+        this.path = path;
+        this.bufferKm = bufferKm;
+    }
+    
+    public List<RoutePoint> getPath() {
+        return path;
+    }
+    
+    public void setPath(List<RoutePoint> path) {
+        this.path = path;
+    }
+    
+    public Double getBufferKm() {
+        return bufferKm;
+    }
+    
+    public void setBufferKm(Double bufferKm) {
+        this.bufferKm = bufferKm;
+    }
+}
@@ -0,0 +1,28 @@
+package com.raastabuzz.dto.request;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+public class MyVotesRequest {
+    
+    @NotEmpty
+    @Size(max = 500)
+    private List<@NotNull Long> reportIds;
+    
+    public MyVotesRequest() {}
+    
+    public MyVotesRequest(List<Long> reportIds) {
+        this.reportIds = reportIds;
+    }
+    
+    public List<Long> getReportIds() {
+        return reportIds;
+    }
+    
+    public void setReportIds(List<Long> reportIds) {
+        this.reportIds = reportIds;
+    }
+}
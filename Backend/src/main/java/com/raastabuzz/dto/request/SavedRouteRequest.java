@@ -0,0 +1,121 @@
+package com.raastabuzz.dto.request;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+public class SavedRouteRequest {
+    
+    @NotBlank
+    @Size(max = 100)
+    private String name;
+    
+    @NotBlank
+    @Size(max = 200)
+    private String fromLocation;
+    
+    @NotBlank
+    @Size(max = 200)
+    private String toLocation;
+    
+    @DecimalMin(value = "-90.0", message = "Latitude must be between -90 and 90")
+    @DecimalMax(value = "90.0", message = "Latitude must be between -90 and 90")
+    private Double fromLatitude;
+    
+    @DecimalMin(value = "-180.0", message = "Longitude must be between -180 and 180")
+    @DecimalMax(value = "180.0", message = "Longitude must be between -180 and 180")
+    private Double fromLongitude;
+    
+    @DecimalMin(value = "-90.0", message = "Latitude must be between -90 and 90")
+    @DecimalMax(value = "90.0", message = "Latitude must be between -90 and 90")
+    private Double toLatitude;
+    
+    @DecimalMin(value = "-180.0", message = "Longitude must be between -180 and 180")
+    @DecimalMax(value = "180.0", message = "Longitude must be between -180 and 180")
+    private Double toLongitude;
+    
+    // Optional full route geometry, e.g. the points of a Directions result
+    @Size(min = 2, max = 2000)
+    private List<@Valid @NotNull RoutePoint> path;
+    
+    private Boolean alertsEnabled;
+    
+    public SavedRouteRequest() {}
+    
+    public String getName() {
+        return name;
+    }
+    
+    public void setName(String name) {
+        this.name = name;
+    }
+    
+    public String getFromLocation() {
+        return fromLocation;
+    }
+    
+    public void setFromLocation(String fromLocation) {
+        this.fromLocation = fromLocation;
+    }
+    
+    public String getToLocation() {
+        return toLocation;
+    }
+    
+    public void setToLocation(String toLocation) {
+        this.toLocation = toLocation;
+    }
+    
+    public Double getFromLatitude() {
+        return fromLatitude;
+    }
+    
+    public void setFromLatitude(Double fromLatitude) {
+        this.fromLatitude = fromLatitude;
+    }
+    
+    public Double getFromLongitude() {
+        return fromLongitude;
+    }
+    
+    public void setFromLongitude(Double fromLongitude) {
+        this.fromLongitude = fromLongitude;
+    }
+    
+    public Double getToLatitude() {
+        return toLatitude;
+    }
+    
+    public void setToLatitude(Double toLatitude) {
+        this.toLatitude = toLatitude;
+    }
+    
+    public Double getToLongitude() {
+        return toLongitude;
+    }
+    
+    public void setToLongitude(Double toLongitude) {
+        this.toLongitude = toLongitude;
+    }
+    
+    public List<RoutePoint> getPath() {
+        return path;
+    }
+    
+    public void setPath(List<RoutePoint> path) {
+        this.path = path;
+    }
+    
+    public Boolean getAlertsEnabled() {
+        return alertsEnabled;
+    }
+    
+    public void setAlertsEnabled(Boolean alertsEnabled) {
+        this.alertsEnabled = alertsEnabled;
+    }
+}
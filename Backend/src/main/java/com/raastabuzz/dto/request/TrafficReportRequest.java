@@ -39,6 +39,9 @@ public class TrafficReportRequest {
     
     private String imageUrl;
     
+    // Skip duplicate merging, e.g. after the user has seen the suggested duplicates
+    private Boolean forceNew;
+    
     public TrafficReportRequest() {}
     
     public String getTitle() {
@@ -104,4 +107,12 @@ public class TrafficReportRequest {
     public void setImageUrl(String imageUrl) {
         this.imageUrl = imageUrl;
     }
+    
+    public Boolean getForceNew() {
+        return forceNew;
+    }
+    
+    public void setForceNew(Boolean forceNew) {
+        this.forceNew = forceNew;
+    }
 }
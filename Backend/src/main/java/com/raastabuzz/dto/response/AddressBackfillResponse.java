@@ -0,0 +1,45 @@
+package com.raastabuzz.dto.response;
+
+
+public class AddressBackfillResponse {
+
+    // Live reports given an address
+    private int filled;
+    private int archivedFilled;
+    // Blank rows with no gazetteer place close enough
+    private int unresolved;
+    // False when the run stopped at its batch limit and blank rows may remain
+    private boolean complete;
+
+    public int getFilled() {
+        return filled;
+    }
+
+    public void setFilled(int filled) {
+        this.filled = filled;
+    }
+
+    public int getArchivedFilled() {
+        return archivedFilled;
+    }
+
+    public void setArchivedFilled(int archivedFilled) {
+        this.archivedFilled = archivedFilled;
+    }
+
+    public int getUnresolved() {
+        return unresolved;
+    }
+
+    public void setUnresolved(int unresolved) {
+        this.unresolved = unresolved;
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    public void setComplete(boolean complete) {
+        this.complete = complete;
+    }
+}
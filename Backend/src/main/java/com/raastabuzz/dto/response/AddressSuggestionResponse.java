@@ -0,0 +1,63 @@
+package com.raastabuzz.dto.response;
+
+
+public class AddressSuggestionResponse {
+
+    private String address;
+    // Null for addresses never seen with a location
+    private Double latitude;
+    private Double longitude;
+    // Reports filed at this address
+    private int reportCount;
+    // Null when the caller sent no location
+    private Double distanceKm;
+
+    public AddressSuggestionResponse(String address, Double latitude, Double longitude, int reportCount,
+                                     Double distanceKm) {
+        this.address = address;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.reportCount = reportCount;
+        this.distanceKm = distanceKm;
+    }
+
+    public String getAddress() {
+        return address;
+    }
+
+    public void setAddress(String address) {
+        this.address = address;
+    }
+
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+
+    public int getReportCount() {
+        return reportCount;
+    }
+
+    public void setReportCount(int reportCount) {
+        this.reportCount = reportCount;
+    }
+
+    public Double getDistanceKm() {
+        return distanceKm;
+    }
+
+    public void setDistanceKm(Double distanceKm) {
+        this.distanceKm = distanceKm;
+    }
+}
@@ -0,0 +1,23 @@
+package com.raastabuzz.dto.response;
+
+import java.util.List;
+
+public class CursorPageResponse<T> {
+
+    private List<T> items;
+    private String nextCursor;
+
+    public CursorPageResponse(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    // Null once the feed is exhausted
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
@@ -0,0 +1,39 @@
+package com.raastabuzz.dto.response;
+
+
+public class DuplicateCandidateResponse {
+
+    private TrafficReportSummary report;
+    private double distanceKm;
+    private double score;
+
+    public DuplicateCandidateResponse(TrafficReportSummary report, double distanceKm, double score) {
+        this.report = report;
+        this.distanceKm = distanceKm;
+        this.score = score;
+    }
+
+    public TrafficReportSummary getReport() {
+        return report;
+    }
+
+    public void setReport(TrafficReportSummary report) {
+        this.report = report;
+    }
+
+    public double getDistanceKm() {
+        return distanceKm;
+    }
+
+    public void setDistanceKm(double distanceKm) {
+        this.distanceKm = distanceKm;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public void setScore(double score) {
+        this.score = score;
+    }
+}
@@ -0,0 +1,40 @@
+package com.raastabuzz.dto.response;
+
+
+public class HeatmapCellResponse {
+
+    // Centre of the grid cell
+    private double latitude;
+    private double longitude;
+    private int count;
+
+    public HeatmapCellResponse(double latitude, double longitude, int count) {
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.count = count;
+    }
+
+    public double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(double latitude) {
+        this.latitude = latitude;
+    }
+
+    public double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(double longitude) {
+        this.longitude = longitude;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public void setCount(int count) {
+        this.count = count;
+    }
+}
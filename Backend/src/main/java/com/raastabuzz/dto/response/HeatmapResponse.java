@@ -0,0 +1,53 @@
+package com.raastabuzz.dto.response;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+
+public class HeatmapResponse {
+
+    private double cellDegrees;
+    // Start of the first and end of the last hour counted
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private List<HeatmapCellResponse> cells;
+
+    public HeatmapResponse(double cellDegrees, LocalDateTime from, LocalDateTime to, List<HeatmapCellResponse> cells) {
+        this.cellDegrees = cellDegrees;
+        this.from = from;
+        this.to = to;
+        this.cells = cells;
+    }
+
+    public double getCellDegrees() {
+        return cellDegrees;
+    }
+
+    public void setCellDegrees(double cellDegrees) {
+        this.cellDegrees = cellDegrees;
+    }
+
+    public LocalDateTime getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDateTime from) {
+        this.from = from;
+    }
+
+    public LocalDateTime getTo() {
+        return to;
+    }
+
+    public void setTo(LocalDateTime to) {
+        this.to = to;
+    }
+
+    public List<HeatmapCellResponse> getCells() {
+        return cells;
+    }
+
+    public void setCells(List<HeatmapCellResponse> cells) {
+        this.cells = cells;
+    }
+}
@@ -0,0 +1,29 @@
+package com.raastabuzz.dto.response;
+
+
+public class NearbyReportResponse {
+
+    private TrafficReportSummary report;
+    private double distanceKm;
+
+    public NearbyReportResponse(TrafficReportSummary report, double distanceKm) {
+        this.report = report;
+        this.distanceKm = distanceKm;
+    }
+
+    public TrafficReportSummary getReport() {
+        return report;
+    }
+
+    public void setReport(TrafficReportSummary report) {
+        this.report = report;
+    }
+
+    public double getDistanceKm() {
+        return distanceKm;
+    }
+
+    public void setDistanceKm(double distanceKm) {
+        this.distanceKm = distanceKm;
+    }
+}
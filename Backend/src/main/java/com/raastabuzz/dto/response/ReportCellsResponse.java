@@ -0,0 +1,56 @@
+package com.raastabuzz.dto.response;
+
+import java.util.List;
+
+/**
+ * Cell topics a client should subscribe to for a viewport: one destination
+ * per cell, {@code topicPrefix + cell}.
+ */
+public class ReportCellsResponse {
+
+    private int precision;
+    private String topicPrefix;
+    // Nearest the viewport centre first
+    private List<String> cells;
+    // True when the viewport covered more cells than a client may subscribe to
+    private boolean truncated;
+
+    public ReportCellsResponse(int precision, String topicPrefix, List<String> cells, boolean truncated) {
+        this.precision = precision;
+        this.topicPrefix = topicPrefix;
+        this.cells = cells;
+        this.truncated = truncated;
+    }
+
+    public int getPrecision() {
+        return precision;
+    }
+
+    public void setPrecision(int precision) {
+        this.precision = precision;
+    }
+
+    public String getTopicPrefix() {
+        return topicPrefix;
+    }
+
+    public void setTopicPrefix(String topicPrefix) {
+        this.topicPrefix = topicPrefix;
+    }
+
+    public List<String> getCells() {
+        return cells;
+    }
+
+    public void setCells(List<String> cells) {
+        this.cells = cells;
+    }
+
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    public void setTruncated(boolean truncated) {
+        this.truncated = truncated;
+    }
+}
@@ -0,0 +1,36 @@
+package com.raastabuzz.dto.response;
+
+import java.util.List;
+
+public class ReportChangesResponse {
+
+    private List<TrafficReportSummary> upserts;
+    private List<Long> tombstones;
+    private long version;
+    private boolean hasMore;
+
+    public ReportChangesResponse(List<TrafficReportSummary> upserts, List<Long> tombstones,
+                                 long version, boolean hasMore) {
+        this.upserts = upserts;
+        this.tombstones = tombstones;
+        this.version = version;
+        this.hasMore = hasMore;
+    }
+
+    public List<TrafficReportSummary> getUpserts() {
+        return upserts;
+    }
+
+    public List<Long> getTombstones() {
+        return tombstones;
+    }
+
+    // Pass back as "since" on the next call
+    public long getVersion() {
+        return version;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+}
@@ -0,0 +1,57 @@
+package com.raastabuzz.dto.response;
+
+import java.util.Map;
+
+import com.raastabuzz.model.Severity;
+import com.raastabuzz.model.TrafficCategory;
+
+public class ReportClusterResponse {
+
+    private double latitude;
+    private double longitude;
+    private int count;
+    private Map<TrafficCategory, Integer> categories;
+    private Map<Severity, Integer> severities;
+    private long upvotes;
+    private long downvotes;
+
+    public ReportClusterResponse(double latitude, double longitude, int count,
+                                 Map<TrafficCategory, Integer> categories, Map<Severity, Integer> severities,
+                                 long upvotes, long downvotes) {
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.count = count;
+        this.categories = categories;
+        this.severities = severities;
+        this.upvotes = upvotes;
+        this.downvotes = downvotes;
+    }
+
+    public double getLatitude() {
+        return latitude;
+    }
+
+    public double getLongitude() {
+        return longitude;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public Map<TrafficCategory, Integer> getCategories() {
+        return categories;
+    }
+
+    public Map<Severity, Integer> getSeverities() {
+        return severities;
+    }
+
+    public long getUpvotes() {
+        return upvotes;
+    }
+
+    public long getDownvotes() {
+        return downvotes;
+    }
+}
@@ -0,0 +1,77 @@
+package com.raastabuzz.dto.response;
+
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Envelope for live report changes on the cell topics. A CREATED event, or an
+ * UPDATED one for a report that just moved into the cell, carries the whole
+ * {@code report}; other UPDATED and VOTES_CHANGED events carry only the
+ * {@code changes} to apply to the client's copy; REMOVED carries nothing else.
+ * {@code version} is the report's change version after the event, so clients
+ * can drop events older than what they hold.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ReportEvent {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        VOTES_CHANGED,
+        REMOVED
+    }
+
+    private final Type type;
+    private final long seq;
+    private final Long id;
+    private final Long version;
+    private final Map<String, Object> changes;
+    private final TrafficReportSummary report;
+
+    private ReportEvent(Type type, long seq, Long id, Long version, Map<String, Object> changes,
+                        TrafficReportSummary report) {
+        this.type = type;
+        this.seq = seq;
+        this.id = id;
+        this.version = version;
+        this.changes = changes;
+        this.report = report;
+    }
+
+    public static ReportEvent snapshot(Type type, long seq, TrafficReportSummary report) {
+        return new ReportEvent(type, seq, report.getId(), report.getChangeVersion(), null, report);
+    }
+
+    public static ReportEvent patch(Type type, long seq, Long id, Long version, Map<String, Object> changes) {
+        return new ReportEvent(type, seq, id, version, changes, null);
+    }
+
+    public static ReportEvent removed(long seq, Long id, Long version) {
+        return new ReportEvent(Type.REMOVED, seq, id, version, null, null);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public long getSeq() {
+        return seq;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public Map<String, Object> getChanges() {
+        return changes;
+    }
+
+    public TrafficReportSummary getReport() {
+        return report;
+    }
+}
@@ -0,0 +1,47 @@
+package com.raastabuzz.dto.response;
+
+import java.util.List;
+
+/**
+ * Sent on {@code /user/queue/replay} in answer to a cell topic subscription
+ * carrying a {@code resume-from} header: the events the client missed on that
+ * {@code destination}, oldest first, or {@code resync} when they are no longer
+ * retained and the client has to reload the reports it shows.
+ */
+public class ReportReplayMessage {
+
+    private final String destination;
+    private final long resumeFrom;
+    private final long lastSeq;
+    private final boolean resync;
+    private final List<ReportEvent> events;
+
+    public ReportReplayMessage(String destination, long resumeFrom, long lastSeq, boolean resync,
+                               List<ReportEvent> events) {
+        this.destination = destination;
+        this.resumeFrom = resumeFrom;
+        this.lastSeq = lastSeq;
+        this.resync = resync;
+        this.events = events;
+    }
+
+    public String getDestination() {
+        return destination;
+    }
+
+    public long getResumeFrom() {
+        return resumeFrom;
+    }
+
+    public long getLastSeq() {
+        return lastSeq;
+    }
+
+    public boolean isResync() {
+        return resync;
+    }
+
+    public List<ReportEvent> getEvents() {
+        return events;
+    }
+}
@@ -0,0 +1,31 @@
+package com.raastabuzz.dto.response;
+
+/**
+ * Outcome of submitting a report: either a new report, or the existing one it
+ * was merged into as a duplicate. A merge only adds the submitter as a
+ * reporter the first time they report that incident.
+ */
+public class ReportSubmissionResult {
+
+    private final TrafficReportSummary report;
+    private final boolean merged;
+    private final boolean newReporter;
+
+    public ReportSubmissionResult(TrafficReportSummary report, boolean merged, boolean newReporter) {
+        this.report = report;
+        this.merged = merged;
+        this.newReporter = newReporter;
+    }
+
+    public TrafficReportSummary getReport() {
+        return report;
+    }
+
+    public boolean isMerged() {
+        return merged;
+    }
+
+    public boolean isNewReporter() {
+        return newReporter;
+    }
+}
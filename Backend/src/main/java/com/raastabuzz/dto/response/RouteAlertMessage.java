@@ -0,0 +1,52 @@
+package com.raastabuzz.dto.response;
+
+/**
+ * Pushed to a route owner on {@code /user/queue/alerts} when a report appears,
+ * or changes severity, inside the corridor of one of their saved routes.
+ */
+public class RouteAlertMessage {
+
+    public static final String NEW_REPORT = "NEW_REPORT";
+    public static final String SEVERITY_CHANGED = "SEVERITY_CHANGED";
+
+    private Long routeId;
+    private String routeName;
+    private String reason;
+    private TrafficReportSummary report;
+    private double distanceFromRouteKm;
+    private double distanceAlongRouteKm;
+
+    public RouteAlertMessage(Long routeId, String routeName, String reason, TrafficReportSummary report,
+                             double distanceFromRouteKm, double distanceAlongRouteKm) {
+        this.routeId = routeId;
+        this.routeName = routeName;
+        this.reason = reason;
+        this.report = report;
+        this.distanceFromRouteKm = distanceFromRouteKm;
+        this.distanceAlongRouteKm = distanceAlongRouteKm;
+    }
+
+    public Long getRouteId() {
+        return routeId;
+    }
+
+    public String getRouteName() {
+        return routeName;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public TrafficReportSummary getReport() {
+        return report;
+    }
+
+    public double getDistanceFromRouteKm() {
+        return distanceFromRouteKm;
+    }
+
+    public double getDistanceAlongRouteKm() {
+        return distanceAlongRouteKm;
+    }
+}
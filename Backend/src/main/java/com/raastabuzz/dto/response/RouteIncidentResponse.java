@@ -0,0 +1,39 @@
+package com.raastabuzz.dto.response;
+
+
+public class RouteIncidentResponse {
+
+    private TrafficReportSummary report;
+    private double distanceFromRouteKm;
+    private double distanceAlongRouteKm;
+
+    public RouteIncidentResponse(TrafficReportSummary report, double distanceFromRouteKm, double distanceAlongRouteKm) {
+        this.report = report;
+        this.distanceFromRouteKm = distanceFromRouteKm;
+        this.distanceAlongRouteKm = distanceAlongRouteKm;
+    }
+
+    public TrafficReportSummary getReport() {
+        return report;
+    }
+
+    public void setReport(TrafficReportSummary report) {
+        this.report = report;
+    }
+
+    public double getDistanceFromRouteKm() {
+        return distanceFromRouteKm;
+    }
+
+    public void setDistanceFromRouteKm(double distanceFromRouteKm) {
+        this.distanceFromRouteKm = distanceFromRouteKm;
+    }
+
+    public double getDistanceAlongRouteKm() {
+        return distanceAlongRouteKm;
+    }
+
+    public void setDistanceAlongRouteKm(double distanceAlongRouteKm) {
+        this.distanceAlongRouteKm = distanceAlongRouteKm;
+    }
+}
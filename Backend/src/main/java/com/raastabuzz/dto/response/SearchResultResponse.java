@@ -0,0 +1,96 @@
+package com.raastabuzz.dto.response;
+
+import java.time.LocalDateTime;
+
+
+public class SearchResultResponse {
+
+    public static final String REPORT = "REPORT";
+    public static final String POST = "POST";
+
+    private String type;
+    private Long id;
+    private String title;
+    private String snippet;
+    // TrafficCategory for reports, PostCategory for posts
+    private String category;
+    private String authorName;
+    private LocalDateTime createdAt;
+    private double score;
+
+    public SearchResultResponse(String type, Long id, String title, String snippet, String category,
+                                String authorName, LocalDateTime createdAt, double score) {
+        this.type = type;
+        this.id = id;
+        this.title = title;
+        this.snippet = snippet;
+        this.category = category;
+        this.authorName = authorName;
+        this.createdAt = createdAt;
+        this.score = score;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getSnippet() {
+        return snippet;
+    }
+
+    public void setSnippet(String snippet) {
+        this.snippet = snippet;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public String getAuthorName() {
+        return authorName;
+    }
+
+    public void setAuthorName(String authorName) {
+        this.authorName = authorName;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public void setScore(double score) {
+        this.score = score;
+    }
+}
@@ -0,0 +1,159 @@
+package com.raastabuzz.dto.response;
+
+import java.time.LocalDateTime;
+
+import com.raastabuzz.model.Severity;
+import com.raastabuzz.model.TrafficCategory;
+import com.raastabuzz.model.TrafficReport;
+
+/**
+ * Read model for report lists and the map layer. Repository queries build it
+ * with a constructor expression that joins the author once, so rendering a list
+ * never touches the lazy {@code user} or {@code votes} associations.
+ */
+public class TrafficReportSummary {
+
+    public static final String SELECT =
+            "new com.raastabuzz.dto.response.TrafficReportSummary(" +
+            "tr.id, tr.title, tr.description, tr.category, tr.severity, tr.latitude, tr.longitude, " +
+            "tr.address, tr.imageUrl, tr.verified, tr.active, tr.upvotes, tr.downvotes, tr.reporterCount, " +
+            "tr.changeVersion, tr.createdAt, tr.updatedAt, u.id, u.name)";
+
+    private final Long id;
+    private final String title;
+    private final String description;
+    private final TrafficCategory category;
+    private final Severity severity;
+    private final Double latitude;
+    private final Double longitude;
+    private final String address;
+    private final String imageUrl;
+    private final Boolean verified;
+    private final Boolean active;
+    private final Integer upvotes;
+    private final Integer downvotes;
+    private final Integer reporterCount;
+    private final Long changeVersion;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+    private final Long userId;
+    private final String authorName;
+
+    public TrafficReportSummary(Long id, String title, String description, TrafficCategory category,
+                                Severity severity, Double latitude, Double longitude, String address,
+                                String imageUrl, Boolean verified, Boolean active, Integer upvotes,
+                                Integer downvotes, Integer reporterCount, Long changeVersion,
+                                LocalDateTime createdAt, LocalDateTime updatedAt, Long userId, String authorName) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.category = category;
+        this.severity = severity;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.address = address;
+        this.imageUrl = imageUrl;
+        this.verified = verified;
+        this.active = active;
+        this.upvotes = upvotes;
+        this.downvotes = downvotes;
+        this.reporterCount = reporterCount;
+        this.changeVersion = changeVersion;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.userId = userId;
+        this.authorName = authorName;
+    }
+
+    // For write paths that already hold the entity and its author
+    public static TrafficReportSummary from(TrafficReport report) {
+        return new TrafficReportSummary(report.getId(), report.getTitle(), report.getDescription(),
+                report.getCategory(), report.getSeverity(), report.getLatitude(), report.getLongitude(),
+                report.getAddress(), report.getImageUrl(), report.getVerified(), report.getActive(),
+                report.getUpvotes(), report.getDownvotes(), report.getReporterCount(), report.getChangeVersion(),
+                report.getCreatedAt(), report.getUpdatedAt(), report.getUser().getId(), report.getUser().getName());
+    }
+
+    // Same report with vote counts that may be ahead of what has been persisted
+    public TrafficReportSummary withVotes(int upvotes, int downvotes) {
+        return new TrafficReportSummary(id, title, description, category, severity, latitude, longitude,
+                address, imageUrl, verified, active, upvotes, downvotes, reporterCount, changeVersion,
+                createdAt, updatedAt, userId, authorName);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public TrafficCategory getCategory() {
+        return category;
+    }
+
+    public Severity getSeverity() {
+        return severity;
+    }
+
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public String getAddress() {
+        return address;
+    }
+
+    public String getImageUrl() {
+        return imageUrl;
+    }
+
+    public Boolean getVerified() {
+        return verified;
+    }
+
+    public Boolean getActive() {
+        return active;
+    }
+
+    public Integer getUpvotes() {
+        return upvotes;
+    }
+
+    public Integer getDownvotes() {
+        return downvotes;
+    }
+
+    public Integer getReporterCount() {
+        return reporterCount;
+    }
+
+    public Long getChangeVersion() {
+        return changeVersion;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getAuthorName() {
+        return authorName;
+    }
+}
@@ -0,0 +1,30 @@
+package com.raastabuzz.dto.response;
+
+
+public class TrendingReportResponse {
+
+    private TrafficReportSummary report;
+    // Time-decayed score as of the request
+    private double score;
+
+    public TrendingReportResponse(TrafficReportSummary report, double score) {
+        this.report = report;
+        this.score = score;
+    }
+
+    public TrafficReportSummary getReport() {
+        return report;
+    }
+
+    public void setReport(TrafficReportSummary report) {
+        this.report = report;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    public void setScore(double score) {
+        this.score = score;
+    }
+}
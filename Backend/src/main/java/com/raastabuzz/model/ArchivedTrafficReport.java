@@ -0,0 +1,175 @@
+package com.raastabuzz.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+
+/**
+ * A traffic report moved out of {@code traffic_reports} by the archiver. Rows
+ * keep their original id and change version and are only ever read.
+ */
+@Entity
+@Table(name = "archived_traffic_reports",
+       indexes = {
+           @Index(name = "idx_archived_reports_history", columnList = "created_at, id"),
+           @Index(name = "idx_archived_reports_user", columnList = "user_id, created_at"),
+           @Index(name = "idx_archived_reports_change_version", columnList = "change_version")
+       })
+public class ArchivedTrafficReport {
+
+    @Id
+    private Long id;
+
+    @Column(length = 200, nullable = false)
+    private String title;
+
+    @Column(length = 1000)
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 50, nullable = false)
+    private TrafficCategory category;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20, nullable = false)
+    private Severity severity;
+
+    @Column(name = "latitude", nullable = false)
+    private Double latitude;
+
+    @Column(name = "longitude", nullable = false)
+    private Double longitude;
+
+    @Column(length = 500)
+    private String address;
+
+    @Column(name = "image_url")
+    private String imageUrl;
+
+    @Column(nullable = false)
+    private Boolean verified;
+
+    @Column(nullable = false)
+    private Boolean active;
+
+    @Column(name = "upvotes", nullable = false)
+    private Integer upvotes;
+
+    @Column(name = "downvotes", nullable = false)
+    private Integer downvotes;
+
+    @Column(name = "reporter_count", nullable = false)
+    private Integer reporterCount;
+
+    @Column(name = "change_version", nullable = false)
+    private Long changeVersion;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "deactivated_at")
+    private LocalDateTime deactivatedAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    // Constructors
+    public ArchivedTrafficReport() {}
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public TrafficCategory getCategory() {
+        return category;
+    }
+
+    public Severity getSeverity() {
+        return severity;
+    }
+
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public String getAddress() {
+        return address;
+    }
+
+    public String getImageUrl() {
+        return imageUrl;
+    }
+
+    public Boolean getVerified() {
+        return verified;
+    }
+
+    public Boolean getActive() {
+        return active;
+    }
+
+    public Integer getUpvotes() {
+        return upvotes;
+    }
+
+    public Integer getDownvotes() {
+        return downvotes;
+    }
+
+    public Integer getReporterCount() {
+        return reporterCount;
+    }
+
+    public Long getChangeVersion() {
+        return changeVersion;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public LocalDateTime getDeactivatedAt() {
+        return deactivatedAt;
+    }
+
+    public LocalDateTime getArchivedAt() {
+        return archivedAt;
+    }
+
+    public User getUser() {
+        return user;
+    }
+}
@@ -0,0 +1,63 @@
+package com.raastabuzz.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * A vote moved out of {@code votes} together with its archived report.
+ */
+@Entity
+@Table(name = "archived_votes",
+       indexes = {
+           @Index(name = "idx_archived_votes_report", columnList = "traffic_report_id"),
+           @Index(name = "idx_archived_votes_user", columnList = "user_id")
+       })
+public class ArchivedVote {
+
+    @Id
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 10, nullable = false)
+    private VoteType type;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "traffic_report_id", nullable = false)
+    private Long trafficReportId;
+
+    // Constructors
+    public ArchivedVote() {}
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public VoteType getType() {
+        return type;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Long getTrafficReportId() {
+        return trafficReportId;
+    }
+}
@@ -0,0 +1,81 @@
+package com.raastabuzz.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * A persisted heatmap counter: how many reporters flagged a category inside
+ * one grid cell during one hour. Rows are written by the heatmap aggregator,
+ * one hour at a time, and only read back when it starts.
+ */
+@Entity
+@Table(name = "heatmap_counts",
+       indexes = {
+           @Index(name = "idx_heatmap_counts_hour", columnList = "hour_bucket")
+       })
+public class HeatmapCount {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Hours since the epoch in the server's time zone
+    @Column(name = "hour_bucket", nullable = false)
+    private Long hourBucket;
+
+    // Cell size the row and column were computed with
+    @Column(name = "cell_degrees", nullable = false)
+    private Double cellDegrees;
+
+    @Column(name = "cell_row", nullable = false)
+    private Integer cellRow;
+
+    @Column(name = "cell_col", nullable = false)
+    private Integer cellCol;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 50, nullable = false)
+    private TrafficCategory category;
+
+    @Column(name = "report_count", nullable = false)
+    private Integer reportCount;
+
+    // Constructors
+    public HeatmapCount() {}
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public Long getHourBucket() {
+        return hourBucket;
+    }
+
+    public Double getCellDegrees() {
+        return cellDegrees;
+    }
+
+    public Integer getCellRow() {
+        return cellRow;
+    }
+
+    public Integer getCellCol() {
+        return cellCol;
+    }
+
+    public TrafficCategory getCategory() {
+        return category;
+    }
+
+    public Integer getReportCount() {
+        return reportCount;
+    }
+}
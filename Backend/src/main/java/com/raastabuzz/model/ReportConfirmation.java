@@ -0,0 +1,88 @@
+package com.raastabuzz.model;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+/**
+ * A user other than the author who reported the same incident and was merged
+ * into the report. Each user counts once towards its reporter count.
+ */
+@Entity
+@Table(name = "report_confirmations",
+       uniqueConstraints = {
+           @UniqueConstraint(columnNames = {"traffic_report_id", "user_id"})
+       })
+@EntityListeners(AuditingEntityListener.class)
+public class ReportConfirmation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @CreatedDate
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "traffic_report_id", nullable = false)
+    private TrafficReport trafficReport;
+
+    // Constructors
+    public ReportConfirmation() {}
+
+    public ReportConfirmation(User user, TrafficReport trafficReport) {
+        this.user = user;
+        this.trafficReport = trafficReport;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public void setUser(User user) {
+        this.user = user;
+    }
+
+    public TrafficReport getTrafficReport() {
+        return trafficReport;
+    }
+
+    public void setTrafficReport(TrafficReport trafficReport) {
+        this.trafficReport = trafficReport;
+    }
+}
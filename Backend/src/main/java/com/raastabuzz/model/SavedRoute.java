@@ -53,6 +53,11 @@ public class SavedRoute {
     @Column(name = "to_longitude")
     private Double toLongitude;
 
+    // Google encoded polyline of the route; null when only the endpoints are known.
+    // Sized for the 2000 points a request may carry at up to 12 characters each
+    @Column(length = 24000)
+    private String path;
+
     @Column(nullable = false)
     private Boolean alertsEnabled = true;
 
@@ -140,6 +145,14 @@ public class SavedRoute {
         this.toLongitude = toLongitude;
     }
 
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
     public Boolean getAlertsEnabled() {
         return alertsEnabled;
     }
@@ -18,6 +18,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
@@ -27,7 +28,12 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 
 @Entity
-@Table(name = "traffic_reports")
+@Table(name = "traffic_reports",
+       indexes = {
+           @Index(name = "idx_traffic_reports_feed", columnList = "active, created_at, id"),
+           @Index(name = "idx_traffic_reports_change_version", columnList = "change_version"),
+           @Index(name = "idx_traffic_reports_archive", columnList = "active, deactivated_at")
+       })
 @EntityListeners(AuditingEntityListener.class)
 public class TrafficReport {
     
@@ -78,6 +84,14 @@ public class TrafficReport {
     @Column(name = "downvotes", nullable = false)
     private Integer downvotes = 0;
 
+    // Reports merged into this one as duplicates, plus the original
+    @Column(name = "reporter_count", nullable = false)
+    private Integer reporterCount = 1;
+
+    // Bumped from ReportVersionSequence on every change clients need to sync
+    @Column(name = "change_version", nullable = false)
+    private Long changeVersion = 0L;
+
     @CreatedDate
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -86,6 +100,10 @@ public class TrafficReport {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // When the report stopped being active; the archiver moves it out of this table some days later
+    @Column(name = "deactivated_at")
+    private LocalDateTime deactivatedAt;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
         @com.fasterxml.jackson.annotation.JsonBackReference
@@ -215,6 +233,22 @@ public class TrafficReport {
         this.downvotes = downvotes;
     }
 
+    public Integer getReporterCount() {
+        return reporterCount;
+    }
+
+    public void setReporterCount(Integer reporterCount) {
+        this.reporterCount = reporterCount;
+    }
+
+    public Long getChangeVersion() {
+        return changeVersion;
+    }
+
+    public void setChangeVersion(Long changeVersion) {
+        this.changeVersion = changeVersion;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -231,6 +265,14 @@ public class TrafficReport {
         this.updatedAt = updatedAt;
     }
 
+    public LocalDateTime getDeactivatedAt() {
+        return deactivatedAt;
+    }
+
+    public void setDeactivatedAt(LocalDateTime deactivatedAt) {
+        this.deactivatedAt = deactivatedAt;
+    }
+
     public User getUser() {
         return user;
     }
@@ -0,0 +1,50 @@
+package com.raastabuzz.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.raastabuzz.dto.response.TrafficReportSummary;
+import com.raastabuzz.model.ArchivedTrafficReport;
+import com.raastabuzz.model.TrafficCategory;
+
+@Repository
+public interface ArchivedTrafficReportRepository extends JpaRepository<ArchivedTrafficReport, Long> {
+    
+    @Query("SELECT " + TrafficReportSummary.SELECT + " FROM ArchivedTrafficReport tr JOIN tr.user u " +
+           "WHERE tr.id = :id")
+    Optional<TrafficReportSummary> findSummaryById(@Param("id") Long id);
+    
+    @Query("SELECT " + TrafficReportSummary.SELECT + " FROM ArchivedTrafficReport tr JOIN tr.user u " +
+           "WHERE (:userId IS NULL OR u.id = :userId) AND " +
+           "(:category IS NULL OR tr.category = :category) " +
+           "ORDER BY tr.createdAt DESC, tr.id DESC")
+    List<TrafficReportSummary> findHistoryFirstPage(@Param("userId") Long userId,
+                                                    @Param("category") TrafficCategory category,
+                                                    Pageable limit);
+    
+    @Query("SELECT " + TrafficReportSummary.SELECT + " FROM ArchivedTrafficReport tr JOIN tr.user u " +
+           "WHERE (:userId IS NULL OR u.id = :userId) AND " +
+           "(:category IS NULL OR tr.category = :category) AND " +
+           "(tr.createdAt < :createdAt OR (tr.createdAt = :createdAt AND tr.id < :id)) " +
+           "ORDER BY tr.createdAt DESC, tr.id DESC")
+    List<TrafficReportSummary> findHistoryAfter(@Param("userId") Long userId,
+                                                @Param("category") TrafficCategory category,
+                                                @Param("createdAt") LocalDateTime createdAt,
+                                                @Param("id") Long id,
+                                                Pageable limit);
+    
+    // Archived rows still count as tombstones for clients syncing from before they were archived
+    @Query("SELECT tr.id FROM ArchivedTrafficReport tr " +
+           "WHERE tr.changeVersion > :since AND tr.changeVersion <= :upTo")
+    List<Long> findIdsChangedSince(@Param("since") Long since, @Param("upTo") Long upTo);
+    
+    @Query("SELECT COALESCE(MAX(tr.changeVersion), 0) FROM ArchivedTrafficReport tr")
+    Long findMaxChangeVersion();
+}
@@ -0,0 +1,16 @@
+package com.raastabuzz.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.raastabuzz.model.ReportConfirmation;
+
+@Repository
+public interface ReportConfirmationRepository extends JpaRepository<ReportConfirmation, Long> {
+
+    @Query("SELECT COUNT(c) > 0 FROM ReportConfirmation c " +
+           "WHERE c.trafficReport.id = :reportId AND c.user.id = :userId")
+    boolean existsByReportAndUser(@Param("reportId") Long reportId, @Param("userId") Long userId);
+}
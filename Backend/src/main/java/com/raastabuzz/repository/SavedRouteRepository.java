@@ -3,6 +3,7 @@ package com.raastabuzz.repository;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.stereotype.Repository;
 
 import com.raastabuzz.model.SavedRoute;
@@ -15,5 +16,7 @@ public interface SavedRouteRepository extends JpaRepository<SavedRoute, Long> {
     
     List<SavedRoute> findByUserAndAlertsEnabledTrue(User user);
     
+    // Owners are needed to address the alerts, so fetch them in the same query
+    @EntityGraph(attributePaths = "user")
     List<SavedRoute> findByAlertsEnabledTrue();
 }
@@ -1,48 +1,95 @@
 package com.raastabuzz.repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.raastabuzz.dto.response.TrafficReportSummary;
 import com.raastabuzz.model.Severity;
 import com.raastabuzz.model.TrafficCategory;
 import com.raastabuzz.model.TrafficReport;
 import com.raastabuzz.model.User;
 
+import jakarta.persistence.LockModeType;
+
 @Repository
 public interface TrafficReportRepository extends JpaRepository<TrafficReport, Long> {
     
-    List<TrafficReport> findByActiveTrue();
+    List<TrafficReport> findByVerifiedTrue();
     
-    Page<TrafficReport> findByActiveTrue(Pageable pageable);
+    // Serializes writers that save the whole row: merges, edits and deletes of the same report
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT tr FROM TrafficReport tr WHERE tr.id = :id")
+    Optional<TrafficReport> findByIdForUpdate(@Param("id") Long id);
     
-    List<TrafficReport> findByActiveTrueOrderByCreatedAtDesc();
+    // Read-model queries: one SELECT with the author joined, no entity hydration
+    @Query("SELECT " + TrafficReportSummary.SELECT + " FROM TrafficReport tr JOIN tr.user u " +
+           "WHERE tr.active = true ORDER BY tr.createdAt DESC")
+    List<TrafficReportSummary> findActiveSummaries();
     
-    List<TrafficReport> findByCategory(TrafficCategory category);
+    @Query("SELECT " + TrafficReportSummary.SELECT + " FROM TrafficReport tr JOIN tr.user u " +
+           "WHERE tr.id = :id")
+    Optional<TrafficReportSummary> findSummaryById(@Param("id") Long id);
     
-    List<TrafficReport> findBySeverity(Severity severity);
+    @Query("SELECT " + TrafficReportSummary.SELECT + " FROM TrafficReport tr JOIN tr.user u " +
+           "WHERE tr.id IN :ids")
+    List<TrafficReportSummary> findSummariesByIds(@Param("ids") Collection<Long> ids);
     
-    List<TrafficReport> findByUser(User user);
+    @Query("SELECT " + TrafficReportSummary.SELECT + " FROM TrafficReport tr JOIN tr.user u " +
+           "WHERE tr.category = :category")
+    List<TrafficReportSummary> findSummariesByCategory(@Param("category") TrafficCategory category);
     
-    List<TrafficReport> findByVerifiedTrue();
+    @Query("SELECT " + TrafficReportSummary.SELECT + " FROM TrafficReport tr JOIN tr.user u " +
+           "WHERE tr.severity = :severity")
+    List<TrafficReportSummary> findSummariesBySeverity(@Param("severity") Severity severity);
     
-    @Query("SELECT tr FROM TrafficReport tr WHERE tr.active = true AND " +
-           "tr.latitude BETWEEN :minLat AND :maxLat AND " +
-           "tr.longitude BETWEEN :minLng AND :maxLng")
-    List<TrafficReport> findReportsInArea(@Param("minLat") Double minLat, 
-                                         @Param("maxLat") Double maxLat,
-                                         @Param("minLng") Double minLng, 
-                                         @Param("maxLng") Double maxLng);
+    @Query("SELECT " + TrafficReportSummary.SELECT + " FROM TrafficReport tr JOIN tr.user u " +
+           "WHERE u = :user")
+    List<TrafficReportSummary> findSummariesByUser(@Param("user") User user);
     
-    @Query("SELECT tr FROM TrafficReport tr WHERE tr.active = true AND " +
-           "tr.createdAt >= :since ORDER BY tr.createdAt DESC")
-    List<TrafficReport> findRecentReports(@Param("since") LocalDateTime since);
+    @Query("SELECT " + TrafficReportSummary.SELECT + " FROM TrafficReport tr JOIN tr.user u " +
+           "WHERE tr.active = true AND tr.createdAt >= :since ORDER BY tr.createdAt DESC")
+    List<TrafficReportSummary> findRecentSummaries(@Param("since") LocalDateTime since);
+    
+    // Keyset feed: the pageable only carries the limit, so no COUNT query is issued
+    @Query("SELECT " + TrafficReportSummary.SELECT + " FROM TrafficReport tr JOIN tr.user u " +
+           "WHERE tr.active = true AND " +
+           "(:category IS NULL OR tr.category = :category) AND " +
+           "(:severity IS NULL OR tr.severity = :severity) " +
+           "ORDER BY tr.createdAt DESC, tr.id DESC")
+    List<TrafficReportSummary> findFeedFirstPage(@Param("category") TrafficCategory category,
+                                                 @Param("severity") Severity severity,
+                                                 Pageable limit);
+    
+    @Query("SELECT " + TrafficReportSummary.SELECT + " FROM TrafficReport tr JOIN tr.user u " +
+           "WHERE tr.active = true AND " +
+           "(:category IS NULL OR tr.category = :category) AND " +
+           "(:severity IS NULL OR tr.severity = :severity) AND " +
+           "(tr.createdAt < :createdAt OR (tr.createdAt = :createdAt AND tr.id < :id)) " +
+           "ORDER BY tr.createdAt DESC, tr.id DESC")
+    List<TrafficReportSummary> findFeedAfter(@Param("category") TrafficCategory category,
+                                             @Param("severity") Severity severity,
+                                             @Param("createdAt") LocalDateTime createdAt,
+                                             @Param("id") Long id,
+                                             Pageable limit);
+    
+    // Delta sync: every row changed in (since, upTo], active or not, in version order
+    @Query("SELECT " + TrafficReportSummary.SELECT + " FROM TrafficReport tr JOIN tr.user u " +
+           "WHERE tr.changeVersion > :since AND tr.changeVersion <= :upTo ORDER BY tr.changeVersion ASC")
+    List<TrafficReportSummary> findChangedSince(@Param("since") Long since,
+                                                @Param("upTo") Long upTo,
+                                                Pageable limit);
+    
+    @Query("SELECT COALESCE(MAX(tr.changeVersion), 0) FROM TrafficReport tr")
+    Long findMaxChangeVersion();
     
     @Query("SELECT tr FROM TrafficReport tr WHERE tr.active = true AND " +
            "tr.category = :category AND tr.createdAt >= :since")
@@ -4,6 +4,7 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -28,6 +29,10 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query("SELECT u FROM User u WHERE u.points >= :minPoints")
     List<User> findUsersByMinPoints(@Param("minPoints") Integer minPoints);
     
+    @Modifying
+    @Query("UPDATE User u SET u.points = u.points + :points WHERE u.id = :id")
+    int addPoints(@Param("id") Long id, @Param("points") int points);
+    
     @Query("SELECT COUNT(u) FROM User u WHERE u.role = :role AND u.isActive = true")
     Long countActiveUsersByRole(@Param("role") Role role);
 }
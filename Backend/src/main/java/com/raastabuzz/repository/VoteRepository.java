@@ -31,4 +31,8 @@ public interface VoteRepository extends JpaRepository<Vote, Long> {
     Long countVotesByUserAndType(@Param("user") User user, @Param("voteType") VoteType voteType);
     
     Boolean existsByUserAndTrafficReport(User user, TrafficReport trafficReport);
+    
+    // (report id, vote type) pairs for one user
+    @Query("SELECT v.trafficReport.id, v.type FROM Vote v WHERE v.user.id = :userId")
+    List<Object[]> findVoteStatesByUserId(@Param("userId") Long userId);
 }
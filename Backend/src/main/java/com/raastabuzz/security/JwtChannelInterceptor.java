@@ -0,0 +1,62 @@
+package com.raastabuzz.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * Authenticates a STOMP session from the {@code Authorization: Bearer} header
+ * of its CONNECT frame, so {@code /user/...} destinations reach the right
+ * user. Connections without a valid token stay anonymous and can still
+ * subscribe to the public topics.
+ */
+@Component
+public class JwtChannelInterceptor implements ChannelInterceptor {
+    
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+    
+    @Autowired
+    private CustomUserDetailsService customUserDetailsService;
+    
+    private static final Logger logger = LoggerFactory.getLogger(JwtChannelInterceptor.class);
+    
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || !StompCommand.CONNECT.equals(accessor.getCommand())) {
+            return message;
+        }
+        try {
+            String jwt = getJwtFromHeaders(accessor);
+            
+            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
+                Long userId = tokenProvider.getUserIdFromJWT(jwt);
+                
+                UserDetails userDetails = customUserDetailsService.loadUserById(userId);
+                accessor.setUser(new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities()));
+            }
+        } catch (Exception ex) {
+            logger.error("Could not authenticate WebSocket session", ex);
+        }
+        return message;
+    }
+    
+    private String getJwtFromHeaders(StompHeaderAccessor accessor) {
+        String bearerToken = accessor.getFirstNativeHeader("Authorization");
+        if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
+            return bearerToken.substring(7);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,272 @@
+package com.raastabuzz.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.raastabuzz.dto.response.TrafficReportSummary;
+import com.raastabuzz.repository.TrafficReportRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Write-through cache of the newest active reports, keyed by id and also kept
+ * in feed order. It is filled at startup and updated by TrafficReportService
+ * alongside every broadcast. When it holds more than {@code maxSize} reports the
+ * oldest are evicted, and feed reads reaching past the eviction point go back
+ * to the database until removals shrink it below {@code refill-below} and the
+ * evicted tail is read back in.
+ */
+@Component
+public class ActiveReportCache implements ReportChangeListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(ActiveReportCache.class);
+
+    @Autowired
+    private TrafficReportRepository trafficReportRepository;
+
+    @Value("${app.reports.cache.max-size:5000}")
+    private int maxSize;
+
+    @Value("${app.reports.cache.refill-below:4000}")
+    private int refillBelow;
+
+    private final Map<Long, TrafficReportSummary> byId = new ConcurrentHashMap<>();
+
+    private final NavigableMap<FeedKey, TrafficReportSummary> feed = new ConcurrentSkipListMap<>();
+
+    // Newest createdAt ever evicted; feed reads strictly after it are complete
+    private volatile LocalDateTime evictedThrough;
+
+    // Held by refills and by changes to reports in the evicted range, so neither overwrites the other
+    private final Lock evictedRangeLock = new ReentrantLock();
+
+    private volatile boolean warm;
+
+    private final Counter hits;
+    private final Counter misses;
+
+    public ActiveReportCache(MeterRegistry meterRegistry) {
+        this.hits = Counter.builder("reports.cache.requests").tag("result", "hit")
+                .description("Active report cache lookups").register(meterRegistry);
+        this.misses = Counter.builder("reports.cache.requests").tag("result", "miss")
+                .description("Active report cache lookups").register(meterRegistry);
+        Gauge.builder("reports.cache.size", byId, Map::size).register(meterRegistry);
+        Gauge.builder("reports.cache.hit.ratio", this, ActiveReportCache::hitRatio).register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        byId.clear();
+        feed.clear();
+        evictedThrough = null;
+        trafficReportRepository.findActiveSummaries().forEach(this::onReportSaved);
+        warm = true;
+        logger.info("Active report cache warmed with {} reports", byId.size());
+    }
+
+    @Override
+    public void onReportSaved(TrafficReportSummary report) {
+        if (!Boolean.TRUE.equals(report.getActive())) {
+            onReportRemoved(report);
+            return;
+        }
+        FeedKey key = new FeedKey(report.getCreatedAt(), report.getId());
+        if (isEvicted(key)) {
+            evictedRangeLock.lock();
+            try {
+                if (isEvicted(key)) {
+                    return; // older than what the cache still covers
+                }
+                put(key, report);
+            } finally {
+                evictedRangeLock.unlock();
+            }
+        } else {
+            put(key, report);
+        }
+        evictIfFull();
+    }
+
+    private boolean isEvicted(FeedKey key) {
+        LocalDateTime evicted = evictedThrough;
+        return evicted != null && !key.createdAt.isAfter(evicted);
+    }
+
+    private void put(FeedKey key, TrafficReportSummary report) {
+        byId.compute(report.getId(), (id, previous) -> {
+            if (previous != null) {
+                // Changes can reach listeners out of order; keep the newer one
+                if (isOlder(report, previous)) {
+                    return previous;
+                }
+                // The stored timestamp can differ in precision from the in-memory one after a reload
+                feed.remove(new FeedKey(previous.getCreatedAt(), id));
+            }
+            feed.put(key, report);
+            return report;
+        });
+    }
+
+    @Override
+    public void onReportRemoved(TrafficReportSummary report) {
+        if (evictedThrough == null) {
+            remove(report);
+            return;
+        }
+        // A refill in progress must not bring the report back
+        evictedRangeLock.lock();
+        try {
+            remove(report);
+        } finally {
+            evictedRangeLock.unlock();
+        }
+    }
+
+    private void remove(TrafficReportSummary report) {
+        byId.computeIfPresent(report.getId(), (id, previous) -> {
+            if (isOlder(report, previous)) {
+                return previous;
+            }
+            feed.remove(new FeedKey(previous.getCreatedAt(), id));
+            return null;
+        });
+    }
+
+    private void remove(Long reportId) {
+        byId.computeIfPresent(reportId, (id, previous) -> {
+            feed.remove(new FeedKey(previous.getCreatedAt(), id));
+            return null;
+        });
+    }
+
+    /**
+     * Once removals have shrunk the cache below {@code refillBelow}, reads the
+     * newest evicted reports back in. The feed is complete again when all of
+     * them fit.
+     */
+    @Scheduled(fixedDelayString = "${app.reports.cache.refill-check-ms:30000}")
+    public void refillIfShrunk() {
+        if (!warm || evictedThrough == null || byId.size() >= refillBelow) {
+            return;
+        }
+        evictedRangeLock.lock();
+        try {
+            LocalDateTime evicted = evictedThrough;
+            int room = maxSize - byId.size();
+            if (evicted == null || room <= 0) {
+                return;
+            }
+            List<TrafficReportSummary> older = trafficReportRepository.findFeedAfter(
+                    null, null, evicted, Long.MAX_VALUE, PageRequest.of(0, room + 1));
+            int fits = Math.min(room, older.size());
+            for (TrafficReportSummary report : older.subList(0, fits)) {
+                byId.computeIfAbsent(report.getId(), id -> {
+                    feed.put(new FeedKey(report.getCreatedAt(), id), report);
+                    return report;
+                });
+            }
+            // Everything after the first report that did not fit is cached now
+            evictedThrough = older.size() > room ? older.get(room).getCreatedAt() : null;
+            logger.info("Active report cache refilled with {} evicted reports", fits);
+        } finally {
+            evictedRangeLock.unlock();
+        }
+    }
+
+    public Optional<TrafficReportSummary> get(Long id) {
+        TrafficReportSummary report = byId.get(id);
+        record(report != null);
+        return Optional.ofNullable(report);
+    }
+
+    // The whole active feed, newest first, or empty if part of it has been evicted
+    public Optional<List<TrafficReportSummary>> getActiveFeed() {
+        boolean complete = warm && evictedThrough == null;
+        record(complete);
+        return complete ? Optional.of(new ArrayList<>(feed.values())) : Optional.empty();
+    }
+
+    // Active reports created at or after {@code since}, newest first, if the cache still covers that range
+    public Optional<List<TrafficReportSummary>> getCreatedSince(LocalDateTime since) {
+        LocalDateTime evicted = evictedThrough;
+        boolean covered = warm && (evicted == null || since.isAfter(evicted));
+        record(covered);
+        if (!covered) {
+            return Optional.empty();
+        }
+        return Optional.of(new ArrayList<>(feed.headMap(new FeedKey(since, Long.MIN_VALUE), true).values()));
+    }
+
+    private void evictIfFull() {
+        if (byId.size() <= maxSize) {
+            return;
+        }
+        evictedRangeLock.lock();
+        try {
+            while (byId.size() > maxSize) {
+                Map.Entry<FeedKey, TrafficReportSummary> oldest = feed.lastEntry();
+                if (oldest == null) {
+                    return;
+                }
+                LocalDateTime evicted = oldest.getKey().createdAt;
+                if (evictedThrough == null || evicted.isAfter(evictedThrough)) {
+                    evictedThrough = evicted;
+                }
+                remove(oldest.getValue().getId());
+            }
+        } finally {
+            evictedRangeLock.unlock();
+        }
+    }
+
+    private static boolean isOlder(TrafficReportSummary report, TrafficReportSummary previous) {
+        return report.getChangeVersion() != null && previous.getChangeVersion() != null
+                && report.getChangeVersion() < previous.getChangeVersion();
+    }
+
+    private void record(boolean hit) {
+        (hit ? hits : misses).increment();
+    }
+
+    private double hitRatio() {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0 : hits.count() / total;
+    }
+
+    // Orders the feed newest first, ties broken by descending id
+    private static final class FeedKey implements Comparable<FeedKey> {
+        private final LocalDateTime createdAt;
+        private final long id;
+
+        private FeedKey(LocalDateTime createdAt, long id) {
+            this.createdAt = createdAt;
+            this.id = id;
+        }
+
+        @Override
+        public int compareTo(FeedKey other) {
+            int byTime = other.createdAt.compareTo(createdAt);
+            return byTime != 0 ? byTime : Long.compare(other.id, id);
+        }
+    }
+}
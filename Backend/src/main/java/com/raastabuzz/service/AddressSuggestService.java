@@ -0,0 +1,298 @@
+package com.raastabuzz.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.Resource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.raastabuzz.dto.response.AddressSuggestionResponse;
+import com.raastabuzz.dto.response.TrafficReportSummary;
+import com.raastabuzz.repository.TrafficReportRepository;
+import com.raastabuzz.util.AddressTrie;
+import com.raastabuzz.util.Gazetteer;
+import com.raastabuzz.util.GeoUtils;
+import com.raastabuzz.util.SearchTokenizer;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Address autocomplete from an {@link AddressTrie} over the bundled gazetteer
+ * and every address reports have been filed with. An address is reachable from
+ * the start of each of its words, so "circle" finds "Gulshan Circle 1". The
+ * trie yields the most used addresses under the typed prefix; when the caller
+ * sends a location those are re-ranked so nearby places win over slightly more
+ * common distant ones. New report addresses are counted as they arrive.
+ */
+@Service
+public class AddressSuggestService implements ReportChangeListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(AddressSuggestService.class);
+
+    // Every address starts here, so gazetteer places no report has used yet are still suggested
+    private static final int BASE_WEIGHT = 1;
+
+    private static final String HISTORY_QUERY =
+            "SELECT address, COUNT(*), AVG(latitude), AVG(longitude) FROM %s " +
+            "WHERE address IS NOT NULL AND address <> '' GROUP BY address";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TrafficReportRepository trafficReportRepository;
+
+    @Value("${app.addresses.gazetteer:classpath:gazetteer/dhaka.csv}")
+    private Resource gazetteer;
+
+    @Value("${app.addresses.candidates:32}")
+    private int candidates;
+
+    @Value("${app.addresses.proximity-km:3}")
+    private double proximityKm;
+
+    @Value("${app.addresses.max-entries:200000}")
+    private int maxEntries;
+
+    // Guards trie, entries and byKey; suggestions share it, new addresses take it exclusively
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private AddressTrie trie;
+
+    // Indexed by trie entry id
+    private final List<Address> entries = new ArrayList<>();
+
+    private final Map<String, Integer> byKey = new HashMap<>();
+
+    // Normalised address each active report was last counted under, so edits and votes are not recounted
+    private final Map<Long, String> countedReports = new ConcurrentHashMap<>();
+
+    private final Timer suggestTimer;
+
+    public AddressSuggestService(MeterRegistry meterRegistry) {
+        this.suggestTimer = Timer.builder("addresses.suggest")
+                .description("Address autocomplete lookups")
+                .register(meterRegistry);
+        Gauge.builder("addresses.entries", this, AddressSuggestService::size).register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            trie = new AddressTrie(candidates);
+            entries.clear();
+            byKey.clear();
+            countedReports.clear();
+            loadGazetteer();
+            for (String table : new String[] {"traffic_reports", "archived_traffic_reports"}) {
+                jdbcTemplate.query(String.format(HISTORY_QUERY, table), rs -> {
+                    record(rs.getString(1), rs.getInt(2), rs.getObject(3, Double.class), rs.getObject(4, Double.class));
+                });
+            }
+            for (TrafficReportSummary report : trafficReportRepository.findActiveSummaries()) {
+                String key = normalize(report.getAddress());
+                if (!key.isEmpty()) {
+                    countedReports.put(report.getId(), key);
+                }
+            }
+            logger.info("Address index rebuilt with {} addresses", entries.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onReportSaved(TrafficReportSummary report) {
+        String key = normalize(report.getAddress());
+        if (key.isEmpty() || key.equals(countedReports.put(report.getId(), key))) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            // Before the first rebuild the report is counted from the database instead
+            if (trie == null) {
+                return;
+            }
+            record(report.getAddress(), 1, report.getLatitude(), report.getLongitude());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onReportRemoved(TrafficReportSummary report) {
+        // The address stays counted; only stop watching the report for edits
+        countedReports.remove(report.getId());
+    }
+
+    /**
+     * Up to {@code limit} addresses matching the prefix at a word start, most
+     * used first or, with a location, blending use with distance.
+     */
+    public List<AddressSuggestionResponse> suggest(String prefix, Double latitude, Double longitude, int limit) {
+        return suggestTimer.record(() -> {
+            String key = normalize(prefix);
+            if (key.isEmpty()) {
+                return List.<AddressSuggestionResponse>of();
+            }
+            boolean located = latitude != null && longitude != null;
+            List<Candidate> ranked = new ArrayList<>();
+            lock.readLock().lock();
+            try {
+                // Still empty until the first rebuild at startup
+                int[] found = trie != null ? trie.candidates(key) : new int[0];
+                for (int entry : found) {
+                    Address address = entries.get(entry);
+                    Double distanceKm = located && address.located > 0
+                            ? GeoUtils.haversineKm(latitude, longitude, address.latitude(), address.longitude())
+                            : null;
+                    // Each proximityKm of distance costs as much as e times fewer reports
+                    double score = Math.log(trie.weight(entry))
+                            - (distanceKm != null ? distanceKm / proximityKm : 0);
+                    ranked.add(new Candidate(address, score, distanceKm));
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+            ranked.sort(Comparator.comparingDouble((Candidate candidate) -> candidate.score).reversed());
+
+            List<AddressSuggestionResponse> suggestions = new ArrayList<>(Math.min(limit, ranked.size()));
+            for (Candidate candidate : ranked.subList(0, Math.min(limit, ranked.size()))) {
+                Address address = candidate.address;
+                suggestions.add(new AddressSuggestionResponse(address.display,
+                        address.located > 0 ? address.latitude() : null,
+                        address.located > 0 ? address.longitude() : null,
+                        address.reports, candidate.distanceKm));
+            }
+            return suggestions;
+        });
+    }
+
+    private int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void loadGazetteer() {
+        try (InputStream in = gazetteer.getInputStream()) {
+            Gazetteer.Result result = Gazetteer.read(in);
+            for (Gazetteer.Place place : result.getPlaces()) {
+                Address address = entryFor(place.getName());
+                // Roads list several points under one name; the first one locates the suggestion
+                if (address != null && !address.fixed) {
+                    address.fixed = true;
+                    address.latitudeSum = place.getLatitude();
+                    address.longitudeSum = place.getLongitude();
+                    address.located = 1;
+                }
+            }
+            if (result.getSkipped() > 0) {
+                logger.warn("Skipped {} malformed lines in address gazetteer {}", result.getSkipped(), gazetteer);
+            }
+        } catch (IOException e) {
+            logger.error("Could not read address gazetteer {}", gazetteer, e);
+        }
+    }
+
+    // Counts {@code reports} more reports at the address; caller holds the write lock
+    private void record(String display, int reports, Double latitude, Double longitude) {
+        Address address = entryFor(display.trim());
+        if (address == null) {
+            return;
+        }
+        address.reports += reports;
+        // Gazetteer places keep their surveyed location; others follow where they are reported from
+        if (!address.fixed && latitude != null && longitude != null) {
+            address.latitudeSum += latitude * reports;
+            address.longitudeSum += longitude * reports;
+            address.located += reports;
+        }
+        trie.increment(address.entry, reports);
+    }
+
+    // Finds or creates the entry for the address; null once the index is full
+    private Address entryFor(String display) {
+        String key = normalize(display);
+        if (key.isEmpty()) {
+            return null;
+        }
+        Integer existing = byKey.get(key);
+        if (existing != null) {
+            return entries.get(existing);
+        }
+        if (entries.size() >= maxEntries) {
+            return null;
+        }
+        int entry = trie.add(BASE_WEIGHT);
+        Address address = new Address(entry, display);
+        entries.add(address);
+        byKey.put(key, entry);
+        // Reachable from the start of every word
+        String[] words = key.split(" ");
+        for (int i = 0, offset = 0; i < words.length; offset += words[i].length() + 1, i++) {
+            trie.addKey(entry, key.substring(offset));
+        }
+        return address;
+    }
+
+    private static String normalize(String address) {
+        return address == null ? "" : String.join(" ", SearchTokenizer.tokenize(address));
+    }
+
+    private static final class Address {
+        private final int entry;
+        private final String display;
+        // True for gazetteer places, whose location is not averaged
+        private boolean fixed;
+        private int reports;
+        private double latitudeSum;
+        private double longitudeSum;
+        private int located;
+
+        private Address(int entry, String display) {
+            this.entry = entry;
+            this.display = display;
+        }
+
+        private double latitude() {
+            return latitudeSum / located;
+        }
+
+        private double longitude() {
+            return longitudeSum / located;
+        }
+    }
+
+    private static final class Candidate {
+        private final Address address;
+        private final double score;
+        private final Double distanceKm;
+
+        private Candidate(Address address, double score, Double distanceKm) {
+            this.address = address;
+            this.score = score;
+            this.distanceKm = distanceKm;
+        }
+    }
+}
@@ -24,6 +24,9 @@ public class ForumService {
     @Autowired
     private ForumCommentRepository forumCommentRepository;
     
+    @Autowired
+    private SearchService searchService;
+    
     public List<ForumPost> getAllActivePosts() {
         return forumPostRepository.findByActiveTrueOrderByCreatedAtDesc();
     }
@@ -54,7 +57,9 @@ public class ForumService {
         post.setLikes(0);
         post.setReplies(0);
         
-        return forumPostRepository.save(post);
+        ForumPost saved = forumPostRepository.save(post);
+        searchService.indexPost(saved);
+        return saved;
     }
     
     public ForumPost updatePost(Long id, String title, String content, PostCategory category, User user) {
@@ -71,7 +76,9 @@ public class ForumService {
         post.setContent(content);
         post.setCategory(category);
         
-        return forumPostRepository.save(post);
+        ForumPost saved = forumPostRepository.save(post);
+        searchService.indexPost(saved);
+        return saved;
     }
     
     public void deletePost(Long id, User user) {
@@ -86,6 +93,7 @@ public class ForumService {
         
         post.setActive(false);
         forumPostRepository.save(post);
+        searchService.removePost(id);
     }
     
     public ForumPost likePost(Long postId) {
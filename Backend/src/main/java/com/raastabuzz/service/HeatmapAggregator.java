@@ -0,0 +1,373 @@
+package com.raastabuzz.service;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.raastabuzz.dto.response.HeatmapCellResponse;
+import com.raastabuzz.dto.response.HeatmapResponse;
+import com.raastabuzz.dto.response.TrafficReportSummary;
+import com.raastabuzz.model.TrafficCategory;
+import com.raastabuzz.repository.TrafficReportRepository;
+import com.raastabuzz.util.BoundingBox;
+import com.raastabuzz.util.CellCountTable;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Rolling heatmap counters: reporters per grid cell, category and hour of
+ * creation. Every report change is applied as a delta to the hour's
+ * {@link CellCountTable}, so heatmap queries read the counters instead of
+ * grouping over the report tables. Hours touched since the last run are
+ * rewritten to {@code heatmap_counts} on a fixed delay and read back on
+ * startup; anything after the last persisted hour is recounted from the report
+ * tables so a crash between writes loses nothing.
+ */
+@Component
+public class HeatmapAggregator implements ReportChangeListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(HeatmapAggregator.class);
+
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    private static final int DEFAULT_WINDOW_HOURS = 24;
+
+    private static final TrafficCategory[] CATEGORIES = TrafficCategory.values();
+
+    private static final String SOURCE_COLUMNS = "category, latitude, longitude, created_at, COALESCE(reporter_count, 1)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private TrafficReportRepository trafficReportRepository;
+
+    @Value("${app.analytics.heatmap.cell-degrees:0.01}")
+    private double cellDegrees;
+
+    @Value("${app.analytics.heatmap.retention-days:90}")
+    private int retentionDays;
+
+    // Epoch hour -> counters for reports created in that hour
+    private final ConcurrentSkipListMap<Long, HourBucket> buckets = new ConcurrentSkipListMap<>();
+
+    // What each active report currently adds to the counters, so edits and merges apply as deltas
+    private final Map<Long, Contribution> contributions = new ConcurrentHashMap<>();
+
+    public HeatmapAggregator(MeterRegistry meterRegistry) {
+        Gauge.builder("analytics.heatmap.hours", buckets, Map::size)
+                .description("Hour buckets held by the heatmap aggregator")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void load() {
+        buckets.clear();
+        contributions.clear();
+        long oldestHour = oldestRetainedHour();
+        long[] lastPersistedHour = {oldestHour};
+        jdbcTemplate.query(
+                "SELECT hour_bucket, cell_row, cell_col, category, report_count FROM heatmap_counts " +
+                "WHERE cell_degrees = ? AND hour_bucket >= ?",
+                rs -> {
+                    long hour = rs.getLong(1);
+                    add(hour, pack(rs.getInt(2), rs.getInt(3)),
+                            TrafficCategory.valueOf(rs.getString(4)).ordinal(), rs.getInt(5));
+                    lastPersistedHour[0] = Math.max(lastPersistedHour[0], hour);
+                },
+                cellDegrees, oldestHour);
+        buckets.values().forEach(bucket -> bucket.dirty = false);
+
+        // The last persisted hour may have been written before all of its reports arrived
+        buckets.tailMap(lastPersistedHour[0]).clear();
+        Timestamp recountFrom = Timestamp.valueOf(startOfHour(lastPersistedHour[0]));
+        jdbcTemplate.query(
+                "SELECT " + SOURCE_COLUMNS + " FROM traffic_reports WHERE created_at >= ? " +
+                "UNION ALL SELECT " + SOURCE_COLUMNS + " FROM archived_traffic_reports WHERE created_at >= ?",
+                rs -> {
+                    String category = rs.getString(1);
+                    if (category == null) {
+                        return;
+                    }
+                    add(hourOf(rs.getTimestamp(4).toLocalDateTime()), cellKey(rs.getDouble(2), rs.getDouble(3)),
+                            TrafficCategory.valueOf(category).ordinal(), rs.getInt(5));
+                },
+                recountFrom, recountFrom);
+
+        for (TrafficReportSummary report : trafficReportRepository.findActiveSummaries()) {
+            Contribution contribution = contributionOf(report);
+            if (contribution != null) {
+                contributions.put(report.getId(), contribution);
+            }
+        }
+        logger.info("Heatmap loaded with {} hours, recounted from {}", buckets.size(), startOfHour(lastPersistedHour[0]));
+    }
+
+    @Override
+    public void onReportSaved(TrafficReportSummary report) {
+        Contribution next = contributionOf(report);
+        if (next == null) {
+            return;
+        }
+        contributions.compute(report.getId(), (id, previous) -> {
+            // Votes and most edits leave the contribution unchanged
+            if (!next.equals(previous)) {
+                if (previous != null) {
+                    apply(previous, -previous.weight);
+                }
+                apply(next, next.weight);
+            }
+            return next;
+        });
+    }
+
+    @Override
+    public void onReportRemoved(TrafficReportSummary report) {
+        // A deactivated report still happened; only stop tracking it
+        contributions.remove(report.getId());
+    }
+
+    /**
+     * Sums the counters of every hour from {@code from} to {@code to} for the
+     * cells overlapping {@code bbox}, busiest first. Defaults to the last
+     * {@value #DEFAULT_WINDOW_HOURS} hours and never reaches past the retention
+     * window.
+     */
+    public HeatmapResponse getHeatmap(BoundingBox bbox, LocalDateTime from, LocalDateTime to, TrafficCategory category) {
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = from != null ? from : end.minusHours(DEFAULT_WINDOW_HOURS);
+        if (start.isAfter(end)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        long fromHour = Math.max(hourOf(start), oldestRetainedHour());
+        long toHour = hourOf(end);
+
+        int minRow = cellIndex(bbox.getMinLat());
+        int maxRow = cellIndex(bbox.getMaxLat());
+        int minCol = cellIndex(bbox.getMinLng());
+        int maxCol = cellIndex(bbox.getMaxLng());
+        long cellCount = (long) (maxRow - minRow + 1) * (maxCol - minCol + 1);
+        int column = category == null ? -1 : category.ordinal();
+
+        CellCountTable totals = new CellCountTable(1);
+        if (fromHour <= toHour) {
+            for (HourBucket bucket : buckets.subMap(fromHour, true, toHour, true).values()) {
+                synchronized (bucket) {
+                    CellCountTable table = bucket.table;
+                    // Probe the box's cells when there are fewer of them than the hour has entries
+                    if (cellCount < table.size()) {
+                        for (int row = minRow; row <= maxRow; row++) {
+                            for (int col = minCol; col <= maxCol; col++) {
+                                long key = pack(row, col);
+                                int count = column < 0 ? table.total(key) : table.get(key, column);
+                                if (count != 0) {
+                                    totals.add(key, 0, count);
+                                }
+                            }
+                        }
+                    } else {
+                        table.forEach((key, counts, offset) -> {
+                            int row = (int) (key >> 32);
+                            int col = (int) key;
+                            if (row < minRow || row > maxRow || col < minCol || col > maxCol) {
+                                return;
+                            }
+                            int count = 0;
+                            if (column < 0) {
+                                for (int i = 0; i < CATEGORIES.length; i++) {
+                                    count += counts[offset + i];
+                                }
+                            } else {
+                                count = counts[offset + column];
+                            }
+                            if (count != 0) {
+                                totals.add(key, 0, count);
+                            }
+                        });
+                    }
+                }
+            }
+        }
+
+        List<HeatmapCellResponse> cells = new ArrayList<>(totals.size());
+        totals.forEach((key, counts, offset) -> {
+            if (counts[offset] > 0) {
+                cells.add(new HeatmapCellResponse(((int) (key >> 32) + 0.5) * cellDegrees,
+                        ((int) key + 0.5) * cellDegrees, counts[offset]));
+            }
+        });
+        cells.sort(Comparator.comparingInt(HeatmapCellResponse::getCount).reversed());
+        return new HeatmapResponse(cellDegrees, startOfHour(fromHour), startOfHour(toHour + 1), cells);
+    }
+
+    /**
+     * Rewrites every hour changed since the last run, each in its own short
+     * transaction, and drops hours that have left the retention window. An hour
+     * that fails stays dirty for the next run without holding up the others.
+     * Synchronized so the shutdown flush cannot interleave with a scheduled run.
+     */
+    @Scheduled(fixedDelayString = "${app.analytics.heatmap.persist-interval-ms:60000}",
+               initialDelayString = "${app.analytics.heatmap.persist-interval-ms:60000}")
+    public synchronized void persist() {
+        long oldestHour = oldestRetainedHour();
+        buckets.headMap(oldestHour).clear();
+        int written = 0;
+        int failed = 0;
+        for (Map.Entry<Long, HourBucket> entry : buckets.entrySet()) {
+            long hour = entry.getKey();
+            HourBucket bucket = entry.getValue();
+            List<Object[]> rows = new ArrayList<>();
+            synchronized (bucket) {
+                if (!bucket.dirty) {
+                    continue;
+                }
+                bucket.table.forEach((key, counts, offset) -> {
+                    for (int i = 0; i < CATEGORIES.length; i++) {
+                        if (counts[offset + i] != 0) {
+                            rows.add(new Object[] {hour, cellDegrees, (int) (key >> 32), (int) key,
+                                    CATEGORIES[i].name(), counts[offset + i]});
+                        }
+                    }
+                });
+                bucket.dirty = false;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    jdbcTemplate.update("DELETE FROM heatmap_counts WHERE hour_bucket = ? AND cell_degrees = ?",
+                            hour, cellDegrees);
+                    jdbcTemplate.batchUpdate(
+                            "INSERT INTO heatmap_counts (hour_bucket, cell_degrees, cell_row, cell_col, category, " +
+                            "report_count) VALUES (?, ?, ?, ?, ?, ?)",
+                            rows);
+                });
+                written++;
+            } catch (RuntimeException e) {
+                synchronized (bucket) {
+                    bucket.dirty = true;
+                }
+                logger.error("Persisting heatmap hour {} failed", hour, e);
+                failed++;
+            }
+        }
+        try {
+            jdbcTemplate.update("DELETE FROM heatmap_counts WHERE hour_bucket < ?", oldestHour);
+        } catch (RuntimeException e) {
+            logger.error("Dropping heatmap hours before {} failed", oldestHour, e);
+        }
+        if (written > 0 || failed > 0) {
+            logger.debug("Persisted {} heatmap hours, {} left for the next run", written, failed);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        persist();
+    }
+
+    private void apply(Contribution contribution, int delta) {
+        // Edits to reports older than the retention window have nowhere to go
+        if (contribution.hour < oldestRetainedHour()) {
+            return;
+        }
+        add(contribution.hour, contribution.cell, contribution.column, delta);
+    }
+
+    private void add(long hour, long cell, int column, int delta) {
+        HourBucket bucket = buckets.computeIfAbsent(hour, key -> new HourBucket());
+        synchronized (bucket) {
+            bucket.table.add(cell, column, delta);
+            bucket.dirty = true;
+        }
+    }
+
+    private Contribution contributionOf(TrafficReportSummary report) {
+        if (report.getId() == null || report.getCreatedAt() == null || report.getCategory() == null
+                || report.getLatitude() == null || report.getLongitude() == null) {
+            return null;
+        }
+        int weight = report.getReporterCount() != null ? report.getReporterCount() : 1;
+        return new Contribution(hourOf(report.getCreatedAt()), cellKey(report.getLatitude(), report.getLongitude()),
+                report.getCategory().ordinal(), weight);
+    }
+
+    private long oldestRetainedHour() {
+        return hourOf(LocalDateTime.now().minusDays(retentionDays));
+    }
+
+    private static long hourOf(LocalDateTime time) {
+        return Math.floorDiv(time.atZone(ZONE).toEpochSecond(), 3600);
+    }
+
+    private static LocalDateTime startOfHour(long hour) {
+        return LocalDateTime.ofInstant(Instant.ofEpochSecond(hour * 3600), ZONE);
+    }
+
+    private int cellIndex(double degrees) {
+        return (int) Math.floor(degrees / cellDegrees);
+    }
+
+    private long cellKey(double latitude, double longitude) {
+        return pack(cellIndex(latitude), cellIndex(longitude));
+    }
+
+    private static long pack(int row, int col) {
+        return ((long) row << 32) | (col & 0xffffffffL);
+    }
+
+    private static final class HourBucket {
+        // Guarded by the bucket itself
+        private final CellCountTable table = new CellCountTable(CATEGORIES.length);
+        private boolean dirty;
+    }
+
+    private static final class Contribution {
+        private final long hour;
+        private final long cell;
+        private final int column;
+        private final int weight;
+
+        private Contribution(long hour, long cell, int column, int weight) {
+            this.hour = hour;
+            this.cell = cell;
+            this.column = column;
+            this.weight = weight;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Contribution other)) {
+                return false;
+            }
+            return hour == other.hour && cell == other.cell && column == other.column && weight == other.weight;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(hour) * 31 + Long.hashCode(cell) * 17 + column * 7 + weight;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.raastabuzz.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.raastabuzz.dto.response.AddressBackfillResponse;
+import com.raastabuzz.dto.response.TrafficReportSummary;
+import com.raastabuzz.repository.TrafficReportRepository;
+
+/**
+ * Fills blank addresses on existing reports, live and archived, from the
+ * {@link ReverseGeocoder}. Rows are walked in id order in batches, each written
+ * in its own short transaction; live reports get a new change version and are
+ * republished so caches, indexes and clients pick up the address. A run stops
+ * after {@code maxBatches} per table and says whether anything was left.
+ */
+@Component
+public class ReportAddressBackfill {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportAddressBackfill.class);
+
+    private static final String BLANK_ADDRESS = "(address IS NULL OR TRIM(address) = '')";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ReverseGeocoder reverseGeocoder;
+
+    @Autowired
+    private ReportVersionSequence reportVersionSequence;
+
+    @Autowired
+    private TrafficReportRepository trafficReportRepository;
+
+    @Autowired
+    private List<ReportChangeListener> reportChangeListeners;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.geocoding.backfill.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.geocoding.backfill.max-batches:100}")
+    private int maxBatches;
+
+    public AddressBackfillResponse backfill() {
+        AddressBackfillResponse response = new AddressBackfillResponse();
+        response.setComplete(backfillTable("traffic_reports", true, response)
+                & backfillTable("archived_traffic_reports", false, response));
+        logger.info("Address backfill filled {} reports and {} archived reports; {} had no place nearby",
+                response.getFilled(), response.getArchivedFilled(), response.getUnresolved());
+        return response;
+    }
+
+    // True once every blank row of the table has been visited
+    private boolean backfillTable(String table, boolean live, AddressBackfillResponse response) {
+        long afterId = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            long from = afterId;
+            Batch result = transactionTemplate.execute(status -> fillBatch(table, live, from));
+            if (live) {
+                response.setFilled(response.getFilled() + result.filled);
+                publish(result.activeIds);
+            } else {
+                response.setArchivedFilled(response.getArchivedFilled() + result.filled);
+            }
+            response.setUnresolved(response.getUnresolved() + result.unresolved);
+            if (result.scanned < batchSize) {
+                return true;
+            }
+            afterId = result.lastId;
+        }
+        return false;
+    }
+
+    private Batch fillBatch(String table, boolean live, long afterId) {
+        Batch batch = new Batch();
+        List<Object[]> updates = new ArrayList<>();
+        jdbcTemplate.query(
+                "SELECT id, latitude, longitude" + (live ? ", active" : "") + " FROM " + table +
+                " WHERE " + BLANK_ADDRESS + " AND id > ? ORDER BY id LIMIT ?",
+                rs -> {
+                    long id = rs.getLong(1);
+                    batch.scanned++;
+                    batch.lastId = id;
+                    Double latitude = rs.getObject(2, Double.class);
+                    Double longitude = rs.getObject(3, Double.class);
+                    String address = latitude != null && longitude != null
+                            ? reverseGeocoder.lookup(latitude, longitude)
+                            : null;
+                    if (address == null) {
+                        batch.unresolved++;
+                    } else if (live) {
+                        updates.add(new Object[] {address, reportVersionSequence.next(), id});
+                        if (rs.getBoolean(4)) {
+                            batch.activeIds.add(id);
+                        }
+                    } else {
+                        updates.add(new Object[] {address, id});
+                    }
+                },
+                afterId, batchSize);
+        if (!updates.isEmpty()) {
+            // Re-checks the blank so an address written since the select is kept
+            String sql = live
+                    ? "UPDATE traffic_reports SET address = ?, change_version = ? WHERE id = ? AND " + BLANK_ADDRESS
+                    : "UPDATE archived_traffic_reports SET address = ? WHERE id = ? AND " + BLANK_ADDRESS;
+            for (int updated : jdbcTemplate.batchUpdate(sql, updates)) {
+                batch.filled += Math.max(0, updated);
+            }
+        }
+        return batch;
+    }
+
+    private void publish(List<Long> activeIds) {
+        if (activeIds.isEmpty()) {
+            return;
+        }
+        for (TrafficReportSummary summary : trafficReportRepository.findSummariesByIds(activeIds)) {
+            if (Boolean.TRUE.equals(summary.getActive())) {
+                reportChangeListeners.forEach(listener -> listener.onReportSaved(summary));
+                eventPublisher.publishEvent(new ReportChangedEvent(summary));
+            }
+        }
+    }
+
+    private static final class Batch {
+        private int scanned;
+        private long lastId;
+        private int filled;
+        private int unresolved;
+        private final List<Long> activeIds = new ArrayList<>();
+    }
+}
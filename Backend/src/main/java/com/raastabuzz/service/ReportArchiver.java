@@ -0,0 +1,116 @@
+package com.raastabuzz.service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Moves reports that have been inactive for longer than {@code afterDays},
+ * together with their votes, into the archive tables. Each batch is copied and
+ * deleted in its own short transaction so the hot tables are never locked for
+ * long, and a run stops after {@code maxBatches} to bound its total work.
+ */
+@Component
+public class ReportArchiver {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportArchiver.class);
+
+    private static final String REPORT_COLUMNS =
+            "id, title, description, category, severity, latitude, longitude, address, image_url, verified, " +
+            "active, upvotes, downvotes, reporter_count, change_version, created_at, updated_at";
+
+    private static final String VOTE_COLUMNS = "id, type, created_at, user_id, traffic_report_id";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${app.reports.archive.after-days:30}")
+    private int afterDays;
+
+    @Value("${app.reports.archive.batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.reports.archive.max-batches:50}")
+    private int maxBatches;
+
+    private final Counter archived;
+
+    public ReportArchiver(MeterRegistry meterRegistry) {
+        this.archived = Counter.builder("reports.archived")
+                .description("Inactive reports moved to the archive tables")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.reports.archive.interval-ms:3600000}",
+               initialDelayString = "${app.reports.archive.interval-ms:3600000}")
+    public void archive() {
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minusDays(afterDays));
+        int total = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            int moved;
+            try {
+                moved = transactionTemplate.execute(status -> archiveBatch(cutoff));
+            } catch (RuntimeException e) {
+                logger.error("Report archival batch failed", e);
+                break;
+            }
+            total += moved;
+            archived.increment(moved);
+            if (moved < batchSize) {
+                break;
+            }
+        }
+        if (total > 0) {
+            logger.info("Archived {} inactive reports", total);
+        }
+    }
+
+    private int archiveBatch(Timestamp cutoff) {
+        // Rows deactivated before deactivated_at existed fall back to their last update
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT id FROM traffic_reports WHERE active = false AND " +
+                "(deactivated_at < ? OR (deactivated_at IS NULL AND updated_at < ?)) " +
+                "ORDER BY id LIMIT ?",
+                Long.class, cutoff, cutoff, batchSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        String in = String.join(", ", Collections.nCopies(ids.size(), "?"));
+        Object[] idArgs = ids.toArray();
+
+        List<Object> reportArgs = new ArrayList<>();
+        reportArgs.add(Timestamp.valueOf(LocalDateTime.now()));
+        reportArgs.addAll(ids);
+        jdbcTemplate.update(
+                "INSERT INTO archived_traffic_reports (" + REPORT_COLUMNS + ", deactivated_at, archived_at, user_id) " +
+                "SELECT " + REPORT_COLUMNS + ", COALESCE(deactivated_at, updated_at), ?, user_id " +
+                "FROM traffic_reports WHERE id IN (" + in + ")",
+                reportArgs.toArray());
+        jdbcTemplate.update(
+                "INSERT INTO archived_votes (" + VOTE_COLUMNS + ") " +
+                "SELECT " + VOTE_COLUMNS + " FROM votes WHERE traffic_report_id IN (" + in + ")",
+                idArgs);
+        jdbcTemplate.update("DELETE FROM votes WHERE traffic_report_id IN (" + in + ")", idArgs);
+        // Who confirmed a report only matters while it is live; its reporter count is archived with it
+        jdbcTemplate.update("DELETE FROM report_confirmations WHERE traffic_report_id IN (" + in + ")", idArgs);
+        jdbcTemplate.update("DELETE FROM traffic_reports WHERE id IN (" + in + ")", idArgs);
+        return ids.size();
+    }
+}
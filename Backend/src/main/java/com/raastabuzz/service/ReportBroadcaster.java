@@ -0,0 +1,362 @@
+package com.raastabuzz.service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongFunction;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.raastabuzz.dto.response.ReportCellsResponse;
+import com.raastabuzz.dto.response.ReportEvent;
+import com.raastabuzz.dto.response.ReportReplayMessage;
+import com.raastabuzz.dto.response.TrafficReportSummary;
+import com.raastabuzz.repository.TrafficReportRepository;
+import com.raastabuzz.util.BoundingBox;
+import com.raastabuzz.util.Geohash;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Publishes report changes as {@link ReportEvent}s to the geohash cell topics
+ * {@code /topic/reports/cell/{geohash}}, so clients only hear about what is on
+ * their map. The last state sent for each active report is kept so an update
+ * carries only the fields that changed (two integers for a vote). A report that
+ * moves is removed from the cell it left and sent whole to the cell it entered.
+ * Updates to a report already on clients wait {@code coalesce-window-ms} and go
+ * out as one event for the latest state; creates and removals are sent at once.
+ * Changes arrive as {@link ReportChangedEvent}s once the writing transaction
+ * commits and are sent from a single dispatch thread, in the order committed.
+ */
+@Component
+public class ReportBroadcaster {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportBroadcaster.class);
+
+    public static final String CELL_TOPIC_PREFIX = "/topic/reports/cell/";
+
+    public static final String REPLAY_DESTINATION = "/queue/replay";
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Autowired
+    private TrafficReportRepository trafficReportRepository;
+
+    @Autowired
+    private ReportEventLog reportEventLog;
+
+    @Value("${app.realtime.cell-precision:5}")
+    private int precision;
+
+    @Value("${app.realtime.max-viewport-cells:64}")
+    private int maxViewportCells;
+
+    @Value("${app.realtime.coalesce-window-ms:250}")
+    private long coalesceWindowMs;
+
+    @Value("${app.realtime.dispatch-queue-capacity:10000}")
+    private int dispatchQueueCapacity;
+
+    // What clients were last sent for each active report; events for one report are built and sent under its entry
+    private final Map<Long, TrafficReportSummary> lastSent = new ConcurrentHashMap<>();
+
+    // Latest state of each report with an update waiting out its window
+    private final Map<Long, TrafficReportSummary> pending = new ConcurrentHashMap<>();
+
+    private ThreadPoolExecutor dispatcher;
+
+    private final ScheduledExecutorService coalescer = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "report-coalescer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final MeterRegistry meterRegistry;
+    private final Counter published;
+    private final Counter updates;
+    private final Counter merged;
+    private final Counter overflowed;
+    private final Counter replayed;
+    private final Counter resyncs;
+    private final Timer broadcastTimer;
+
+    public ReportBroadcaster(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.published = Counter.builder("reports.broadcasts")
+                .description("Report events sent to cell topics")
+                .register(meterRegistry);
+        this.updates = Counter.builder("reports.broadcasts.updates")
+                .description("Report updates held in the coalescing window")
+                .register(meterRegistry);
+        this.merged = Counter.builder("reports.broadcasts.merged")
+                .description("Report updates superseded by a later one within the window")
+                .register(meterRegistry);
+        Gauge.builder("reports.broadcasts.merge.ratio", this, broadcaster -> broadcaster.updates.count() == 0
+                        ? 0 : broadcaster.merged.count() / broadcaster.updates.count())
+                .description("Share of report updates merged away by the coalescing window")
+                .register(meterRegistry);
+        Gauge.builder("reports.broadcasts.pending", pending, Map::size)
+                .description("Reports with an update waiting out the coalescing window")
+                .register(meterRegistry);
+        this.overflowed = Counter.builder("reports.broadcasts.overflowed")
+                .description("Report changes sent on the publishing thread because the dispatch queue was full")
+                .register(meterRegistry);
+        this.replayed = Counter.builder("reports.replays").tag("result", "replayed")
+                .description("Cell subscriptions that asked to resume after a reconnect")
+                .register(meterRegistry);
+        this.resyncs = Counter.builder("reports.replays").tag("result", "resync")
+                .description("Cell subscriptions that asked to resume after a reconnect")
+                .register(meterRegistry);
+        this.broadcastTimer = Timer.builder("reports.broadcast")
+                .description("Time to build and send the events for one report change")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        BlockingQueue<Runnable> queue = new ArrayBlockingQueue<>(dispatchQueueCapacity);
+        Gauge.builder("reports.broadcasts.queued", queue, BlockingQueue::size)
+                .description("Committed report changes waiting for the dispatch thread")
+                .register(meterRegistry);
+        // One thread keeps events in commit order; a full queue pushes back on the publisher rather than dropping
+        dispatcher = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, queue, task -> {
+            Thread thread = new Thread(task, "report-broadcaster");
+            thread.setDaemon(true);
+            return thread;
+        }, (task, executor) -> {
+            overflowed.increment();
+            task.run();
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        dispatcher.shutdown();
+        if (!dispatcher.awaitTermination(5, TimeUnit.SECONDS)) {
+            logger.warn("Report broadcasts still queued at shutdown were dropped");
+            dispatcher.shutdownNow();
+        }
+        coalescer.shutdownNow();
+        // Clients still get the last state of anything caught mid-window
+        for (Long id : List.copyOf(pending.keySet())) {
+            flush(id);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        trafficReportRepository.findActiveSummaries().forEach(report -> lastSent.putIfAbsent(report.getId(), report));
+    }
+
+    // Cell topics covering the viewport, nearest its centre first
+    public ReportCellsResponse cellsFor(BoundingBox viewport) {
+        List<String> cells = Geohash.covering(viewport, precision, maxViewportCells);
+        return new ReportCellsResponse(precision, CELL_TOPIC_PREFIX, cells,
+                Geohash.countCovering(viewport, precision) > cells.size());
+    }
+
+    // Runs after the change commits, or straight away when it was made outside a transaction
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onReportChanged(ReportChangedEvent event) {
+        TrafficReportSummary report = event.getReport();
+        dispatcher.execute(() -> {
+            try {
+                broadcast(report);
+            } catch (RuntimeException e) {
+                logger.error("Failed to broadcast change to report {}", report.getId(), e);
+            }
+        });
+    }
+
+    /**
+     * Sends whatever changed since the report was last broadcast; inactive
+     * reports are removed. A report clients have not seen is sent straight
+     * away, later updates once the coalescing window closes.
+     */
+    public void broadcast(TrafficReportSummary report) {
+        if (!Boolean.TRUE.equals(report.getActive())) {
+            broadcastRemoved(report);
+            return;
+        }
+        if (coalesceWindowMs <= 0 || !lastSent.containsKey(report.getId())) {
+            publish(report, true);
+            return;
+        }
+        updates.increment();
+        boolean[] opened = {false};
+        pending.compute(report.getId(), (id, waiting) -> {
+            if (waiting == null) {
+                opened[0] = true;
+                return report;
+            }
+            merged.increment();
+            return isOlder(report, waiting) ? waiting : report;
+        });
+        if (opened[0]) {
+            try {
+                coalescer.schedule(() -> flush(report.getId()), coalesceWindowMs, TimeUnit.MILLISECONDS);
+            } catch (RuntimeException e) {
+                // Shutting down; send it now rather than lose it
+                flush(report.getId());
+            }
+        }
+    }
+
+    private void flush(Long id) {
+        TrafficReportSummary report = pending.remove(id);
+        if (report == null) {
+            return;
+        }
+        try {
+            publish(report, false);
+        } catch (RuntimeException e) {
+            logger.error("Failed to broadcast update for report {}", id, e);
+        }
+    }
+
+    // Builds and sends the event under the report's entry; a held update for a report removed meanwhile is dropped
+    private void publish(TrafficReportSummary report, boolean mayCreate) {
+        broadcastTimer.record(() -> lastSent.compute(report.getId(), (id, previous) -> {
+            if (previous == null) {
+                if (!mayCreate) {
+                    return null;
+                }
+                send(cellOf(report), seq -> ReportEvent.snapshot(ReportEvent.Type.CREATED, seq, report));
+                return report;
+            }
+            // A snapshot read before the last one sent
+            if (isOlder(report, previous)) {
+                return previous;
+            }
+            String cell = cellOf(report);
+            String previousCell = cellOf(previous);
+            if (!Objects.equals(cell, previousCell)) {
+                send(previousCell, seq -> ReportEvent.removed(seq, id, report.getChangeVersion()));
+                send(cell, seq -> ReportEvent.snapshot(ReportEvent.Type.UPDATED, seq, report));
+                return report;
+            }
+            Map<String, Object> changes = new LinkedHashMap<>();
+            boolean votesOnly = diff(previous, report, changes);
+            if (!changes.isEmpty()) {
+                ReportEvent.Type type = votesOnly ? ReportEvent.Type.VOTES_CHANGED : ReportEvent.Type.UPDATED;
+                send(cell, seq -> ReportEvent.patch(type, seq, id, report.getChangeVersion(), changes));
+            }
+            return report;
+        }));
+    }
+
+    private void broadcastRemoved(TrafficReportSummary report) {
+        broadcastTimer.record(() -> sendRemoved(report));
+    }
+
+    private void sendRemoved(TrafficReportSummary report) {
+        pending.remove(report.getId());
+        TrafficReportSummary previous = lastSent.remove(report.getId());
+        String cell = cellOf(report);
+        send(cell, seq -> ReportEvent.removed(seq, report.getId(), report.getChangeVersion()));
+        // Clients saw it where it was last sent
+        if (previous != null && !Objects.equals(cellOf(previous), cell)) {
+            send(cellOf(previous), seq -> ReportEvent.removed(seq, report.getId(), report.getChangeVersion()));
+        }
+    }
+
+    /**
+     * Answers a cell topic subscription that asked to resume after
+     * {@code resumeFrom} with the events it missed, or a resync signal, on the
+     * session's {@code /user/queue/replay}. Called once the subscription is
+     * registered, so anything sent later reaches the client live.
+     */
+    public void replay(String sessionId, String destination, long resumeFrom) {
+        if (!destination.startsWith(CELL_TOPIC_PREFIX)) {
+            return;
+        }
+        String cell = destination.substring(CELL_TOPIC_PREFIX.length());
+        ReportReplayMessage message = reportEventLog.since(resumeFrom, cell)
+                .map(events -> new ReportReplayMessage(destination, resumeFrom, reportEventLog.lastSeq(), false, events))
+                .orElseGet(() -> new ReportReplayMessage(destination, resumeFrom, reportEventLog.lastSeq(), true, List.of()));
+        (message.isResync() ? resyncs : replayed).increment();
+
+        // Addressed by session id, which also reaches anonymous sessions
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        headers.setSessionId(sessionId);
+        headers.setLeaveMutable(true);
+        messagingTemplate.convertAndSendToUser(sessionId, REPLAY_DESTINATION, message, headers.getMessageHeaders());
+    }
+
+    // Sent while the log holds its lock, so the dispatcher, the coalescer and an overflowing publisher send in seq order
+    private void send(String cell, LongFunction<ReportEvent> event) {
+        if (cell == null) {
+            return;
+        }
+        reportEventLog.append(cell, event,
+                numbered -> messagingTemplate.convertAndSend(CELL_TOPIC_PREFIX + cell, numbered));
+        published.increment();
+    }
+
+    private String cellOf(TrafficReportSummary report) {
+        if (report.getLatitude() == null || report.getLongitude() == null) {
+            return null;
+        }
+        return Geohash.encode(report.getLatitude(), report.getLongitude(), precision);
+    }
+
+    private static boolean isOlder(TrafficReportSummary report, TrafficReportSummary previous) {
+        return report.getChangeVersion() != null && previous.getChangeVersion() != null
+                && report.getChangeVersion() < previous.getChangeVersion();
+    }
+
+    // Puts the fields clients show that differ into changes; true if only the vote counts did
+    private static boolean diff(TrafficReportSummary previous, TrafficReportSummary report, Map<String, Object> changes) {
+        put(changes, "upvotes", previous.getUpvotes(), report.getUpvotes());
+        put(changes, "downvotes", previous.getDownvotes(), report.getDownvotes());
+        int votes = changes.size();
+        put(changes, "title", previous.getTitle(), report.getTitle());
+        put(changes, "description", previous.getDescription(), report.getDescription());
+        put(changes, "category", previous.getCategory(), report.getCategory());
+        put(changes, "severity", previous.getSeverity(), report.getSeverity());
+        put(changes, "latitude", previous.getLatitude(), report.getLatitude());
+        put(changes, "longitude", previous.getLongitude(), report.getLongitude());
+        put(changes, "address", previous.getAddress(), report.getAddress());
+        put(changes, "imageUrl", previous.getImageUrl(), report.getImageUrl());
+        put(changes, "verified", previous.getVerified(), report.getVerified());
+        put(changes, "reporterCount", previous.getReporterCount(), report.getReporterCount());
+        boolean votesOnly = changes.size() == votes;
+        // Vote flushes touch updatedAt too; only worth sending alongside a real edit
+        if (!votesOnly) {
+            put(changes, "updatedAt", previous.getUpdatedAt(), report.getUpdatedAt());
+        }
+        return votesOnly;
+    }
+
+    private static void put(Map<String, Object> changes, String field, Object before, Object after) {
+        if (!Objects.equals(before, after)) {
+            changes.put(field, after);
+        }
+    }
+}
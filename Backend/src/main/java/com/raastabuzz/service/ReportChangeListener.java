@@ -0,0 +1,16 @@
+package com.raastabuzz.service;
+
+import com.raastabuzz.dto.response.TrafficReportSummary;
+
+/**
+ * Receives every change TrafficReportService makes to a report so in-memory
+ * read models can be maintained incrementally instead of re-querying the table.
+ */
+public interface ReportChangeListener {
+
+    // Called after a report is created, edited, voted on or given an image
+    void onReportSaved(TrafficReportSummary report);
+
+    // Called after a report is deactivated
+    void onReportRemoved(TrafficReportSummary report);
+}
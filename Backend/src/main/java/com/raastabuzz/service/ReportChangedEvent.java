@@ -0,0 +1,34 @@
+package com.raastabuzz.service;
+
+import com.raastabuzz.dto.response.TrafficReportSummary;
+
+/**
+ * Application event carrying a report's state after a change. Published inside
+ * the writing transaction and picked up by {@link ReportBroadcaster} and
+ * {@link RouteAlertEngine} once it commits; an inactive report means it was
+ * removed. Changes that should alert route owners carry the alert reason.
+ */
+public class ReportChangedEvent {
+
+    private final TrafficReportSummary report;
+
+    private final String alertReason;
+
+    public ReportChangedEvent(TrafficReportSummary report) {
+        this(report, null);
+    }
+
+    public ReportChangedEvent(TrafficReportSummary report, String alertReason) {
+        this.report = report;
+        this.alertReason = alertReason;
+    }
+
+    public TrafficReportSummary getReport() {
+        return report;
+    }
+
+    // One of the RouteAlertMessage reasons, or null when route owners need not hear about it
+    public String getAlertReason() {
+        return alertReason;
+    }
+}
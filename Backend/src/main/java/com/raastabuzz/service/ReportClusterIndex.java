@@ -0,0 +1,244 @@
+package com.raastabuzz.service;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.raastabuzz.dto.response.ReportClusterResponse;
+import com.raastabuzz.dto.response.TrafficReportSummary;
+import com.raastabuzz.model.Severity;
+import com.raastabuzz.model.TrafficCategory;
+import com.raastabuzz.repository.TrafficReportRepository;
+import com.raastabuzz.util.BoundingBox;
+
+/**
+ * Pre-aggregated map clusters for every supported zoom level. Each level is a
+ * grid whose cells are a quarter of a 256px map tile wide; a report contributes
+ * to exactly one cell per level, so creates, edits, votes and removals are
+ * applied as small deltas and a cluster request only reads the cells in view.
+ */
+@Component
+public class ReportClusterIndex implements ReportChangeListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportClusterIndex.class);
+
+    public static final int MIN_ZOOM = 3;
+    public static final int MAX_ZOOM = 16;
+
+    private static final int CELLS_PER_TILE = 4;
+
+    private static final TrafficCategory[] CATEGORIES = TrafficCategory.values();
+    private static final Severity[] SEVERITIES = Severity.values();
+
+    @Autowired
+    private TrafficReportRepository trafficReportRepository;
+
+    private final Map<Long, Contribution> contributions = new ConcurrentHashMap<>();
+
+    @SuppressWarnings("unchecked")
+    private final Map<Long, ClusterCell>[] levels = new Map[MAX_ZOOM + 1];
+
+    public ReportClusterIndex() {
+        for (int zoom = MIN_ZOOM; zoom <= MAX_ZOOM; zoom++) {
+            levels[zoom] = new ConcurrentHashMap<>();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        contributions.clear();
+        for (int zoom = MIN_ZOOM; zoom <= MAX_ZOOM; zoom++) {
+            levels[zoom].clear();
+        }
+        trafficReportRepository.findActiveSummaries().forEach(this::onReportSaved);
+        logger.info("Cluster index rebuilt with {} active reports", contributions.size());
+    }
+
+    @Override
+    public void onReportSaved(TrafficReportSummary report) {
+        if (report.getId() == null) {
+            return;
+        }
+        if (!Boolean.TRUE.equals(report.getActive())) {
+            onReportRemoved(report);
+            return;
+        }
+        Contribution next = new Contribution(report);
+        contributions.compute(report.getId(), (id, previous) -> {
+            if (previous != null) {
+                // Changes can reach listeners out of order; keep the newer one
+                if (isOlder(report, previous)) {
+                    return previous;
+                }
+                apply(previous, -1);
+            }
+            apply(next, 1);
+            return next;
+        });
+    }
+
+    @Override
+    public void onReportRemoved(TrafficReportSummary report) {
+        contributions.computeIfPresent(report.getId(), (id, previous) -> {
+            if (isOlder(report, previous)) {
+                return previous;
+            }
+            apply(previous, -1);
+            return null;
+        });
+    }
+
+    public List<ReportClusterResponse> getClusters(BoundingBox bbox, int zoom) {
+        int level = Math.max(MIN_ZOOM, Math.min(MAX_ZOOM, zoom));
+        double cellDegrees = cellDegrees(level);
+        Map<Long, ClusterCell> cells = levels[level];
+        List<ReportClusterResponse> result = new ArrayList<>();
+
+        int minRow = cellIndex(bbox.getMinLat(), cellDegrees);
+        int maxRow = cellIndex(bbox.getMaxLat(), cellDegrees);
+        int minCol = cellIndex(bbox.getMinLng(), cellDegrees);
+        int maxCol = cellIndex(bbox.getMaxLng(), cellDegrees);
+        long cellCount = (long) (maxRow - minRow + 1) * (maxCol - minCol + 1);
+
+        if (cellCount > cells.size()) {
+            for (ClusterCell cell : cells.values()) {
+                if (bbox.contains(cell.centroidLat(), cell.centroidLng())) {
+                    result.add(cell.toResponse());
+                }
+            }
+            return result;
+        }
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int col = minCol; col <= maxCol; col++) {
+                ClusterCell cell = cells.get(pack(row, col));
+                if (cell != null) {
+                    result.add(cell.toResponse());
+                }
+            }
+        }
+        return result;
+    }
+
+    private void apply(Contribution contribution, int sign) {
+        for (int zoom = MIN_ZOOM; zoom <= MAX_ZOOM; zoom++) {
+            double cellDegrees = cellDegrees(zoom);
+            long key = pack(cellIndex(contribution.latitude, cellDegrees), cellIndex(contribution.longitude, cellDegrees));
+            levels[zoom].compute(key, (k, cell) -> {
+                ClusterCell updated = (cell == null ? ClusterCell.EMPTY : cell).plus(contribution, sign);
+                return updated.count > 0 ? updated : null;
+            });
+        }
+    }
+
+    private static boolean isOlder(TrafficReportSummary report, Contribution previous) {
+        return report.getChangeVersion() != null && previous.changeVersion != null
+                && report.getChangeVersion() < previous.changeVersion;
+    }
+
+    private static double cellDegrees(int zoom) {
+        return 360.0 / (1L << zoom) / CELLS_PER_TILE;
+    }
+
+    private static int cellIndex(double degrees, double cellDegrees) {
+        return (int) Math.floor(degrees / cellDegrees);
+    }
+
+    private static long pack(int row, int col) {
+        return ((long) row << 32) | (col & 0xffffffffL);
+    }
+
+    // What a single report adds to the cell it falls in
+    private static final class Contribution {
+        private final double latitude;
+        private final double longitude;
+        private final int category;
+        private final int severity;
+        private final int upvotes;
+        private final int downvotes;
+        private final Long changeVersion;
+
+        private Contribution(TrafficReportSummary report) {
+            this.latitude = report.getLatitude();
+            this.longitude = report.getLongitude();
+            this.category = report.getCategory().ordinal();
+            this.severity = report.getSeverity().ordinal();
+            this.upvotes = report.getUpvotes();
+            this.downvotes = report.getDownvotes();
+            this.changeVersion = report.getChangeVersion();
+        }
+    }
+
+    // Immutable so readers never observe a half-applied delta
+    private static final class ClusterCell {
+        private static final ClusterCell EMPTY = new ClusterCell(0, 0, 0,
+                new int[CATEGORIES.length], new int[SEVERITIES.length], 0, 0);
+
+        private final int count;
+        private final double sumLat;
+        private final double sumLng;
+        private final int[] categoryCounts;
+        private final int[] severityCounts;
+        private final long upvotes;
+        private final long downvotes;
+
+        private ClusterCell(int count, double sumLat, double sumLng, int[] categoryCounts, int[] severityCounts,
+                            long upvotes, long downvotes) {
+            this.count = count;
+            this.sumLat = sumLat;
+            this.sumLng = sumLng;
+            this.categoryCounts = categoryCounts;
+            this.severityCounts = severityCounts;
+            this.upvotes = upvotes;
+            this.downvotes = downvotes;
+        }
+
+        private ClusterCell plus(Contribution contribution, int sign) {
+            int[] categories = categoryCounts.clone();
+            int[] severities = severityCounts.clone();
+            categories[contribution.category] += sign;
+            severities[contribution.severity] += sign;
+            return new ClusterCell(
+                    count + sign,
+                    sumLat + sign * contribution.latitude,
+                    sumLng + sign * contribution.longitude,
+                    categories,
+                    severities,
+                    upvotes + (long) sign * contribution.upvotes,
+                    downvotes + (long) sign * contribution.downvotes);
+        }
+
+        private double centroidLat() {
+            return sumLat / count;
+        }
+
+        private double centroidLng() {
+            return sumLng / count;
+        }
+
+        private ReportClusterResponse toResponse() {
+            Map<TrafficCategory, Integer> categories = new EnumMap<>(TrafficCategory.class);
+            for (int i = 0; i < CATEGORIES.length; i++) {
+                if (categoryCounts[i] > 0) {
+                    categories.put(CATEGORIES[i], categoryCounts[i]);
+                }
+            }
+            Map<Severity, Integer> severities = new EnumMap<>(Severity.class);
+            for (int i = 0; i < SEVERITIES.length; i++) {
+                if (severityCounts[i] > 0) {
+                    severities.put(SEVERITIES[i], severityCounts[i]);
+                }
+            }
+            return new ReportClusterResponse(centroidLat(), centroidLng(), count, categories, severities,
+                    upvotes, downvotes);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.raastabuzz.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.raastabuzz.dto.response.DuplicateCandidateResponse;
+import com.raastabuzz.dto.response.NearbyReportResponse;
+import com.raastabuzz.model.TrafficCategory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Finds active reports a new submission most likely duplicates: same category,
+ * within {@code radiusKm}, created in the last {@code windowMinutes}. Candidates
+ * come from the spatial index's walk around the submission's cell, so the check
+ * stays in memory and off the database. Each candidate is scored by how close
+ * it is in space and time, best first.
+ */
+@Component
+public class ReportDuplicateDetector {
+
+    // Weight of closeness in space; the remainder goes to closeness in time
+    private static final double DISTANCE_WEIGHT = 0.6;
+
+    @Autowired
+    private ReportSpatialIndex reportSpatialIndex;
+
+    @Value("${app.reports.dedupe.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.reports.dedupe.radius-km:0.2}")
+    private double radiusKm;
+
+    @Value("${app.reports.dedupe.window-minutes:10}")
+    private long windowMinutes;
+
+    @Value("${app.reports.dedupe.max-candidates:5}")
+    private int maxCandidates;
+
+    private final Timer checkTimer;
+
+    public ReportDuplicateDetector(MeterRegistry meterRegistry) {
+        this.checkTimer = Timer.builder("reports.dedupe.check")
+                .description("Duplicate lookups on the report write path")
+                .register(meterRegistry);
+    }
+
+    public List<DuplicateCandidateResponse> findDuplicates(TrafficCategory category, double latitude, double longitude) {
+        if (!enabled) {
+            return List.of();
+        }
+        return checkTimer.record(() -> {
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime windowStart = now.minusMinutes(windowMinutes);
+            List<NearbyReportResponse> nearby = reportSpatialIndex.findNearest(latitude, longitude, maxCandidates,
+                    radiusKm, report -> report.getCategory() == category && report.getCreatedAt().isAfter(windowStart));
+
+            List<DuplicateCandidateResponse> candidates = new ArrayList<>(nearby.size());
+            double windowMillis = Duration.ofMinutes(windowMinutes).toMillis();
+            for (NearbyReportResponse near : nearby) {
+                double ageMillis = Duration.between(near.getReport().getCreatedAt(), now).toMillis();
+                double spaceScore = 1 - near.getDistanceKm() / radiusKm;
+                double timeScore = 1 - Math.min(1, Math.max(0, ageMillis / windowMillis));
+                double score = DISTANCE_WEIGHT * spaceScore + (1 - DISTANCE_WEIGHT) * timeScore;
+                candidates.add(new DuplicateCandidateResponse(near.getReport(), near.getDistanceKm(), score));
+            }
+            candidates.sort(Comparator.comparingDouble(DuplicateCandidateResponse::getScore).reversed());
+            return candidates;
+        });
+    }
+}
@@ -0,0 +1,122 @@
+package com.raastabuzz.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.LongFunction;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.raastabuzz.dto.response.ReportEvent;
+import com.raastabuzz.util.SequenceRing;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Numbers every report event sent to the cell topics and keeps the last
+ * {@code replay-buffer-size} of them, so a client that reconnects can be sent
+ * what it missed instead of reloading the feed. Numbering starts at the
+ * startup time in microseconds, which keeps a restarted server's numbers above
+ * anything a client saw before the restart.
+ */
+@Component
+public class ReportEventLog {
+
+    @Value("${app.realtime.replay-buffer-size:10000}")
+    private int capacity;
+
+    private final MeterRegistry meterRegistry;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private SequenceRing<Entry> ring;
+
+    public ReportEventLog(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void init() {
+        ring = new SequenceRing<>(capacity, System.currentTimeMillis() * 1000);
+        Gauge.builder("reports.replay.buffered", this, log -> log.size())
+                .description("Report events retained for replay")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Numbers the event, retains it and hands it to {@code send}, all under the
+     * log's lock: events reach the broker in seq order whichever thread sends
+     * them, and a resuming client never falls between numbering and sending.
+     */
+    public ReportEvent append(String cell, LongFunction<ReportEvent> event, Consumer<ReportEvent> send) {
+        lock.writeLock().lock();
+        try {
+            ReportEvent numbered = event.apply(ring.nextSeq());
+            ring.append(new Entry(cell, numbered));
+            send.accept(numbered);
+            return numbered;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Events sent to the cell after {@code resumeFrom}, oldest first, or empty
+     * when some of them have been evicted (or were never sent by this server)
+     * and the client has to reload instead.
+     */
+    public Optional<List<ReportEvent>> since(long resumeFrom, String cell) {
+        lock.readLock().lock();
+        try {
+            if (resumeFrom < ring.firstSeq() - 1 || resumeFrom >= ring.nextSeq()) {
+                return Optional.empty();
+            }
+            List<ReportEvent> events = new ArrayList<>();
+            for (long seq = resumeFrom + 1; seq < ring.nextSeq(); seq++) {
+                Entry entry = ring.get(seq);
+                if (entry.cell.equals(cell)) {
+                    events.add(entry.event);
+                }
+            }
+            return Optional.of(events);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Number of the latest event appended
+    public long lastSeq() {
+        lock.readLock().lock();
+        try {
+            return ring.nextSeq() - 1;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int size() {
+        lock.readLock().lock();
+        try {
+            return ring.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static final class Entry {
+        private final String cell;
+        private final ReportEvent event;
+
+        private Entry(String cell, ReportEvent event) {
+            this.cell = cell;
+            this.event = event;
+        }
+    }
+}
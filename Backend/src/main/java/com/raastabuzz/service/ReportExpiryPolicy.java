@@ -0,0 +1,80 @@
+package com.raastabuzz.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import com.raastabuzz.dto.response.TrafficReportSummary;
+import com.raastabuzz.model.Severity;
+import com.raastabuzz.model.TrafficCategory;
+
+/**
+ * How long an active report lives before it is expired automatically. The base
+ * lifetime comes from the report's category scaled by its severity; every new
+ * upvote keeps it alive for at least {@code upvoteExtension} from that moment,
+ * up to {@code maxExtension} past the base deadline.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.reports.expiry")
+public class ReportExpiryPolicy {
+
+    private Map<TrafficCategory, Duration> ttl = new EnumMap<>(Map.of(
+            TrafficCategory.TRAFFIC_JAM, Duration.ofMinutes(90),
+            TrafficCategory.ACCIDENT, Duration.ofHours(2),
+            TrafficCategory.ROAD_CLOSED, Duration.ofHours(12),
+            TrafficCategory.FLOODING, Duration.ofHours(6),
+            TrafficCategory.CHECKPOINT, Duration.ofHours(3),
+            TrafficCategory.CONSTRUCTION, Duration.ofDays(3),
+            TrafficCategory.OTHER, Duration.ofHours(4)));
+
+    private Map<Severity, Double> severityFactor = new EnumMap<>(Map.of(
+            Severity.LOW, 0.75,
+            Severity.MEDIUM, 1.0,
+            Severity.HIGH, 1.5));
+
+    private Duration upvoteExtension = Duration.ofMinutes(30);
+
+    private Duration maxExtension = Duration.ofHours(24);
+
+    public LocalDateTime baseDeadline(TrafficReportSummary report) {
+        Duration lifetime = ttl.getOrDefault(report.getCategory(), Duration.ofHours(4));
+        double factor = severityFactor.getOrDefault(report.getSeverity(), 1.0);
+        return report.getCreatedAt().plus(Duration.ofMillis(Math.round(lifetime.toMillis() * factor)));
+    }
+
+    public Map<TrafficCategory, Duration> getTtl() {
+        return ttl;
+    }
+
+    public void setTtl(Map<TrafficCategory, Duration> ttl) {
+        this.ttl.putAll(ttl);
+    }
+
+    public Map<Severity, Double> getSeverityFactor() {
+        return severityFactor;
+    }
+
+    public void setSeverityFactor(Map<Severity, Double> severityFactor) {
+        this.severityFactor.putAll(severityFactor);
+    }
+
+    public Duration getUpvoteExtension() {
+        return upvoteExtension;
+    }
+
+    public void setUpvoteExtension(Duration upvoteExtension) {
+        this.upvoteExtension = upvoteExtension;
+    }
+
+    public Duration getMaxExtension() {
+        return maxExtension;
+    }
+
+    public void setMaxExtension(Duration maxExtension) {
+        this.maxExtension = maxExtension;
+    }
+}
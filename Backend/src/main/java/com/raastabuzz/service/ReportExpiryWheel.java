@@ -0,0 +1,263 @@
+package com.raastabuzz.service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.raastabuzz.dto.response.TrafficReportSummary;
+import com.raastabuzz.repository.TrafficReportRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Hashed timing wheel holding the expiry deadline of every active report. Each
+ * tick only visits the slot for that tick: entries whose deadline has passed are
+ * deactivated together with one UPDATE, and entries that were extended or belong
+ * to a later revolution are moved on. Deadlines are extended in place, so an
+ * upvote costs a map update rather than a reschedule.
+ */
+@Component
+public class ReportExpiryWheel implements ReportChangeListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportExpiryWheel.class);
+
+    private static final int WHEEL_SIZE = 512;
+
+    @Autowired
+    private ReportExpiryPolicy reportExpiryPolicy;
+
+    @Autowired
+    private TrafficReportRepository trafficReportRepository;
+
+    @Autowired
+    private ReportVersionSequence reportVersionSequence;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private List<ReportChangeListener> reportChangeListeners;
+
+    @Value("${app.reports.expiry.tick-ms:60000}")
+    private long tickMs;
+
+    @Value("${app.reports.expiry.max-batch:500}")
+    private int maxBatch;
+
+    private final Map<Long, Expiry> expiries = new ConcurrentHashMap<>();
+
+    // Slots are plain sets guarded by the wheel lock; ticks and schedules are short
+    @SuppressWarnings("unchecked")
+    private final Set<Long>[] slots = new Set[WHEEL_SIZE];
+
+    private final Object wheelLock = new Object();
+
+    private long processedTick = Long.MIN_VALUE;
+
+    private final Counter expired;
+
+    public ReportExpiryWheel(MeterRegistry meterRegistry) {
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            slots[i] = new HashSet<>();
+        }
+        this.expired = Counter.builder("reports.expired")
+                .description("Reports deactivated by the expiry wheel")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        synchronized (wheelLock) {
+            expiries.clear();
+            for (Set<Long> slot : slots) {
+                slot.clear();
+            }
+            processedTick = tickOf(System.currentTimeMillis()) - 1;
+        }
+        for (TrafficReportSummary report : trafficReportRepository.findActiveSummaries()) {
+            // The last upvote time is not stored; the last update is the closest stand-in
+            long extendedUntil = report.getUpvotes() > 0
+                    ? toMillis(report.getUpdatedAt().plus(reportExpiryPolicy.getUpvoteExtension()))
+                    : 0;
+            track(report, extendedUntil);
+        }
+        logger.info("Expiry wheel rebuilt with {} active reports", expiries.size());
+    }
+
+    @Override
+    public void onReportSaved(TrafficReportSummary report) {
+        if (report.getId() == null) {
+            return;
+        }
+        if (!Boolean.TRUE.equals(report.getActive())) {
+            onReportRemoved(report);
+            return;
+        }
+        Expiry previous = expiries.get(report.getId());
+        long extendedUntil = previous == null ? 0 : previous.extendedUntil;
+        if (previous != null && report.getUpvotes() > previous.upvotes) {
+            extendedUntil = System.currentTimeMillis() + reportExpiryPolicy.getUpvoteExtension().toMillis();
+        }
+        track(report, extendedUntil);
+    }
+
+    @Override
+    public void onReportRemoved(TrafficReportSummary report) {
+        // Its slot entry is dropped lazily when that slot next comes round
+        expiries.remove(report.getId());
+    }
+
+    @Scheduled(fixedRateString = "${app.reports.expiry.tick-ms:60000}",
+               initialDelayString = "${app.reports.expiry.tick-ms:60000}")
+    public void tick() {
+        List<Long> due = new ArrayList<>();
+        synchronized (wheelLock) {
+            if (processedTick == Long.MIN_VALUE) {
+                return; // not rebuilt yet
+            }
+            long nowTick = tickOf(System.currentTimeMillis());
+            // Catch up on missed ticks, but never walk more than one full revolution
+            long fromTick = Math.max(processedTick + 1, nowTick - WHEEL_SIZE + 1);
+            for (long t = fromTick; t <= nowTick; t++) {
+                collectDue(t, due);
+                processedTick = t;
+            }
+        }
+        for (int from = 0; from < due.size(); from += maxBatch) {
+            deactivate(due.subList(from, Math.min(due.size(), from + maxBatch)));
+        }
+    }
+
+    private void track(TrafficReportSummary report, long extendedUntil) {
+        long base = toMillis(reportExpiryPolicy.baseDeadline(report));
+        long cap = base + reportExpiryPolicy.getMaxExtension().toMillis();
+        long deadline = Math.min(Math.max(base, extendedUntil), cap);
+        expiries.put(report.getId(), new Expiry(deadline, extendedUntil, report.getUpvotes()));
+        synchronized (wheelLock) {
+            schedule(report.getId(), deadline);
+        }
+    }
+
+    // Caller holds the wheel lock
+    private void schedule(Long reportId, long deadline) {
+        long tick = Math.max(tickOf(deadline), processedTick + 1);
+        slots[slotIndex(tick)].add(reportId);
+    }
+
+    // Caller holds the wheel lock
+    private void collectDue(long tick, List<Long> due) {
+        Set<Long> slot = slots[slotIndex(tick)];
+        Map<Long, Long> moved = new HashMap<>();
+        Iterator<Long> it = slot.iterator();
+        while (it.hasNext()) {
+            Long reportId = it.next();
+            Expiry expiry = expiries.get(reportId);
+            if (expiry == null) {
+                it.remove();
+            } else if (tickOf(expiry.deadline) <= tick) {
+                it.remove();
+                due.add(reportId);
+            } else if (slotIndex(tickOf(expiry.deadline)) != slotIndex(tick)) {
+                // Extended past this slot since it was scheduled
+                it.remove();
+                moved.put(reportId, expiry.deadline);
+            }
+            // Otherwise it is due on a later revolution of this slot
+        }
+        moved.forEach(this::schedule);
+    }
+
+    private void deactivate(List<Long> reportIds) {
+        // Each row gets its own version so a delta-sync page never splits a shared one
+        StringBuilder sql = new StringBuilder(
+                "UPDATE traffic_reports SET active = false, updated_at = ?, deactivated_at = ?, change_version = CASE id");
+        for (int i = 0; i < reportIds.size(); i++) {
+            sql.append(" WHEN ? THEN ?");
+        }
+        sql.append(" END WHERE active = true AND id IN (");
+        for (int i = 0; i < reportIds.size(); i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+        }
+        sql.append(")");
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+                List<Object> args = new ArrayList<>();
+                args.add(now);
+                args.add(now);
+                for (Long reportId : reportIds) {
+                    args.add(reportId);
+                    args.add(reportVersionSequence.next());
+                }
+                args.addAll(reportIds);
+                jdbcTemplate.update(sql.toString(), args.toArray());
+            });
+        } catch (RuntimeException e) {
+            logger.error("Failed to expire {} reports", reportIds.size(), e);
+            return;
+        }
+
+        for (TrafficReportSummary summary : trafficReportRepository.findSummariesByIds(reportIds)) {
+            if (Boolean.TRUE.equals(summary.getActive())) {
+                continue;
+            }
+            // The wheel is one of the listeners, so this also drops its own entry
+            reportChangeListeners.forEach(listener -> listener.onReportRemoved(summary));
+            eventPublisher.publishEvent(new ReportChangedEvent(summary));
+            expired.increment();
+        }
+        logger.debug("Expired {} reports", reportIds.size());
+    }
+
+    private long tickOf(long millis) {
+        return Math.floorDiv(millis, tickMs);
+    }
+
+    private static int slotIndex(long tick) {
+        return (int) (tick & (WHEEL_SIZE - 1));
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static final class Expiry {
+        private final long deadline;
+        private final long extendedUntil;
+        private final int upvotes;
+
+        private Expiry(long deadline, long extendedUntil, int upvotes) {
+            this.deadline = deadline;
+            this.extendedUntil = extendedUntil;
+            this.upvotes = upvotes;
+        }
+    }
+}
@@ -0,0 +1,304 @@
+package com.raastabuzz.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.raastabuzz.dto.response.NearbyReportResponse;
+import com.raastabuzz.dto.response.RouteIncidentResponse;
+import com.raastabuzz.dto.response.TrafficReportSummary;
+import com.raastabuzz.repository.TrafficReportRepository;
+import com.raastabuzz.util.GeoUtils;
+import com.raastabuzz.util.RouteCorridor;
+
+/**
+ * In-memory uniform grid over active traffic reports. Each cell is
+ * {@code cellDegrees} wide in both latitude and longitude and holds the ids of
+ * the reports inside it, so a bounding-box lookup only touches the cells the
+ * box overlaps instead of scanning the table. It is notified ahead of the other
+ * listeners so those that query it see the change already applied.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ReportSpatialIndex implements ReportChangeListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportSpatialIndex.class);
+
+    @Autowired
+    private TrafficReportRepository trafficReportRepository;
+
+    @Value("${app.reports.index.cell-degrees:0.01}")
+    private double cellDegrees;
+
+    private final Map<Long, TrafficReportSummary> reports = new ConcurrentHashMap<>();
+
+    private final Map<Long, Set<Long>> cells = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        reports.clear();
+        cells.clear();
+        List<TrafficReportSummary> activeReports = trafficReportRepository.findActiveSummaries();
+        activeReports.forEach(this::upsert);
+        logger.info("Spatial index rebuilt with {} active reports", reports.size());
+    }
+
+    @Override
+    public void onReportSaved(TrafficReportSummary report) {
+        upsert(report);
+    }
+
+    @Override
+    public void onReportRemoved(TrafficReportSummary report) {
+        remove(report);
+    }
+
+    public void upsert(TrafficReportSummary report) {
+        if (report.getId() == null) {
+            return;
+        }
+        if (!Boolean.TRUE.equals(report.getActive())) {
+            remove(report);
+            return;
+        }
+        long newCell = cellKey(report.getLatitude(), report.getLongitude());
+        reports.compute(report.getId(), (id, previous) -> {
+            if (previous != null) {
+                // Changes can reach listeners out of order; keep the newer one
+                if (isOlder(report, previous)) {
+                    return previous;
+                }
+                long oldCell = cellKey(previous.getLatitude(), previous.getLongitude());
+                if (oldCell != newCell) {
+                    removeFromCell(oldCell, id);
+                }
+            }
+            addToCell(newCell, id);
+            return report;
+        });
+    }
+
+    private void remove(TrafficReportSummary report) {
+        reports.computeIfPresent(report.getId(), (id, previous) -> {
+            if (isOlder(report, previous)) {
+                return previous;
+            }
+            removeFromCell(cellKey(previous.getLatitude(), previous.getLongitude()), id);
+            return null;
+        });
+    }
+
+    public List<TrafficReportSummary> findInArea(double minLat, double maxLat, double minLng, double maxLng) {
+        List<TrafficReportSummary> result = new ArrayList<>();
+        int minRow = cellIndex(minLat);
+        int maxRow = cellIndex(maxLat);
+        int minCol = cellIndex(minLng);
+        int maxCol = cellIndex(maxLng);
+        long cellCount = (long) (maxRow - minRow + 1) * (maxCol - minCol + 1);
+
+        // A box covering more cells than there are reports is cheaper to answer by a flat scan
+        if (cellCount > reports.size()) {
+            for (TrafficReportSummary report : reports.values()) {
+                if (contains(report, minLat, maxLat, minLng, maxLng)) {
+                    result.add(report);
+                }
+            }
+            return result;
+        }
+
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int col = minCol; col <= maxCol; col++) {
+                Set<Long> ids = cells.get(pack(row, col));
+                if (ids == null) {
+                    continue;
+                }
+                for (Long id : ids) {
+                    TrafficReportSummary report = reports.get(id);
+                    if (report != null && contains(report, minLat, maxLat, minLng, maxLng)) {
+                        result.add(report);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns up to {@code k} reports closest to the given point, nearest first.
+     * Cells are visited in square rings around the point's cell and the walk stops
+     * once no unvisited cell can hold anything closer than the current k-th hit.
+     */
+    public List<NearbyReportResponse> findNearest(double latitude, double longitude, int k, double maxKm,
+                                                  Predicate<TrafficReportSummary> filter) {
+        // Max-heap on distance so the current k-th candidate is always at the head
+        PriorityQueue<NearbyReportResponse> nearest = new PriorityQueue<>(
+                Comparator.comparingDouble(NearbyReportResponse::getDistanceKm).reversed());
+        int centerRow = cellIndex(latitude);
+        int centerCol = cellIndex(longitude);
+
+        for (int ring = 0; ; ring++) {
+            long ringSpan = 2L * ring + 1;
+            if (ringSpan * ringSpan > reports.size()) {
+                // The square has outgrown the data set; finish with a flat pass
+                nearest.clear();
+                for (TrafficReportSummary report : reports.values()) {
+                    offer(nearest, report, latitude, longitude, k, maxKm, filter);
+                }
+                break;
+            }
+            for (int row = centerRow - ring; row <= centerRow + ring; row++) {
+                boolean edgeRow = row == centerRow - ring || row == centerRow + ring;
+                int step = edgeRow ? 1 : 2 * ring;
+                for (int col = centerCol - ring; col <= centerCol + ring; col += step) {
+                    Set<Long> ids = cells.get(pack(row, col));
+                    if (ids == null) {
+                        continue;
+                    }
+                    for (Long id : ids) {
+                        TrafficReportSummary report = reports.get(id);
+                        if (report != null) {
+                            offer(nearest, report, latitude, longitude, k, maxKm, filter);
+                        }
+                    }
+                }
+            }
+            double unvisitedKm = distanceToRingEdgeKm(latitude, longitude, ring);
+            if (unvisitedKm > maxKm
+                    || (nearest.size() == k && unvisitedKm >= nearest.peek().getDistanceKm())) {
+                break;
+            }
+        }
+
+        List<NearbyReportResponse> result = new ArrayList<>(nearest);
+        result.sort(Comparator.comparingDouble(NearbyReportResponse::getDistanceKm));
+        return result;
+    }
+
+    /**
+     * Returns the reports inside the corridor, ordered by how far along the route
+     * they lie. Only the cells the corridor covers are visited.
+     */
+    public List<RouteIncidentResponse> findAlongRoute(RouteCorridor corridor) {
+        // A corridor covering more cells than there are reports is cheaper to answer by a flat scan
+        Set<Long> candidateCells = corridor.coveredCells(cellDegrees, reports.size());
+
+        List<RouteIncidentResponse> result = new ArrayList<>();
+        if (candidateCells == null) {
+            for (TrafficReportSummary report : reports.values()) {
+                addIfInCorridor(result, report, corridor);
+            }
+        } else {
+            for (Long cell : candidateCells) {
+                Set<Long> ids = cells.get(cell);
+                if (ids == null) {
+                    continue;
+                }
+                for (Long id : ids) {
+                    TrafficReportSummary report = reports.get(id);
+                    if (report != null) {
+                        addIfInCorridor(result, report, corridor);
+                    }
+                }
+            }
+        }
+        result.sort(Comparator.comparingDouble(RouteIncidentResponse::getDistanceAlongRouteKm));
+        return result;
+    }
+
+    public int size() {
+        return reports.size();
+    }
+
+    private void addIfInCorridor(List<RouteIncidentResponse> result, TrafficReportSummary report,
+                                 RouteCorridor corridor) {
+        RouteCorridor.Position position = corridor.locate(report.getLatitude(), report.getLongitude());
+        if (position != null) {
+            result.add(new RouteIncidentResponse(report,
+                    position.getDistanceFromRouteKm(), position.getDistanceAlongRouteKm()));
+        }
+    }
+
+    // Cell sets are only mutated inside compute so an emptied set is never resurrected by a concurrent add
+    private void addToCell(long cell, Long reportId) {
+        cells.compute(cell, (key, ids) -> {
+            Set<Long> target = ids != null ? ids : ConcurrentHashMap.newKeySet();
+            target.add(reportId);
+            return target;
+        });
+    }
+
+    private void removeFromCell(long cell, Long reportId) {
+        cells.computeIfPresent(cell, (key, ids) -> {
+            ids.remove(reportId);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    private void offer(PriorityQueue<NearbyReportResponse> nearest, TrafficReportSummary report,
+                       double latitude, double longitude, int k, double maxKm, Predicate<TrafficReportSummary> filter) {
+        if (!filter.test(report)) {
+            return;
+        }
+        double distanceKm = GeoUtils.haversineKm(latitude, longitude, report.getLatitude(), report.getLongitude());
+        if (distanceKm > maxKm) {
+            return;
+        }
+        if (nearest.size() < k) {
+            nearest.add(new NearbyReportResponse(report, distanceKm));
+        } else if (distanceKm < nearest.peek().getDistanceKm()) {
+            nearest.poll();
+            nearest.add(new NearbyReportResponse(report, distanceKm));
+        }
+    }
+
+    // Lower bound on the distance from the point to anything outside the visited square of cells
+    private double distanceToRingEdgeKm(double latitude, double longitude, int ring) {
+        double south = (cellIndex(latitude) - ring) * cellDegrees;
+        double north = (cellIndex(latitude) + ring + 1) * cellDegrees;
+        double west = (cellIndex(longitude) - ring) * cellDegrees;
+        double east = (cellIndex(longitude) + ring + 1) * cellDegrees;
+        double widestLat = Math.min(90.0, Math.max(Math.abs(south), Math.abs(north)));
+
+        double latKm = Math.min(latitude - south, north - latitude) * GeoUtils.KM_PER_DEGREE;
+        double lngKm = Math.min(longitude - west, east - longitude) * GeoUtils.KM_PER_DEGREE
+                * Math.cos(Math.toRadians(widestLat));
+        return Math.min(latKm, lngKm);
+    }
+
+    private boolean contains(TrafficReportSummary report, double minLat, double maxLat, double minLng, double maxLng) {
+        return report.getLatitude() >= minLat && report.getLatitude() <= maxLat
+                && report.getLongitude() >= minLng && report.getLongitude() <= maxLng;
+    }
+
+    private int cellIndex(double degrees) {
+        return (int) Math.floor(degrees / cellDegrees);
+    }
+
+    private static boolean isOlder(TrafficReportSummary report, TrafficReportSummary previous) {
+        return report.getChangeVersion() != null && previous.getChangeVersion() != null
+                && report.getChangeVersion() < previous.getChangeVersion();
+    }
+
+    private long cellKey(double latitude, double longitude) {
+        return pack(cellIndex(latitude), cellIndex(longitude));
+    }
+
+    private static long pack(int row, int col) {
+        return ((long) row << 32) | (col & 0xffffffffL);
+    }
+}
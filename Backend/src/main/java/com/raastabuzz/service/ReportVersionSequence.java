@@ -0,0 +1,68 @@
+package com.raastabuzz.service;
+
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.raastabuzz.repository.ArchivedTrafficReportRepository;
+import com.raastabuzz.repository.TrafficReportRepository;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Hands out the monotonically increasing change versions stamped on traffic
+ * reports. Versions are allocated before the owning transaction commits, so the
+ * sequence also tracks which ones are still in flight; the safe high-water mark
+ * is the highest version below which every transaction has finished.
+ */
+@Component
+public class ReportVersionSequence {
+
+    @Autowired
+    private TrafficReportRepository trafficReportRepository;
+
+    @Autowired
+    private ArchivedTrafficReportRepository archivedTrafficReportRepository;
+
+    private final AtomicLong current = new AtomicLong();
+
+    private final NavigableSet<Long> inFlight = new ConcurrentSkipListSet<>();
+
+    @PostConstruct
+    public void init() {
+        // Archived rows keep their versions, so both tables bound what has been handed out
+        current.set(Math.max(trafficReportRepository.findMaxChangeVersion(),
+                archivedTrafficReportRepository.findMaxChangeVersion()));
+    }
+
+    public long next() {
+        long version;
+        // Allocate and register atomically so safeHighWater never skips an unregistered version
+        synchronized (inFlight) {
+            version = current.incrementAndGet();
+            inFlight.add(version);
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    inFlight.remove(version);
+                }
+            });
+        } else {
+            inFlight.remove(version);
+        }
+        return version;
+    }
+
+    public long safeHighWater() {
+        synchronized (inFlight) {
+            return inFlight.isEmpty() ? current.get() : inFlight.first() - 1;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.raastabuzz.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+
+import com.raastabuzz.util.Gazetteer;
+import com.raastabuzz.util.PointKdTree;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Offline reverse geocoding against the bundled gazetteer. Roads and
+ * neighbourhoods/landmarks each get their own {@link PointKdTree}; an address
+ * is the nearest road within {@code roadKm}, if any, followed by the nearest
+ * place within {@code placeKm} and the locality, e.g.
+ * "Mirpur Road, Dhanmondi 27, Dhaka". Lookups never leave the process.
+ */
+@Service
+public class ReverseGeocoder {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReverseGeocoder.class);
+
+    @Value("${app.addresses.gazetteer:classpath:gazetteer/dhaka.csv}")
+    private Resource gazetteer;
+
+    @Value("${app.geocoding.road-km:0.25}")
+    private double roadKm;
+
+    @Value("${app.geocoding.place-km:2.0}")
+    private double placeKm;
+
+    @Value("${app.geocoding.locality:Dhaka}")
+    private String locality;
+
+    private Index roads = Index.EMPTY;
+
+    private Index places = Index.EMPTY;
+
+    @PostConstruct
+    public void load() {
+        List<Gazetteer.Place> roadPoints = new ArrayList<>();
+        List<Gazetteer.Place> placePoints = new ArrayList<>();
+        try (InputStream in = gazetteer.getInputStream()) {
+            for (Gazetteer.Place place : Gazetteer.read(in).getPlaces()) {
+                if (place.getKind() == Gazetteer.Kind.ROAD) {
+                    roadPoints.add(place);
+                } else if (place.getKind() != Gazetteer.Kind.ALIAS) {
+                    placePoints.add(place);
+                }
+            }
+        } catch (IOException e) {
+            logger.error("Could not read gazetteer {}; reverse geocoding is disabled", gazetteer, e);
+            return;
+        }
+        roads = Index.of(roadPoints);
+        places = Index.of(placePoints);
+        logger.info("Reverse geocoder loaded {} road points and {} places", roadPoints.size(), placePoints.size());
+    }
+
+    /**
+     * Address for the location, or null when no gazetteer place is within
+     * {@code placeKm}.
+     */
+    public String lookup(double latitude, double longitude) {
+        String place = places.nearest(latitude, longitude, placeKm);
+        if (place == null) {
+            return null;
+        }
+        StringBuilder address = new StringBuilder();
+        String road = roads.nearest(latitude, longitude, roadKm);
+        if (road != null && !road.equals(place)) {
+            address.append(road).append(", ");
+        }
+        address.append(place);
+        if (locality != null && !locality.isBlank()) {
+            address.append(", ").append(locality);
+        }
+        return address.toString();
+    }
+
+    private static final class Index {
+        private static final Index EMPTY = new Index(null, new String[0]);
+
+        private final PointKdTree tree;
+        private final String[] names;
+
+        private Index(PointKdTree tree, String[] names) {
+            this.tree = tree;
+            this.names = names;
+        }
+
+        private static Index of(List<Gazetteer.Place> points) {
+            if (points.isEmpty()) {
+                return EMPTY;
+            }
+            double[] latitudes = new double[points.size()];
+            double[] longitudes = new double[points.size()];
+            String[] names = new String[points.size()];
+            for (int i = 0; i < points.size(); i++) {
+                latitudes[i] = points.get(i).getLatitude();
+                longitudes[i] = points.get(i).getLongitude();
+                names[i] = points.get(i).getName();
+            }
+            return new Index(new PointKdTree(latitudes, longitudes), names);
+        }
+
+        private String nearest(double latitude, double longitude, double maxKm) {
+            if (tree == null) {
+                return null;
+            }
+            int index = tree.nearest(latitude, longitude, maxKm);
+            return index >= 0 ? names[index] : null;
+        }
+    }
+}
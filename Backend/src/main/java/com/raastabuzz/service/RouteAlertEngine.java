@@ -0,0 +1,288 @@
+package com.raastabuzz.service;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.raastabuzz.dto.response.RouteAlertMessage;
+import com.raastabuzz.dto.response.TrafficReportSummary;
+import com.raastabuzz.model.SavedRoute;
+import com.raastabuzz.repository.SavedRouteRepository;
+import com.raastabuzz.util.RouteCorridor;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Matches new and re-graded reports against the corridors of every
+ * alert-enabled saved route. Each route is registered in the grid cells its
+ * corridor covers, so a report only tests the routes registered in its own cell
+ * instead of scanning them all. Matching owners get a message on
+ * {@code /user/queue/alerts}. Reports are matched once their change commits,
+ * on an alert thread, so neither an uncommitted report nor the matching cost
+ * reaches the request.
+ */
+@Component
+public class RouteAlertEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(RouteAlertEngine.class);
+
+    private static final String ALERT_DESTINATION = "/queue/alerts";
+
+    @Autowired
+    private SavedRouteRepository savedRouteRepository;
+
+    @Autowired
+    private RouteIncidentService routeIncidentService;
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Value("${app.routes.alerts.buffer-km:0.3}")
+    private double bufferKm;
+
+    @Value("${app.routes.alerts.cell-degrees:0.01}")
+    private double cellDegrees;
+
+    @Value("${app.routes.alerts.max-cells-per-route:20000}")
+    private int maxCellsPerRoute;
+
+    @Value("${app.routes.alerts.dispatch-queue-capacity:1000}")
+    private int dispatchQueueCapacity;
+
+    private final Map<Long, AlertRoute> routes = new ConcurrentHashMap<>();
+
+    private final Map<Long, Set<Long>> cells = new ConcurrentHashMap<>();
+
+    // Routes covering more than maxCellsPerRoute cells are tested against every report instead
+    private final Set<Long> oversized = ConcurrentHashMap.newKeySet();
+
+    private ThreadPoolExecutor dispatcher;
+
+    private final MeterRegistry meterRegistry;
+    private final Counter alertsSent;
+    private final Counter overflowed;
+
+    public RouteAlertEngine(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.alertsSent = Counter.builder("routes.alerts.sent")
+                .description("Route alerts pushed to route owners")
+                .register(meterRegistry);
+        this.overflowed = Counter.builder("routes.alerts.overflowed")
+                .description("Reports matched on the publishing thread because the alert queue was full")
+                .register(meterRegistry);
+        Gauge.builder("routes.alerts.routes", routes, Map::size).register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        BlockingQueue<Runnable> queue = new ArrayBlockingQueue<>(dispatchQueueCapacity);
+        Gauge.builder("routes.alerts.queued", queue, BlockingQueue::size)
+                .description("Committed reports waiting to be matched against saved routes")
+                .register(meterRegistry);
+        // A full queue pushes back on the publisher rather than dropping alerts
+        dispatcher = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, queue, task -> {
+            Thread thread = new Thread(task, "route-alerts");
+            thread.setDaemon(true);
+            return thread;
+        }, (task, executor) -> {
+            overflowed.increment();
+            task.run();
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        dispatcher.shutdown();
+        if (!dispatcher.awaitTermination(5, TimeUnit.SECONDS)) {
+            logger.warn("Route alerts still queued at shutdown were dropped");
+            dispatcher.shutdownNow();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        routes.clear();
+        cells.clear();
+        oversized.clear();
+        for (SavedRoute route : savedRouteRepository.findByAlertsEnabledTrue()) {
+            AlertRoute alertRoute = toAlertRoute(route);
+            if (alertRoute != null) {
+                add(alertRoute);
+            }
+        }
+        logger.info("Route alert engine rebuilt with {} routes", routes.size());
+    }
+
+    /**
+     * Starts (or, with alerts off, stops) matching for the route once the
+     * surrounding transaction commits.
+     */
+    public void register(SavedRoute route) {
+        AlertRoute alertRoute = Boolean.TRUE.equals(route.getAlertsEnabled()) ? toAlertRoute(route) : null;
+        Long routeId = route.getId();
+        afterCommit(() -> {
+            synchronized (this) {
+                remove(routeId);
+                if (alertRoute != null) {
+                    add(alertRoute);
+                }
+            }
+        });
+    }
+
+    public void unregister(Long routeId) {
+        afterCommit(() -> {
+            synchronized (this) {
+                remove(routeId);
+            }
+        });
+    }
+
+    // Runs after the change commits, or straight away when it was made outside a transaction
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onReportChanged(ReportChangedEvent event) {
+        if (event.getAlertReason() == null) {
+            return;
+        }
+        TrafficReportSummary report = event.getReport();
+        dispatcher.execute(() -> {
+            try {
+                match(report, event.getAlertReason());
+            } catch (RuntimeException e) {
+                logger.error("Failed to match report {} against saved routes", report.getId(), e);
+            }
+        });
+    }
+
+    private void match(TrafficReportSummary report, String reason) {
+        if (!Boolean.TRUE.equals(report.getActive())) {
+            return;
+        }
+        Set<Long> candidates = cells.get(cellKey(report.getLatitude(), report.getLongitude()));
+        if (candidates != null) {
+            candidates.forEach(routeId -> alertIfInside(routeId, report, reason));
+        }
+        oversized.forEach(routeId -> alertIfInside(routeId, report, reason));
+    }
+
+    private void alertIfInside(Long routeId, TrafficReportSummary report, String reason) {
+        AlertRoute route = routes.get(routeId);
+        // Reporters already know about their own reports
+        if (route == null || route.ownerId.equals(report.getUserId())) {
+            return;
+        }
+        RouteCorridor.Position position = route.corridor.locate(report.getLatitude(), report.getLongitude());
+        if (position == null) {
+            return;
+        }
+        messagingTemplate.convertAndSendToUser(route.ownerName, ALERT_DESTINATION,
+                new RouteAlertMessage(route.id, route.name, reason, report,
+                        position.getDistanceFromRouteKm(), position.getDistanceAlongRouteKm()));
+        alertsSent.increment();
+    }
+
+    private AlertRoute toAlertRoute(SavedRoute route) {
+        try {
+            RouteCorridor corridor = routeIncidentService.corridorFor(route, bufferKm);
+            Set<Long> coveredCells = corridor.coveredCells(cellDegrees, maxCellsPerRoute);
+            // The owner's email is the principal name their WebSocket session is registered under
+            return new AlertRoute(route.getId(), route.getName(), route.getUser().getId(),
+                    route.getUser().getEmail(), corridor, coveredCells);
+        } catch (RuntimeException e) {
+            logger.warn("Saved route {} cannot be matched for alerts: {}", route.getId(), e.getMessage());
+            return null;
+        }
+    }
+
+    // Caller holds the engine lock
+    private void add(AlertRoute route) {
+        routes.put(route.id, route);
+        if (route.cells == null) {
+            oversized.add(route.id);
+            return;
+        }
+        for (Long cell : route.cells) {
+            cells.computeIfAbsent(cell, key -> ConcurrentHashMap.newKeySet()).add(route.id);
+        }
+    }
+
+    // Caller holds the engine lock
+    private void remove(Long routeId) {
+        AlertRoute route = routes.remove(routeId);
+        if (route == null) {
+            return;
+        }
+        oversized.remove(routeId);
+        if (route.cells != null) {
+            for (Long cell : route.cells) {
+                cells.computeIfPresent(cell, (key, ids) -> {
+                    ids.remove(routeId);
+                    return ids.isEmpty() ? null : ids;
+                });
+            }
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private long cellKey(double latitude, double longitude) {
+        return ((long) cellIndex(latitude) << 32) | (cellIndex(longitude) & 0xffffffffL);
+    }
+
+    private int cellIndex(double degrees) {
+        return (int) Math.floor(degrees / cellDegrees);
+    }
+
+    private static final class AlertRoute {
+        private final Long id;
+        private final String name;
+        private final Long ownerId;
+        private final String ownerName;
+        private final RouteCorridor corridor;
+        // Null for oversized routes
+        private final Set<Long> cells;
+
+        private AlertRoute(Long id, String name, Long ownerId, String ownerName, RouteCorridor corridor,
+                           Set<Long> cells) {
+            this.id = id;
+            this.name = name;
+            this.ownerId = ownerId;
+            this.ownerName = ownerName;
+            this.corridor = corridor;
+            this.cells = cells;
+        }
+    }
+}
@@ -0,0 +1,304 @@
+package com.raastabuzz.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.raastabuzz.dto.response.RouteIncidentResponse;
+import com.raastabuzz.dto.response.TrafficReportSummary;
+import com.raastabuzz.model.SavedRoute;
+import com.raastabuzz.util.PolylineCodec;
+import com.raastabuzz.util.RouteCorridor;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Answers "what lies along this route" from the spatial index. Results for
+ * saved routes are cached per route, least recently used first out. Each entry
+ * is registered in the grid cells its corridor covers, so a changed report only
+ * tests the entries in its own cell. An entry is dropped when a report enters
+ * its corridor or one it returned moves away or ends; a returned report that
+ * changed in place, such as by a vote, is swapped into the entry instead.
+ */
+@Service
+public class RouteIncidentService implements ReportChangeListener {
+
+    @Autowired
+    private ReportSpatialIndex reportSpatialIndex;
+
+    @Value("${app.routes.corridor.default-buffer-km:0.3}")
+    private double defaultBufferKm;
+
+    @Value("${app.routes.corridor.max-buffer-km:5}")
+    private double maxBufferKm;
+
+    @Value("${app.routes.incident-cache.max-size:1000}")
+    private int maxSize;
+
+    @Value("${app.routes.incident-cache.cell-degrees:0.01}")
+    private double cellDegrees;
+
+    @Value("${app.routes.incident-cache.max-cells-per-route:20000}")
+    private int maxCellsPerRoute;
+
+    // Access-ordered so the eldest entry is the least recently used; it and the indexes below are guarded by it
+    private final LinkedHashMap<Long, CachedIncidents> cache = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final Map<Long, Set<CachedIncidents>> entriesByCell = new HashMap<>();
+
+    private final Map<Long, Set<CachedIncidents>> entriesByReport = new HashMap<>();
+
+    // Entries covering more than maxCellsPerRoute cells are tested against every change instead
+    private final Set<CachedIncidents> oversized = new HashSet<>();
+
+    private final Counter hits;
+    private final Counter misses;
+
+    public RouteIncidentService(MeterRegistry meterRegistry) {
+        this.hits = Counter.builder("routes.incident-cache.requests").tag("result", "hit")
+                .description("Saved route incident lookups").register(meterRegistry);
+        this.misses = Counter.builder("routes.incident-cache.requests").tag("result", "miss")
+                .description("Saved route incident lookups").register(meterRegistry);
+    }
+
+    public List<RouteIncidentResponse> getRouteIncidents(SavedRoute route, Double bufferKm) {
+        double buffer = resolveBuffer(bufferKm);
+        synchronized (cache) {
+            CachedIncidents cached = cache.get(route.getId());
+            if (cached != null && cached.incidents != null && cached.corridor.getBufferKm() == buffer) {
+                hits.increment();
+                return cached.incidents;
+            }
+        }
+        misses.increment();
+
+        RouteCorridor corridor = corridorFor(route, buffer);
+        // Registered before the lookup so a change landing meanwhile drops it rather than being missed
+        CachedIncidents pending = new CachedIncidents(route.getId(), corridor,
+                corridor.coveredCells(cellDegrees, maxCellsPerRoute));
+        synchronized (cache) {
+            remove(route.getId());
+            add(pending);
+        }
+        List<RouteIncidentResponse> incidents = List.copyOf(reportSpatialIndex.findAlongRoute(corridor));
+        synchronized (cache) {
+            if (!pending.dropped) {
+                pending.incidents = incidents;
+                incidents.forEach(incident -> entriesByReport
+                        .computeIfAbsent(incident.getReport().getId(), id -> new HashSet<>()).add(pending));
+            }
+        }
+        return incidents;
+    }
+
+    public List<RouteIncidentResponse> findAlongRoute(List<double[]> path, Double bufferKm) {
+        return reportSpatialIndex.findAlongRoute(new RouteCorridor(path, resolveBuffer(bufferKm)));
+    }
+
+    /**
+     * The corridor around a saved route: its stored polyline when there is one,
+     * otherwise the straight line between its endpoints.
+     */
+    public RouteCorridor corridorFor(SavedRoute route, Double bufferKm) {
+        return new RouteCorridor(corridorPoints(route), resolveBuffer(bufferKm));
+    }
+
+    public void evict(Long routeId) {
+        synchronized (cache) {
+            remove(routeId);
+        }
+    }
+
+    @Override
+    public void onReportSaved(TrafficReportSummary report) {
+        refresh(report);
+    }
+
+    @Override
+    public void onReportRemoved(TrafficReportSummary report) {
+        refresh(report);
+    }
+
+    private void refresh(TrafficReportSummary report) {
+        boolean placed = Boolean.TRUE.equals(report.getActive())
+                && report.getLatitude() != null && report.getLongitude() != null;
+        Set<CachedIncidents> candidates = new HashSet<>();
+        synchronized (cache) {
+            candidates.addAll(entriesByReport.getOrDefault(report.getId(), Set.of()));
+            if (placed) {
+                candidates.addAll(entriesByCell.getOrDefault(
+                        cellKey(report.getLatitude(), report.getLongitude()), Set.of()));
+                candidates.addAll(oversized);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        // Corridor tests and patches run outside the lock; they are applied only to entries still current
+        List<CachedIncidents> stale = new ArrayList<>();
+        Map<CachedIncidents, List<RouteIncidentResponse>> seen = new HashMap<>();
+        Map<CachedIncidents, List<RouteIncidentResponse>> patched = new HashMap<>();
+        for (CachedIncidents cached : candidates) {
+            List<RouteIncidentResponse> incidents = cached.incidents;
+            RouteIncidentResponse listed = incidents == null ? null : find(incidents, report.getId());
+            if (listed != null) {
+                if (!placed || !sameLocation(listed.getReport(), report)) {
+                    stale.add(cached);
+                } else if (isNewer(report, listed.getReport())) {
+                    seen.put(cached, incidents);
+                    patched.put(cached, replace(incidents, report));
+                }
+            } else if (placed && cached.corridor.contains(report.getLatitude(), report.getLongitude())) {
+                stale.add(cached);
+            }
+        }
+        synchronized (cache) {
+            for (CachedIncidents cached : stale) {
+                if (!cached.dropped) {
+                    remove(cached.routeId);
+                }
+            }
+            patched.forEach((cached, incidents) -> {
+                if (!cached.dropped && cached.incidents == seen.get(cached)) {
+                    cached.incidents = incidents;
+                }
+            });
+        }
+    }
+
+    // Caller holds the cache lock
+    private void add(CachedIncidents cached) {
+        cache.put(cached.routeId, cached);
+        if (cached.cells == null) {
+            oversized.add(cached);
+        } else {
+            cached.cells.forEach(cell -> entriesByCell.computeIfAbsent(cell, key -> new HashSet<>()).add(cached));
+        }
+        Iterator<CachedIncidents> eldest = cache.values().iterator();
+        while (cache.size() > maxSize) {
+            CachedIncidents evicted = eldest.next();
+            eldest.remove();
+            unindex(evicted);
+        }
+    }
+
+    // Caller holds the cache lock
+    private void remove(Long routeId) {
+        CachedIncidents cached = cache.remove(routeId);
+        if (cached != null) {
+            unindex(cached);
+        }
+    }
+
+    // Caller holds the cache lock
+    private void unindex(CachedIncidents cached) {
+        cached.dropped = true;
+        if (cached.cells == null) {
+            oversized.remove(cached);
+        } else {
+            cached.cells.forEach(cell -> removeFrom(entriesByCell, cell, cached));
+        }
+        if (cached.incidents != null) {
+            cached.incidents.forEach(incident -> removeFrom(entriesByReport, incident.getReport().getId(), cached));
+        }
+    }
+
+    private static void removeFrom(Map<Long, Set<CachedIncidents>> index, Long key, CachedIncidents cached) {
+        Set<CachedIncidents> entries = index.get(key);
+        if (entries != null && entries.remove(cached) && entries.isEmpty()) {
+            index.remove(key);
+        }
+    }
+
+    private static RouteIncidentResponse find(List<RouteIncidentResponse> incidents, Long reportId) {
+        for (RouteIncidentResponse incident : incidents) {
+            if (incident.getReport().getId().equals(reportId)) {
+                return incident;
+            }
+        }
+        return null;
+    }
+
+    // Same distances, since the report has not moved
+    private static List<RouteIncidentResponse> replace(List<RouteIncidentResponse> incidents,
+                                                       TrafficReportSummary report) {
+        List<RouteIncidentResponse> replaced = new ArrayList<>(incidents.size());
+        for (RouteIncidentResponse incident : incidents) {
+            replaced.add(incident.getReport().getId().equals(report.getId())
+                    ? new RouteIncidentResponse(report, incident.getDistanceFromRouteKm(),
+                            incident.getDistanceAlongRouteKm())
+                    : incident);
+        }
+        return List.copyOf(replaced);
+    }
+
+    private static boolean sameLocation(TrafficReportSummary listed, TrafficReportSummary report) {
+        return listed.getLatitude().equals(report.getLatitude()) && listed.getLongitude().equals(report.getLongitude());
+    }
+
+    // Changes can reach listeners out of order; an older one must not overwrite a newer state
+    private static boolean isNewer(TrafficReportSummary report, TrafficReportSummary listed) {
+        return report.getChangeVersion() == null || listed.getChangeVersion() == null
+                || report.getChangeVersion() > listed.getChangeVersion();
+    }
+
+    private long cellKey(double latitude, double longitude) {
+        return ((long) cellIndex(latitude) << 32) | (cellIndex(longitude) & 0xffffffffL);
+    }
+
+    private int cellIndex(double degrees) {
+        return (int) Math.floor(degrees / cellDegrees);
+    }
+
+    private double resolveBuffer(Double bufferKm) {
+        if (bufferKm == null) {
+            return defaultBufferKm;
+        }
+        if (bufferKm <= 0 || bufferKm > maxBufferKm) {
+            throw new IllegalArgumentException("bufferKm must be positive and at most " + maxBufferKm);
+        }
+        return bufferKm;
+    }
+
+    private List<double[]> corridorPoints(SavedRoute route) {
+        if (route.getPath() != null && !route.getPath().isEmpty()) {
+            return PolylineCodec.decode(route.getPath());
+        }
+        if (route.getFromLatitude() == null || route.getFromLongitude() == null
+                || route.getToLatitude() == null || route.getToLongitude() == null) {
+            throw new RuntimeException("Saved route has no coordinates");
+        }
+        List<double[]> points = new ArrayList<>();
+        points.add(new double[] {route.getFromLatitude(), route.getFromLongitude()});
+        points.add(new double[] {route.getToLatitude(), route.getToLongitude()});
+        return points;
+    }
+
+    private static final class CachedIncidents {
+        private final Long routeId;
+        private final RouteCorridor corridor;
+        // Null for oversized corridors
+        private final Set<Long> cells;
+        // Set under the cache lock once the entry is evicted, invalidated or replaced; it is never reused
+        private boolean dropped;
+        // Null while the lookup that created the entry is running
+        private volatile List<RouteIncidentResponse> incidents;
+
+        private CachedIncidents(Long routeId, RouteCorridor corridor, Set<Long> cells) {
+            this.routeId = routeId;
+            this.corridor = corridor;
+            this.cells = cells;
+        }
+    }
+}
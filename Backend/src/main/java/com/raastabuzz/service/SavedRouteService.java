@@ -0,0 +1,72 @@
+package com.raastabuzz.service;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.raastabuzz.dto.request.SavedRouteRequest;
+import com.raastabuzz.model.SavedRoute;
+import com.raastabuzz.model.User;
+import com.raastabuzz.repository.SavedRouteRepository;
+import com.raastabuzz.util.PolylineCodec;
+
+@Service
+@Transactional
+public class SavedRouteService {
+    
+    @Autowired
+    private SavedRouteRepository savedRouteRepository;
+    
+    @Autowired
+    private RouteIncidentService routeIncidentService;
+    
+    @Autowired
+    private RouteAlertEngine routeAlertEngine;
+    
+    public List<SavedRoute> getRoutesByUser(User user) {
+        return savedRouteRepository.findByUser(user);
+    }
+    
+    public SavedRoute getOwnedRoute(Long id, Long userId) {
+        SavedRoute route = savedRouteRepository.findById(id)
+            .orElseThrow(() -> new RuntimeException("Saved route not found with id: " + id));
+        if (!route.getUser().getId().equals(userId)) {
+            throw new RuntimeException("You don't have permission to access this route");
+        }
+        return route;
+    }
+    
+    public SavedRoute createRoute(SavedRouteRequest request, User user) {
+        boolean hasEndpoints = request.getFromLatitude() != null && request.getFromLongitude() != null
+            && request.getToLatitude() != null && request.getToLongitude() != null;
+        if (!hasEndpoints && request.getPath() == null) {
+            throw new RuntimeException("A route needs either a path or from/to coordinates");
+        }
+        
+        SavedRoute route = new SavedRoute(request.getName(), request.getFromLocation(), request.getToLocation(), user);
+        route.setFromLatitude(request.getFromLatitude());
+        route.setFromLongitude(request.getFromLongitude());
+        route.setToLatitude(request.getToLatitude());
+        route.setToLongitude(request.getToLongitude());
+        if (request.getPath() != null) {
+            route.setPath(PolylineCodec.encode(request.getPath().stream()
+                .map(point -> new double[] {point.getLatitude(), point.getLongitude()})
+                .toList()));
+        }
+        if (request.getAlertsEnabled() != null) {
+            route.setAlertsEnabled(request.getAlertsEnabled());
+        }
+        SavedRoute saved = savedRouteRepository.save(route);
+        routeAlertEngine.register(saved);
+        return saved;
+    }
+    
+    public void deleteRoute(Long id, Long userId) {
+        SavedRoute route = getOwnedRoute(id, userId);
+        savedRouteRepository.delete(route);
+        routeIncidentService.evict(id);
+        routeAlertEngine.unregister(id);
+    }
+}
@@ -0,0 +1,234 @@
+package com.raastabuzz.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongPredicate;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.raastabuzz.dto.response.SearchResultResponse;
+import com.raastabuzz.dto.response.TrafficReportSummary;
+import com.raastabuzz.model.ForumPost;
+import com.raastabuzz.repository.ForumPostRepository;
+import com.raastabuzz.repository.TrafficReportRepository;
+import com.raastabuzz.util.InvertedIndex;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Full-text search over active traffic reports (title, description, address)
+ * and active forum posts (title, content) from one in-process
+ * {@link InvertedIndex}. Reports are indexed from report change events and
+ * posts by ForumService as they are written; queries only touch the postings of
+ * their terms and then load the few documents they return.
+ */
+@Service
+public class SearchService implements ReportChangeListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchService.class);
+
+    private static final int SNIPPET_LENGTH = 200;
+
+    // Low bit of an index key: which kind of document the id belongs to
+    private static final long REPORT = 0;
+    private static final long POST = 1;
+
+    @Autowired
+    private TrafficReportRepository trafficReportRepository;
+
+    @Autowired
+    private ForumPostRepository forumPostRepository;
+
+    @Autowired
+    private ActiveReportCache activeReportCache;
+
+    // Guards index; searches share it, updates take it exclusively
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private InvertedIndex index = new InvertedIndex();
+
+    private final Timer queryTimer;
+
+    public SearchService(MeterRegistry meterRegistry) {
+        this.queryTimer = Timer.builder("search.query")
+                .description("Full-text search queries")
+                .register(meterRegistry);
+        Gauge.builder("search.documents", this, SearchService::size).register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            index = new InvertedIndex();
+            trafficReportRepository.findActiveSummaries().forEach(report -> putReport(index, report));
+            forumPostRepository.findByActiveTrueOrderByCreatedAtDesc().forEach(post -> putPost(index, post));
+            logger.info("Search index rebuilt with {} documents and {} terms", index.size(), index.termCount());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onReportSaved(TrafficReportSummary report) {
+        if (!Boolean.TRUE.equals(report.getActive())) {
+            onReportRemoved(report);
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            putReport(index, report);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onReportRemoved(TrafficReportSummary report) {
+        remove(key(REPORT, report.getId()));
+    }
+
+    public void indexPost(ForumPost post) {
+        if (!Boolean.TRUE.equals(post.getActive())) {
+            removePost(post.getId());
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            putPost(index, post);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removePost(Long postId) {
+        remove(key(POST, postId));
+    }
+
+    /**
+     * Best matches for the query, optionally restricted to {@code type}
+     * ({@code report} or {@code post}, case-insensitive).
+     */
+    @Transactional(readOnly = true)
+    public List<SearchResultResponse> search(String query, String type, int limit) {
+        LongPredicate filter = filterFor(type);
+        List<InvertedIndex.Hit> hits = queryTimer.record(() -> {
+            lock.readLock().lock();
+            try {
+                return index.search(query, limit, filter);
+            } finally {
+                lock.readLock().unlock();
+            }
+        });
+
+        // Reports usually come from the cache; the rest of each kind is loaded in one query
+        Map<Long, TrafficReportSummary> reports = new HashMap<>();
+        List<Long> uncachedReportIds = new ArrayList<>();
+        List<Long> postIds = new ArrayList<>();
+        for (InvertedIndex.Hit hit : hits) {
+            long id = hit.getKey() >>> 1;
+            if ((hit.getKey() & 1) == REPORT) {
+                Optional<TrafficReportSummary> cached = activeReportCache.get(id);
+                if (cached.isPresent()) {
+                    reports.put(id, cached.get());
+                } else {
+                    uncachedReportIds.add(id);
+                }
+            } else {
+                postIds.add(id);
+            }
+        }
+        if (!uncachedReportIds.isEmpty()) {
+            trafficReportRepository.findSummariesByIds(uncachedReportIds).forEach(report -> reports.put(report.getId(), report));
+        }
+        Map<Long, ForumPost> posts = new HashMap<>();
+        if (!postIds.isEmpty()) {
+            forumPostRepository.findAllById(postIds).forEach(post -> posts.put(post.getId(), post));
+        }
+
+        List<SearchResultResponse> results = new ArrayList<>(hits.size());
+        for (InvertedIndex.Hit hit : hits) {
+            long id = hit.getKey() >>> 1;
+            if ((hit.getKey() & 1) == REPORT) {
+                TrafficReportSummary report = reports.get(id);
+                if (report != null && Boolean.TRUE.equals(report.getActive())) {
+                    results.add(new SearchResultResponse(SearchResultResponse.REPORT, id, report.getTitle(),
+                            snippet(report.getDescription()), report.getCategory().name(), report.getAuthorName(),
+                            report.getCreatedAt(), hit.getScore()));
+                }
+            } else {
+                ForumPost post = posts.get(id);
+                if (post != null && Boolean.TRUE.equals(post.getActive())) {
+                    results.add(new SearchResultResponse(SearchResultResponse.POST, id, post.getTitle(),
+                            snippet(post.getContent()), post.getCategory() != null ? post.getCategory().name() : null,
+                            post.getUser().getName(), post.getCreatedAt(), hit.getScore()));
+                }
+            }
+        }
+        return results;
+    }
+
+    private int size() {
+        lock.readLock().lock();
+        try {
+            return index.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void remove(long key) {
+        lock.writeLock().lock();
+        try {
+            index.remove(key);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void putReport(InvertedIndex target, TrafficReportSummary report) {
+        target.put(key(REPORT, report.getId()), report.getTitle(), report.getDescription(), report.getAddress());
+    }
+
+    private static void putPost(InvertedIndex target, ForumPost post) {
+        target.put(key(POST, post.getId()), post.getTitle(), post.getContent());
+    }
+
+    private static LongPredicate filterFor(String type) {
+        if (type == null || type.isBlank()) {
+            return null;
+        }
+        switch (type.toUpperCase(Locale.ROOT)) {
+            case SearchResultResponse.REPORT:
+                return key -> (key & 1) == REPORT;
+            case SearchResultResponse.POST:
+                return key -> (key & 1) == POST;
+            default:
+                throw new IllegalArgumentException("type must be report or post");
+        }
+    }
+
+    private static long key(long kind, Long id) {
+        return (id << 1) | kind;
+    }
+
+    private static String snippet(String text) {
+        if (text == null || text.length() <= SNIPPET_LENGTH) {
+            return text;
+        }
+        return text.substring(0, SNIPPET_LENGTH) + "...";
+    }
+}
@@ -1,26 +1,40 @@
 package com.raastabuzz.service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.raastabuzz.dto.request.TrafficReportRequest;
+import com.raastabuzz.dto.response.CursorPageResponse;
+import com.raastabuzz.dto.response.DuplicateCandidateResponse;
+import com.raastabuzz.dto.response.NearbyReportResponse;
+import com.raastabuzz.dto.response.ReportChangesResponse;
+import com.raastabuzz.dto.response.ReportCellsResponse;
+import com.raastabuzz.dto.response.ReportClusterResponse;
+import com.raastabuzz.dto.response.ReportSubmissionResult;
+import com.raastabuzz.dto.response.RouteAlertMessage;
+import com.raastabuzz.dto.response.TrafficReportSummary;
+import com.raastabuzz.dto.response.TrendingReportResponse;
+import com.raastabuzz.model.ReportConfirmation;
 import com.raastabuzz.model.Severity;
 import com.raastabuzz.model.TrafficCategory;
 import com.raastabuzz.model.TrafficReport;
 import com.raastabuzz.model.User;
-import com.raastabuzz.model.Vote;
 import com.raastabuzz.model.VoteType;
+import com.raastabuzz.repository.ArchivedTrafficReportRepository;
+import com.raastabuzz.repository.ReportConfirmationRepository;
 import com.raastabuzz.repository.TrafficReportRepository;
-import com.raastabuzz.repository.VoteRepository;
+import com.raastabuzz.util.BoundingBox;
+import com.raastabuzz.util.FeedCursor;
 import org.springframework.web.bind.annotation.RestController;
 
 @Service
@@ -33,45 +47,183 @@ public class TrafficReportService {
     private TrafficReportRepository trafficReportRepository;
 
     @Autowired
-    private VoteRepository voteRepository;
+    private ReportBroadcaster reportBroadcaster;
 
     @Autowired
-    private SimpMessagingTemplate messagingTemplate;  // Add this for WebSocket broadcasting
+    private ApplicationEventPublisher eventPublisher;
 
-    public List<TrafficReport> getAllActiveReports() {
-        return trafficReportRepository.findByActiveTrueOrderByCreatedAtDesc();
+    @Autowired
+    private ReportSpatialIndex reportSpatialIndex;
+
+    @Autowired
+    private ReportClusterIndex reportClusterIndex;
+
+    @Autowired
+    private ActiveReportCache activeReportCache;
+
+    @Autowired
+    private ReportVersionSequence reportVersionSequence;
+
+    @Autowired
+    private VoteWriteBehindQueue voteWriteBehindQueue;
+
+    @Autowired
+    private UserVoteStore userVoteStore;
+
+    @Autowired
+    private ArchivedTrafficReportRepository archivedTrafficReportRepository;
+
+    @Autowired
+    private ReportConfirmationRepository reportConfirmationRepository;
+
+    @Autowired
+    private List<ReportChangeListener> reportChangeListeners;
+
+    @Autowired
+    private ReportDuplicateDetector reportDuplicateDetector;
+
+    @Autowired
+    private TrendingReportIndex trendingReportIndex;
+
+    @Autowired
+    private ReverseGeocoder reverseGeocoder;
+
+    public List<TrafficReportSummary> getAllActiveReports() {
+        return activeReportCache.getActiveFeed()
+                .orElseGet(() -> trafficReportRepository.findActiveSummaries());
+    }
+
+    public CursorPageResponse<TrafficReportSummary> getReportFeed(String cursor, int size,
+                                                                  TrafficCategory category, Severity severity) {
+        // Fetch one extra row to learn whether another page exists
+        PageRequest limit = PageRequest.of(0, size + 1);
+        List<TrafficReportSummary> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = trafficReportRepository.findFeedFirstPage(category, severity, limit);
+        } else {
+            FeedCursor position = FeedCursor.decode(cursor);
+            rows = trafficReportRepository.findFeedAfter(category, severity,
+                    position.getCreatedAt(), position.getId(), limit);
+        }
+
+        if (rows.size() <= size) {
+            return new CursorPageResponse<>(rows, null);
+        }
+        List<TrafficReportSummary> page = rows.subList(0, size);
+        TrafficReportSummary last = page.get(size - 1);
+        return new CursorPageResponse<>(page, new FeedCursor(last.getCreatedAt(), last.getId()).encode());
     }
 
-    public Page<TrafficReport> getAllActiveReports(Pageable pageable) {
-        return trafficReportRepository.findByActiveTrue(pageable);
+    public ReportChangesResponse getChangesSince(long since, int limit) {
+        // Read the mark first: everything at or below it has committed, so nothing can appear behind it later
+        long highWater = reportVersionSequence.safeHighWater();
+        if (since <= 0) {
+            return new ReportChangesResponse(trafficReportRepository.findActiveSummaries(), List.of(), highWater, false);
+        }
+
+        List<TrafficReportSummary> rows = trafficReportRepository.findChangedSince(since, highWater,
+                PageRequest.of(0, limit + 1));
+        boolean hasMore = rows.size() > limit;
+        if (hasMore) {
+            rows = rows.subList(0, limit);
+        }
+        List<TrafficReportSummary> upserts = new ArrayList<>();
+        List<Long> tombstones = new ArrayList<>();
+        for (TrafficReportSummary row : rows) {
+            if (Boolean.TRUE.equals(row.getActive())) {
+                upserts.add(row);
+            } else {
+                tombstones.add(row.getId());
+            }
+        }
+        long version = hasMore ? rows.get(rows.size() - 1).getChangeVersion() : Math.max(since, highWater);
+        // Reports archived since the client last synced have left the hot table but must still be dropped
+        tombstones.addAll(archivedTrafficReportRepository.findIdsChangedSince(since, version));
+        return new ReportChangesResponse(upserts, tombstones, version, hasMore);
     }
 
-    public Optional<TrafficReport> getReportById(Long id) {
-        return trafficReportRepository.findById(id);
+    public CursorPageResponse<TrafficReportSummary> getReportHistory(String cursor, int size,
+                                                                     Long userId, TrafficCategory category) {
+        PageRequest limit = PageRequest.of(0, size + 1);
+        List<TrafficReportSummary> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = archivedTrafficReportRepository.findHistoryFirstPage(userId, category, limit);
+        } else {
+            FeedCursor position = FeedCursor.decode(cursor);
+            rows = archivedTrafficReportRepository.findHistoryAfter(userId, category,
+                    position.getCreatedAt(), position.getId(), limit);
+        }
+
+        if (rows.size() <= size) {
+            return new CursorPageResponse<>(rows, null);
+        }
+        List<TrafficReportSummary> page = rows.subList(0, size);
+        TrafficReportSummary last = page.get(size - 1);
+        return new CursorPageResponse<>(page, new FeedCursor(last.getCreatedAt(), last.getId()).encode());
     }
 
-    public List<TrafficReport> getReportsByCategory(TrafficCategory category) {
-        return trafficReportRepository.findByCategory(category);
+    public Optional<TrafficReportSummary> getArchivedReportById(Long id) {
+        return archivedTrafficReportRepository.findSummaryById(id);
     }
 
-    public List<TrafficReport> getReportsBySeverity(Severity severity) {
-        return trafficReportRepository.findBySeverity(severity);
+    public Optional<TrafficReportSummary> getReportById(Long id) {
+        Optional<TrafficReportSummary> cached = activeReportCache.get(id);
+        return cached.isPresent() ? cached : trafficReportRepository.findSummaryById(id);
     }
 
-    public List<TrafficReport> getReportsByUser(User user) {
-        return trafficReportRepository.findByUser(user);
+    public List<TrafficReportSummary> getReportsByCategory(TrafficCategory category) {
+        return trafficReportRepository.findSummariesByCategory(category);
     }
 
-    public List<TrafficReport> getReportsInArea(Double minLat, Double maxLat,
-                                                Double minLng, Double maxLng) {
-        return trafficReportRepository.findReportsInArea(minLat, maxLat, minLng, maxLng);
+    public List<TrafficReportSummary> getReportsBySeverity(Severity severity) {
+        return trafficReportRepository.findSummariesBySeverity(severity);
     }
 
-    public List<TrafficReport> getRecentReports(LocalDateTime since) {
-        return trafficReportRepository.findRecentReports(since);
+    public List<TrafficReportSummary> getReportsByUser(User user) {
+        return trafficReportRepository.findSummariesByUser(user);
     }
 
-    public TrafficReport createReport(TrafficReportRequest request, User user) {
+    public List<TrafficReportSummary> getReportsInArea(Double minLat, Double maxLat,
+                                                       Double minLng, Double maxLng) {
+        return reportSpatialIndex.findInArea(minLat, maxLat, minLng, maxLng);
+    }
+
+    public List<NearbyReportResponse> getNearestReports(double latitude, double longitude, int k, double maxKm,
+                                                        TrafficCategory category, Severity severity) {
+        return reportSpatialIndex.findNearest(latitude, longitude, k, maxKm,
+                report -> (category == null || report.getCategory() == category)
+                        && (severity == null || report.getSeverity() == severity));
+    }
+
+    public List<ReportClusterResponse> getClusters(BoundingBox bbox, int zoom) {
+        return reportClusterIndex.getClusters(bbox, zoom);
+    }
+
+    public ReportCellsResponse getCells(BoundingBox viewport) {
+        return reportBroadcaster.cellsFor(viewport);
+    }
+
+    public List<TrendingReportResponse> getTrending(int limit) {
+        return trendingReportIndex.getTrending(limit);
+    }
+
+    public List<TrafficReportSummary> getRecentReports(LocalDateTime since) {
+        return activeReportCache.getCreatedSince(since)
+                .orElseGet(() -> trafficReportRepository.findRecentSummaries(since));
+    }
+
+    public ReportSubmissionResult createReport(TrafficReportRequest request, User user) {
+        if (!Boolean.TRUE.equals(request.getForceNew())) {
+            List<DuplicateCandidateResponse> duplicates = reportDuplicateDetector.findDuplicates(
+                    request.getCategory(), request.getLatitude(), request.getLongitude());
+            for (DuplicateCandidateResponse duplicate : duplicates) {
+                Optional<ReportSubmissionResult> merged = mergeDuplicate(duplicate.getReport().getId(), request, user);
+                if (merged.isPresent()) {
+                    return merged.get();
+                }
+            }
+        }
+
         TrafficReport report = new TrafficReport();
         report.setTitle(request.getTitle());
         report.setDescription(request.getDescription());
@@ -79,7 +231,10 @@ public class TrafficReportService {
         report.setSeverity(request.getSeverity());
         report.setLatitude(request.getLatitude());
         report.setLongitude(request.getLongitude());
-        report.setAddress(request.getAddress());
+        // Map taps often arrive without an address; name the spot from the bundled gazetteer
+        report.setAddress(request.getAddress() != null && !request.getAddress().isBlank()
+                ? request.getAddress()
+                : reverseGeocoder.lookup(request.getLatitude(), request.getLongitude()));
         report.setImageUrl(request.getImageUrl());
         report.setUser(user);
         report.setActive(true);
@@ -87,13 +242,55 @@ public class TrafficReportService {
         report.setUpvotes(0);
         report.setDownvotes(0);
 
-        TrafficReport savedReport = trafficReportRepository.save(report);
-        messagingTemplate.convertAndSend("/topic/reports", savedReport);  // Broadcast the new report
-        return savedReport;
+        report.setChangeVersion(reportVersionSequence.next());
+        TrafficReportSummary summary = TrafficReportSummary.from(trafficReportRepository.saveAndFlush(report));
+        notifySaved(summary);
+        // Broadcast the new report and alert routes along it once committed
+        eventPublisher.publishEvent(new ReportChangedEvent(summary, RouteAlertMessage.NEW_REPORT));
+        return new ReportSubmissionResult(summary, false, true);
+    }
+
+    public List<DuplicateCandidateResponse> findDuplicates(TrafficCategory category, double latitude, double longitude) {
+        return reportDuplicateDetector.findDuplicates(category, latitude, longitude);
+    }
+
+    // Folds a duplicate submission into the existing report; empty if that report is no longer active
+    private Optional<ReportSubmissionResult> mergeDuplicate(Long reportId, TrafficReportRequest request, User user) {
+        TrafficReport report = trafficReportRepository.findByIdForUpdate(reportId).orElse(null);
+        if (report == null || !Boolean.TRUE.equals(report.getActive())) {
+            return Optional.empty();
+        }
+
+        // Each user counts once as a reporter; the author already does. The row lock serializes this check
+        boolean newReporter = !report.getUser().getId().equals(user.getId())
+                && !reportConfirmationRepository.existsByReportAndUser(reportId, user.getId());
+        if (newReporter) {
+            reportConfirmationRepository.save(new ReportConfirmation(user, report));
+            report.setReporterCount(report.getReporterCount() + 1);
+        }
+        Severity previousSeverity = report.getSeverity();
+        if (request.getSeverity().compareTo(previousSeverity) > 0) {
+            report.setSeverity(request.getSeverity());
+        }
+        if (report.getImageUrl() == null && request.getImageUrl() != null) {
+            report.setImageUrl(request.getImageUrl());
+        }
+        if ((report.getAddress() == null || report.getAddress().isBlank()) && request.getAddress() != null) {
+            report.setAddress(request.getAddress());
+        }
+
+        report.setChangeVersion(reportVersionSequence.next());
+        TrafficReportSummary summary = TrafficReportSummary.from(trafficReportRepository.saveAndFlush(report));
+        notifySaved(summary);
+        // Broadcast the merged report once committed
+        eventPublisher.publishEvent(new ReportChangedEvent(summary,
+                previousSeverity != summary.getSeverity() ? RouteAlertMessage.SEVERITY_CHANGED : null));
+        return Optional.of(new ReportSubmissionResult(summary, true, newReporter));
     }
 
-    public TrafficReport updateReport(Long id, TrafficReportRequest request, User user) {
-        TrafficReport report = trafficReportRepository.findById(id)
+    public TrafficReportSummary updateReport(Long id, TrafficReportRequest request, User user) {
+        // Locked so a vote flush, merge or expiry can't commit between this read and the full-row save
+        TrafficReport report = trafficReportRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new RuntimeException("Traffic report not found with id: " + id));
 
         // Check if user owns the report or is moderator
@@ -102,6 +299,7 @@ public class TrafficReportService {
             throw new RuntimeException("You don't have permission to update this report");
         }
 
+        Severity previousSeverity = report.getSeverity();
         report.setTitle(request.getTitle());
         report.setDescription(request.getDescription());
         report.setCategory(request.getCategory());
@@ -111,13 +309,17 @@ public class TrafficReportService {
         report.setAddress(request.getAddress());
         report.setImageUrl(request.getImageUrl());
 
-        TrafficReport savedReport = trafficReportRepository.save(report);
-        messagingTemplate.convertAndSend("/topic/reports", savedReport);  // Broadcast the updated report
-        return savedReport;
+        report.setChangeVersion(reportVersionSequence.next());
+        TrafficReportSummary summary = TrafficReportSummary.from(trafficReportRepository.saveAndFlush(report));
+        notifySaved(summary);
+        // Broadcast the updated report once committed
+        eventPublisher.publishEvent(new ReportChangedEvent(summary,
+                previousSeverity != summary.getSeverity() ? RouteAlertMessage.SEVERITY_CHANGED : null));
+        return summary;
     }
 
     public void deleteReport(Long id, User user) {
-        TrafficReport report = trafficReportRepository.findById(id)
+        TrafficReport report = trafficReportRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new RuntimeException("Traffic report not found with id: " + id));
 
         // Check if user owns the report or is moderator
@@ -127,62 +329,41 @@ public class TrafficReportService {
         }
 
         report.setActive(false);
-        TrafficReport savedReport = trafficReportRepository.save(report);
-        messagingTemplate.convertAndSend("/topic/reports", savedReport);  // Broadcast the deactivated report
+        report.setDeactivatedAt(LocalDateTime.now());
+        report.setChangeVersion(reportVersionSequence.next());
+        TrafficReportSummary summary = TrafficReportSummary.from(trafficReportRepository.saveAndFlush(report));
+        notifyRemoved(summary);
+        eventPublisher.publishEvent(new ReportChangedEvent(summary));  // Broadcast the deactivated report once committed
     }
 
-    public TrafficReport voteOnReport(Long reportId, VoteType voteType, User user) {
-        TrafficReport report = trafficReportRepository.findById(reportId)
-                .orElseThrow(() -> new RuntimeException("Traffic report not found with id: " + reportId));
-
-        // Check if user already voted on this report
-        Optional<Vote> existingVote = voteRepository.findByUserAndTrafficReport(user, report);
-
-        if (existingVote.isPresent()) {
-            Vote vote = existingVote.get();
-            VoteType oldVoteType = vote.getType();
+    // Votes are persisted in the background; the returned counts include ones not yet written
+    public TrafficReportSummary voteOnReport(Long reportId, VoteType voteType, Long userId) {
+        return voteWriteBehindQueue.submit(reportId, voteType, userId);
+    }
 
-            // Update the vote
-            vote.setType(voteType);
-            voteRepository.save(vote);
+    // Includes votes still waiting in the write-behind queue
+    public Map<Long, VoteType> getUserVotes(Long userId, List<Long> reportIds) {
+        return userVoteStore.forUser(userId).getAll(reportIds);
+    }
 
-            // Update report counts
-            updateVoteCounts(report, oldVoteType, voteType);
-        } else {
-            // Create new vote
-            Vote vote = new Vote();
-            vote.setTrafficReport(report);
-            vote.setUser(user);
-            vote.setType(voteType);
-            voteRepository.save(vote);
-
-            // Update report counts
-            if (voteType == VoteType.UPVOTE) {
-                report.setUpvotes(report.getUpvotes() + 1);
-            } else {
-                report.setDownvotes(report.getDownvotes() + 1);
-            }
-        }
+    public TrafficReportSummary updateReportImage(Long id, String imageUrl) {
+        TrafficReport report = trafficReportRepository.findByIdForUpdate(id)
+                .orElseThrow(() -> new RuntimeException("Traffic report not found with id: " + id));
 
-        TrafficReport savedReport = trafficReportRepository.save(report);
-        messagingTemplate.convertAndSend("/topic/reports", savedReport);  // Broadcast the updated report with new votes
-        return savedReport;
+        report.setImageUrl(imageUrl);
+        report.setChangeVersion(reportVersionSequence.next());
+        TrafficReportSummary summary = TrafficReportSummary.from(trafficReportRepository.saveAndFlush(report));
+        notifySaved(summary);
+        eventPublisher.publishEvent(new ReportChangedEvent(summary));  // Broadcast the report with its new image once committed
+        return summary;
     }
 
-    private void updateVoteCounts(TrafficReport report, VoteType oldVoteType, VoteType newVoteType) {
-        // Remove old vote count
-        if (oldVoteType == VoteType.UPVOTE) {
-            report.setUpvotes(Math.max(0, report.getUpvotes() - 1));
-        } else {
-            report.setDownvotes(Math.max(0, report.getDownvotes() - 1));
-        }
+    private void notifySaved(TrafficReportSummary report) {
+        reportChangeListeners.forEach(listener -> listener.onReportSaved(report));
+    }
 
-        // Add new vote count
-        if (newVoteType == VoteType.UPVOTE) {
-            report.setUpvotes(report.getUpvotes() + 1);
-        } else {
-            report.setDownvotes(report.getDownvotes() + 1);
-        }
+    private void notifyRemoved(TrafficReportSummary report) {
+        reportChangeListeners.forEach(listener -> listener.onReportRemoved(report));
     }
 
     public Long getActiveReportsCountByUser(User user) {
@@ -0,0 +1,172 @@
+package com.raastabuzz.service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.raastabuzz.dto.response.TrafficReportSummary;
+import com.raastabuzz.dto.response.TrendingReportResponse;
+import com.raastabuzz.model.Severity;
+import com.raastabuzz.repository.TrafficReportRepository;
+
+/**
+ * Active reports ranked by a time-decayed score, kept in a skip list so the top
+ * of the ranking is read in O(limit). The score is a base built from severity,
+ * net votes, extra reporters and verification, halved every {@code halfLife}
+ * since the report was created. Because every report decays at the same rate,
+ * the order only changes when a report does; each is ranked by
+ * {@code ln(base) + createdAt * ln 2 / halfLife}, fixed until its next change,
+ * and the current score is derived from that rank when it is read.
+ */
+@Component
+public class TrendingReportIndex implements ReportChangeListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(TrendingReportIndex.class);
+
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    // Keeps heavily downvoted reports rankable by recency instead of taking the log of a negative base
+    private static final double MIN_BASE = 0.1;
+
+    @Autowired
+    private TrafficReportRepository trafficReportRepository;
+
+    @Value("${app.reports.trending.half-life-minutes:180}")
+    private double halfLifeMinutes;
+
+    @Value("${app.reports.trending.vote-weight:0.5}")
+    private double voteWeight;
+
+    @Value("${app.reports.trending.reporter-weight:1.0}")
+    private double reporterWeight;
+
+    @Value("${app.reports.trending.verified-bonus:2.0}")
+    private double verifiedBonus;
+
+    private final Map<Long, Ranked> byId = new ConcurrentHashMap<>();
+
+    private final ConcurrentSkipListSet<Ranked> ranking = new ConcurrentSkipListSet<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        byId.clear();
+        ranking.clear();
+        trafficReportRepository.findActiveSummaries().forEach(this::onReportSaved);
+        logger.info("Trending index rebuilt with {} active reports", byId.size());
+    }
+
+    @Override
+    public void onReportSaved(TrafficReportSummary report) {
+        if (report.getId() == null) {
+            return;
+        }
+        if (!Boolean.TRUE.equals(report.getActive())) {
+            onReportRemoved(report);
+            return;
+        }
+        Ranked next = new Ranked(rank(report), report);
+        byId.compute(report.getId(), (id, previous) -> {
+            if (previous != null) {
+                // Changes can reach listeners out of order; keep the newer one
+                if (isOlder(report, previous.report)) {
+                    return previous;
+                }
+                ranking.remove(previous);
+            }
+            ranking.add(next);
+            return next;
+        });
+    }
+
+    @Override
+    public void onReportRemoved(TrafficReportSummary report) {
+        byId.computeIfPresent(report.getId(), (id, previous) -> {
+            if (isOlder(report, previous.report)) {
+                return previous;
+            }
+            ranking.remove(previous);
+            return null;
+        });
+    }
+
+    // The top {@code limit} reports, highest score first
+    public List<TrendingReportResponse> getTrending(int limit) {
+        double now = decayExponent(LocalDateTime.now());
+        List<TrendingReportResponse> result = new ArrayList<>(Math.min(limit, byId.size()));
+        Iterator<Ranked> iterator = ranking.iterator();
+        while (result.size() < limit && iterator.hasNext()) {
+            Ranked ranked = iterator.next();
+            result.add(new TrendingReportResponse(ranked.report, Math.exp(ranked.rank - now)));
+        }
+        return result;
+    }
+
+    private double rank(TrafficReportSummary report) {
+        int netVotes = value(report.getUpvotes()) - value(report.getDownvotes());
+        int extraReporters = Math.max(0, value(report.getReporterCount()) - 1);
+        double base = severityWeight(report.getSeverity())
+                + voteWeight * netVotes
+                + reporterWeight * extraReporters
+                + (Boolean.TRUE.equals(report.getVerified()) ? verifiedBonus : 0);
+        return Math.log(Math.max(MIN_BASE, base)) + decayExponent(report.getCreatedAt());
+    }
+
+    // Natural-log growth of the anchor since the epoch: ln 2 per half-life
+    private double decayExponent(LocalDateTime time) {
+        double minutes = time.atZone(ZONE).toEpochSecond() / 60.0;
+        return minutes / halfLifeMinutes * Math.log(2);
+    }
+
+    private static boolean isOlder(TrafficReportSummary report, TrafficReportSummary previous) {
+        return report.getChangeVersion() != null && previous.getChangeVersion() != null
+                && report.getChangeVersion() < previous.getChangeVersion();
+    }
+
+    private static double severityWeight(Severity severity) {
+        if (severity == null) {
+            return 1;
+        }
+        switch (severity) {
+            case HIGH:
+                return 3;
+            case MEDIUM:
+                return 2;
+            default:
+                return 1;
+        }
+    }
+
+    private static int value(Integer count) {
+        return count != null ? count : 0;
+    }
+
+    // Highest rank first; the id breaks ties so distinct reports never compare equal
+    private static final class Ranked implements Comparable<Ranked> {
+        private final double rank;
+        private final TrafficReportSummary report;
+
+        private Ranked(double rank, TrafficReportSummary report) {
+            this.rank = rank;
+            this.report = report;
+        }
+
+        @Override
+        public int compareTo(Ranked other) {
+            int byRank = Double.compare(other.rank, rank);
+            return byRank != 0 ? byRank : Long.compare(other.report.getId(), report.getId());
+        }
+    }
+}
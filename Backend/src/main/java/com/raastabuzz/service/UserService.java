@@ -51,9 +51,9 @@ public class UserService {
         return userRepository.save(user);
     }
     
-    public User updateUserPoints(User user, int pointsToAdd) {
-        user.setPoints(user.getPoints() + pointsToAdd);
-        return userRepository.save(user);
+    // Incremented in the database so concurrent awards are never lost
+    public void updateUserPoints(User user, int pointsToAdd) {
+        userRepository.addPoints(user.getId(), pointsToAdd);
     }
     
     public List<User> getTopContributors() {
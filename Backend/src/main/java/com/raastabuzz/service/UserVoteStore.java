@@ -0,0 +1,226 @@
+package com.raastabuzz.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.raastabuzz.model.VoteType;
+import com.raastabuzz.repository.VoteRepository;
+import com.raastabuzz.util.LongByteMap;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Each user's current vote per report, loaded from the database when the user
+ * signs in or first votes. The write-behind vote queue reads and updates it
+ * instead of looking up the existing {@code Vote} row on every request, and the
+ * report list asks it for the caller's votes in one call.
+ * <p>
+ * Users idle for longer than {@code idle-ttl-ms} are dropped, and past
+ * {@code max-size} the least recently used go first; both are reloaded on
+ * their next request. A user with votes still in the queue is never dropped,
+ * since a reload could not see them yet.
+ */
+@Component
+public class UserVoteStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserVoteStore.class);
+
+    private static final VoteType[] VOTE_TYPES = VoteType.values();
+
+    @Autowired
+    private VoteRepository voteRepository;
+
+    @Value("${app.votes.users.max-size:50000}")
+    private int maxSize;
+
+    @Value("${app.votes.users.idle-ttl-ms:1800000}")
+    private long idleTtlMs;
+
+    private final Map<Long, UserVotes> votesByUser = new ConcurrentHashMap<>();
+
+    // Bumped before each instance leaves the map, so a load that overlapped an eviction can tell
+    private final AtomicLong evictions = new AtomicLong();
+
+    public UserVoteStore(MeterRegistry meterRegistry) {
+        Gauge.builder("votes.users.cached", votesByUser, Map::size)
+                .description("Users whose votes are held in memory")
+                .register(meterRegistry);
+    }
+
+    public UserVotes forUser(Long userId) {
+        UserVotes votes = votesByUser.get(userId);
+        while (votes == null) {
+            // Loaded outside the map so the query never holds a map bin's lock
+            long evictionsBefore = evictions.get();
+            UserVotes loaded = load(userId);
+            UserVotes existing = votesByUser.putIfAbsent(userId, loaded);
+            if (existing != null) {
+                votes = existing;
+            } else if (evictions.get() == evictionsBefore || !evict(userId, loaded)) {
+                votes = loaded;
+            }
+            // Otherwise an instance holding votes newer than this load may have been dropped meanwhile; reload
+        }
+        votes.lastUsedMillis = System.currentTimeMillis();
+        return votes;
+    }
+
+    /**
+     * Runs {@code action} holding the user's votes, retrying with a fresh load
+     * if the instance it got was dropped before it could lock it.
+     */
+    public <T> T withUser(Long userId, Function<UserVotes, T> action) {
+        while (true) {
+            UserVotes votes = forUser(userId);
+            synchronized (votes) {
+                if (!votes.evicted) {
+                    return action.apply(votes);
+                }
+            }
+        }
+    }
+
+    public void warm(Long userId) {
+        forUser(userId);
+    }
+
+    // The flusher has written (or given up on) count of the user's queued votes
+    public void settle(Long userId, int count) {
+        UserVotes votes = votesByUser.get(userId);
+        if (votes == null) {
+            return;
+        }
+        synchronized (votes) {
+            votes.inFlight -= count;
+            if (votes.inFlight <= 0 && votes.stale) {
+                evict(userId, votes);
+            }
+        }
+    }
+
+    // The user's in-memory votes include ones that failed to persist; reload them once nothing is in flight
+    public void markStale(Long userId) {
+        UserVotes votes = votesByUser.get(userId);
+        if (votes != null) {
+            synchronized (votes) {
+                votes.stale = true;
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.votes.users.sweep-interval-ms:60000}")
+    public void evictIdle() {
+        long idleBefore = System.currentTimeMillis() - idleTtlMs;
+        int evicted = 0;
+        List<Map.Entry<Long, Long>> lastUsed = new ArrayList<>();
+        for (Map.Entry<Long, UserVotes> entry : votesByUser.entrySet()) {
+            long used = entry.getValue().lastUsedMillis;
+            if (used < idleBefore && evict(entry.getKey(), entry.getValue())) {
+                evicted++;
+            } else {
+                lastUsed.add(Map.entry(entry.getKey(), used));
+            }
+        }
+        int excess = votesByUser.size() - maxSize;
+        if (excess > 0) {
+            lastUsed.sort(Map.Entry.comparingByValue());
+            for (int i = 0; i < lastUsed.size() && excess > 0; i++) {
+                Long userId = lastUsed.get(i).getKey();
+                UserVotes votes = votesByUser.get(userId);
+                if (votes != null && evict(userId, votes)) {
+                    evicted++;
+                    excess--;
+                }
+            }
+        }
+        if (evicted > 0) {
+            logger.debug("Evicted votes of {} users, {} still cached", evicted, votesByUser.size());
+        }
+    }
+
+    private boolean evict(Long userId, UserVotes votes) {
+        synchronized (votes) {
+            if (votes.inFlight > 0) {
+                return false;
+            }
+            votes.evicted = true;
+        }
+        evictions.incrementAndGet();
+        votesByUser.remove(userId, votes);
+        return true;
+    }
+
+    private UserVotes load(Long userId) {
+        List<Object[]> rows = voteRepository.findVoteStatesByUserId(userId);
+        UserVotes votes = new UserVotes(rows.size());
+        for (Object[] row : rows) {
+            votes.put((Long) row[0], (VoteType) row[1]);
+        }
+        return votes;
+    }
+
+    /**
+     * One user's votes keyed by report id, with the vote type stored as its
+     * ordinal plus one. Callers that need several steps to be atomic hold the
+     * instance's monitor.
+     */
+    public static final class UserVotes {
+
+        private final LongByteMap votes;
+
+        private volatile long lastUsedMillis;
+
+        // Guarded by the instance's monitor
+        private int inFlight;
+        private boolean stale;
+        private boolean evicted;
+
+        private UserVotes(int expectedSize) {
+            this.votes = new LongByteMap(expectedSize);
+        }
+
+        public synchronized VoteType get(Long reportId) {
+            return decode(votes.get(reportId));
+        }
+
+        public synchronized VoteType put(Long reportId, VoteType voteType) {
+            return decode(votes.put(reportId, (byte) (voteType.ordinal() + 1)));
+        }
+
+        public synchronized VoteType remove(Long reportId) {
+            return decode(votes.remove(reportId));
+        }
+
+        // A vote was queued for the flusher, or (-1) taken back after the queue refused it
+        public synchronized void queued(int count) {
+            inFlight += count;
+        }
+
+        // The vote for each requested report in request order, null where the user has not voted
+        public synchronized Map<Long, VoteType> getAll(Collection<Long> reportIds) {
+            Map<Long, VoteType> result = new LinkedHashMap<>();
+            for (Long reportId : reportIds) {
+                result.put(reportId, decode(votes.get(reportId)));
+            }
+            return result;
+        }
+
+        private static VoteType decode(byte value) {
+            return value == 0 ? null : VOTE_TYPES[value - 1];
+        }
+    }
+}
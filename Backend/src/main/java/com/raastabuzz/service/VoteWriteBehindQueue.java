@@ -0,0 +1,445 @@
+package com.raastabuzz.service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.raastabuzz.dto.response.TrafficReportSummary;
+import com.raastabuzz.model.VoteType;
+import com.raastabuzz.repository.TrafficReportRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Accepts votes into a bounded in-memory queue and persists them from a single
+ * background flusher. Each flush coalesces the drained votes by (user, report)
+ * and writes vote rows, report counter deltas and voting points as JDBC batches
+ * in one transaction, so a burst of votes on a hot report costs a handful of
+ * statements instead of several per request. A batch that keeps failing is
+ * retried with backoff and then written vote by vote, so only the votes at
+ * fault are dropped.
+ */
+@Component
+public class VoteWriteBehindQueue {
+
+    private static final Logger logger = LoggerFactory.getLogger(VoteWriteBehindQueue.class);
+
+    private static final int POINTS_PER_VOTE = 1;
+
+    private static final String INSERT_VOTE =
+            "INSERT INTO votes (type, created_at, user_id, traffic_report_id) VALUES (?, ?, ?, ?)";
+    private static final String UPDATE_VOTE =
+            "UPDATE votes SET type = ? WHERE user_id = ? AND traffic_report_id = ?";
+    private static final String UPDATE_REPORT_COUNTS =
+            "UPDATE traffic_reports SET upvotes = upvotes + ?, downvotes = downvotes + ?, " +
+            "change_version = ?, updated_at = ? WHERE id = ?";
+    private static final String UPDATE_USER_POINTS =
+            "UPDATE users SET points = points + ? WHERE id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private TrafficReportRepository trafficReportRepository;
+
+    @Autowired
+    private ActiveReportCache activeReportCache;
+
+    @Autowired
+    private UserVoteStore userVoteStore;
+
+    @Autowired
+    private ReportVersionSequence reportVersionSequence;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private List<ReportChangeListener> reportChangeListeners;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.votes.queue.capacity:10000}")
+    private int capacity;
+
+    @Value("${app.votes.queue.offer-timeout-ms:200}")
+    private long offerTimeoutMs;
+
+    @Value("${app.votes.flush.interval-ms:100}")
+    private long flushIntervalMs;
+
+    @Value("${app.votes.flush.max-batch:1000}")
+    private int maxBatch;
+
+    @Value("${app.votes.flush.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${app.votes.flush.retry-backoff-ms:200}")
+    private long retryBackoffMs;
+
+    private BlockingQueue<PendingVote> queue;
+
+    // Upvote and downvote deltas accepted but not yet persisted, per report
+    private final Map<Long, int[]> unflushed = new ConcurrentHashMap<>();
+
+    private volatile boolean running;
+
+    private Thread flusher;
+
+    private Counter persisted;
+    private Counter dropped;
+
+    @PostConstruct
+    public void start() {
+        queue = new ArrayBlockingQueue<>(capacity);
+        Gauge.builder("votes.queue.size", queue, BlockingQueue::size)
+                .description("Votes accepted but not yet persisted")
+                .register(meterRegistry);
+        persisted = Counter.builder("votes.persisted").register(meterRegistry);
+        dropped = Counter.builder("votes.dropped").register(meterRegistry);
+
+        running = true;
+        flusher = new Thread(this::runFlusher, "vote-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        flusher.join();
+        // Anything a request slipped in after the flusher stopped
+        List<PendingVote> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            flush(remaining);
+        }
+        logger.info("Vote queue drained");
+    }
+
+    /**
+     * Records the vote and returns the report with its projected counts. Throws
+     * {@link IllegalStateException} when the queue stays full for longer than the
+     * offer timeout so callers can ask the client to retry.
+     */
+    public TrafficReportSummary submit(Long reportId, VoteType voteType, Long userId) {
+        if (!running) {
+            throw new IllegalStateException("Voting is temporarily unavailable, please retry");
+        }
+        TrafficReportSummary report = activeReportCache.get(reportId)
+                .or(() -> trafficReportRepository.findSummaryById(reportId))
+                .orElseThrow(() -> new RuntimeException("Traffic report not found with id: " + reportId));
+        if (!Boolean.TRUE.equals(report.getActive())) {
+            throw new RuntimeException("Traffic report is no longer active");
+        }
+
+        // Holding the user's votes keeps their vote state and queue order in step
+        userVoteStore.withUser(userId, userVotes -> {
+            VoteType previous = userVotes.get(reportId);
+            if (previous != voteType) {
+                PendingVote vote = new PendingVote(userId, reportId, previous, voteType);
+                userVotes.put(reportId, voteType);
+                userVotes.queued(1);
+                adjustUnflushed(reportId, vote.upvoteDelta(), vote.downvoteDelta());
+                if (!offer(vote)) {
+                    adjustUnflushed(reportId, -vote.upvoteDelta(), -vote.downvoteDelta());
+                    userVotes.queued(-1);
+                    if (previous == null) {
+                        userVotes.remove(reportId);
+                    } else {
+                        userVotes.put(reportId, previous);
+                    }
+                    throw new IllegalStateException("Too many votes in flight, please retry");
+                }
+            }
+            return null;
+        });
+        return project(report);
+    }
+
+    private TrafficReportSummary project(TrafficReportSummary report) {
+        int[] pending = unflushed.get(report.getId());
+        if (pending == null) {
+            return report;
+        }
+        return report.withVotes(report.getUpvotes() + pending[0], report.getDownvotes() + pending[1]);
+    }
+
+    private boolean offer(PendingVote vote) {
+        try {
+            return queue.offer(vote, offerTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void runFlusher() {
+        List<PendingVote> batch = new ArrayList<>();
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingVote first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                // Linger briefly so a burst on the same reports coalesces into one flush
+                if (running && queue.size() < maxBatch) {
+                    Thread.sleep(flushIntervalMs);
+                }
+                batch.add(first);
+                queue.drainTo(batch, maxBatch - 1);
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                logger.error("Vote flush failed", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<PendingVote> batch) {
+        // Only the last vote per (user, report) is written; what it changes follows from the stored row
+        Map<VoteKey, VoteType> latest = new LinkedHashMap<>();
+        for (PendingVote vote : batch) {
+            latest.put(new VoteKey(vote.userId, vote.reportId), vote.next);
+        }
+
+        Set<Long> changedReports = new TreeSet<>();
+        Set<VoteKey> failed = new HashSet<>();
+        try {
+            changedReports.addAll(writeWithRetry(latest));
+        } catch (RuntimeException e) {
+            // Keep one bad row from taking everyone else's votes with it
+            logger.warn("Vote batch failed {} times; writing its {} votes one by one", maxAttempts, latest.size(), e);
+            latest.forEach((key, type) -> {
+                try {
+                    changedReports.addAll(transactionTemplate.execute(status -> write(Map.of(key, type))));
+                } catch (RuntimeException voteError) {
+                    logger.error("Dropping vote by user {} on report {}", key.userId, key.reportId, voteError);
+                    failed.add(key);
+                }
+            });
+        }
+
+        int droppedVotes = 0;
+        for (PendingVote vote : batch) {
+            if (failed.contains(new VoteKey(vote.userId, vote.reportId))) {
+                droppedVotes++;
+            }
+        }
+        persisted.increment(batch.size() - droppedVotes);
+        dropped.increment(droppedVotes);
+        // Their in-memory votes include the dropped ones; reload them from the database
+        failed.forEach(key -> userVoteStore.markStale(key.userId));
+        logger.debug("Flushed {} votes changing {} reports", batch.size() - droppedVotes, changedReports.size());
+
+        try {
+            publish(changedReports);
+        } finally {
+            Map<Long, Integer> settled = new HashMap<>();
+            for (PendingVote vote : batch) {
+                adjustUnflushed(vote.reportId, -vote.upvoteDelta(), -vote.downvoteDelta());
+                settled.merge(vote.userId, 1, Integer::sum);
+            }
+            settled.forEach(userVoteStore::settle);
+        }
+    }
+
+    // Transient failures (lock timeouts, a dropped connection) get a few tries with doubling backoff
+    private Set<Long> writeWithRetry(Map<VoteKey, VoteType> votes) {
+        long backoffMs = retryBackoffMs;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> write(votes));
+            } catch (RuntimeException e) {
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+                logger.warn("Vote flush attempt {} failed, retrying in {} ms", attempt, backoffMs, e);
+                try {
+                    Thread.sleep(backoffMs);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+                backoffMs *= 2;
+            }
+        }
+    }
+
+    /**
+     * Writes the votes against the rows the database holds rather than what
+     * was in memory when they were cast: a vote already stored as cast changes
+     * nothing, and one on a report deleted, expired or archived since is
+     * skipped. Returns the ids
+     * of reports whose counts changed.
+     */
+    private Set<Long> write(Map<VoteKey, VoteType> votes) {
+        Set<Long> userIds = new TreeSet<>();
+        Set<Long> reportIds = new TreeSet<>();
+        votes.keySet().forEach(key -> {
+            userIds.add(key.userId);
+            reportIds.add(key.reportId);
+        });
+        // Locked so a delete or expiry can't slip in between this check and the counter update
+        Set<Long> reports = new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT id FROM traffic_reports WHERE active = true AND id IN ("
+                        + placeholders(reportIds.size()) + ") FOR UPDATE",
+                Long.class, reportIds.toArray()));
+        Map<VoteKey, VoteType> stored = new HashMap<>();
+        List<Object> args = new ArrayList<>(userIds);
+        args.addAll(reportIds);
+        jdbcTemplate.query("SELECT user_id, traffic_report_id, type FROM votes WHERE user_id IN ("
+                        + placeholders(userIds.size()) + ") AND traffic_report_id IN ("
+                        + placeholders(reportIds.size()) + ")",
+                rs -> {
+                    stored.put(new VoteKey(rs.getLong(1), rs.getLong(2)), VoteType.valueOf(rs.getString(3)));
+                }, args.toArray());
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> updates = new ArrayList<>();
+        Map<Long, int[]> reportDeltas = new TreeMap<>();
+        Map<Long, Integer> points = new TreeMap<>();
+        votes.forEach((key, next) -> {
+            VoteType previous = stored.get(key);
+            if (!reports.contains(key.reportId) || previous == next) {
+                return;
+            }
+            if (previous == null) {
+                inserts.add(new Object[] {next.name(), now, key.userId, key.reportId});
+            } else {
+                updates.add(new Object[] {next.name(), key.userId, key.reportId});
+            }
+            int[] delta = reportDeltas.computeIfAbsent(key.reportId, id -> new int[2]);
+            delta[0] += count(next, VoteType.UPVOTE) - count(previous, VoteType.UPVOTE);
+            delta[1] += count(next, VoteType.DOWNVOTE) - count(previous, VoteType.DOWNVOTE);
+            points.merge(key.userId, POINTS_PER_VOTE, Integer::sum);
+        });
+        List<Object[]> counters = new ArrayList<>();
+        reportDeltas.forEach((reportId, delta) -> {
+            if (delta[0] != 0 || delta[1] != 0) {
+                counters.add(new Object[] {delta[0], delta[1], reportVersionSequence.next(), now, reportId});
+            }
+        });
+        List<Object[]> awards = new ArrayList<>();
+        points.forEach((userId, total) -> awards.add(new Object[] {total, userId}));
+
+        batchUpdate(INSERT_VOTE, inserts);
+        batchUpdate(UPDATE_VOTE, updates);
+        batchUpdate(UPDATE_REPORT_COUNTS, counters);
+        batchUpdate(UPDATE_USER_POINTS, awards);
+
+        Set<Long> changed = new TreeSet<>();
+        counters.forEach(row -> changed.add((Long) row[4]));
+        return changed;
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    private void batchUpdate(String sql, List<Object[]> rows) {
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, rows);
+        }
+    }
+
+    private void publish(Set<Long> reportIds) {
+        if (reportIds.isEmpty()) {
+            return;
+        }
+        for (TrafficReportSummary summary : trafficReportRepository.findSummariesByIds(reportIds)) {
+            reportChangeListeners.forEach(listener -> listener.onReportSaved(summary));
+            eventPublisher.publishEvent(new ReportChangedEvent(summary));  // Broadcast the persisted vote counts
+        }
+    }
+
+    private void adjustUnflushed(Long reportId, int upvotes, int downvotes) {
+        unflushed.compute(reportId, (id, pending) -> {
+            int[] counts = pending != null ? pending : new int[2];
+            counts[0] += upvotes;
+            counts[1] += downvotes;
+            return counts[0] == 0 && counts[1] == 0 ? null : counts;
+        });
+    }
+
+    private static final class PendingVote {
+        private final Long userId;
+        private final Long reportId;
+        private final VoteType previous;
+        private final VoteType next;
+
+        private PendingVote(Long userId, Long reportId, VoteType previous, VoteType next) {
+            this.userId = userId;
+            this.reportId = reportId;
+            this.previous = previous;
+            this.next = next;
+        }
+
+        private int upvoteDelta() {
+            return count(next, VoteType.UPVOTE) - count(previous, VoteType.UPVOTE);
+        }
+
+        private int downvoteDelta() {
+            return count(next, VoteType.DOWNVOTE) - count(previous, VoteType.DOWNVOTE);
+        }
+    }
+
+    private static int count(VoteType type, VoteType wanted) {
+        return type == wanted ? 1 : 0;
+    }
+
+    private static final class VoteKey {
+        private final long userId;
+        private final long reportId;
+
+        private VoteKey(long userId, long reportId) {
+            this.userId = userId;
+            this.reportId = reportId;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof VoteKey key && key.userId == userId && key.reportId == reportId;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(userId) * 31 + Long.hashCode(reportId);
+        }
+    }
+}
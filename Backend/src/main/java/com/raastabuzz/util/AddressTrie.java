@@ -0,0 +1,155 @@
+package com.raastabuzz.util;
+
+import java.util.Arrays;
+
+/**
+ * Character trie over entry keys in which every node also keeps the
+ * {@code candidatesPerNode} heaviest entries below it, heaviest first, so a
+ * prefix lookup is a walk down the prefix plus a copy of that short list.
+ * Entries are dense {@code int} ids with an {@code int} weight; an entry can be
+ * reachable under several keys. Weights only grow, which keeps every node's
+ * list exact as entries are added and incremented. Children are held in sorted
+ * parallel arrays rather than maps. Not thread-safe.
+ */
+public class AddressTrie {
+
+    private final int candidatesPerNode;
+
+    private final Node root = new Node();
+
+    private int[] weights = new int[16];
+    private String[][] entryKeys = new String[16][];
+    private int size;
+
+    public AddressTrie(int candidatesPerNode) {
+        this.candidatesPerNode = candidatesPerNode;
+    }
+
+    // Creates an entry with the given weight and no keys yet
+    public int add(int weight) {
+        if (size == weights.length) {
+            weights = Arrays.copyOf(weights, size << 1);
+            entryKeys = Arrays.copyOf(entryKeys, size << 1);
+        }
+        weights[size] = weight;
+        entryKeys[size] = new String[0];
+        return size++;
+    }
+
+    // Makes the entry reachable under every prefix of {@code key}
+    public void addKey(int entry, String key) {
+        String[] keys = entryKeys[entry];
+        for (String existing : keys) {
+            if (existing.equals(key)) {
+                return;
+            }
+        }
+        keys = Arrays.copyOf(keys, keys.length + 1);
+        keys[keys.length - 1] = key;
+        entryKeys[entry] = keys;
+
+        Node node = root;
+        for (int i = 0; i < key.length(); i++) {
+            node = node.childOrCreate(key.charAt(i));
+            offer(node, entry);
+        }
+    }
+
+    public void increment(int entry, int delta) {
+        if (delta <= 0) {
+            throw new IllegalArgumentException("Weights may only grow");
+        }
+        weights[entry] += delta;
+        for (String key : entryKeys[entry]) {
+            Node node = root;
+            for (int i = 0; i < key.length(); i++) {
+                node = node.child(key.charAt(i));
+                offer(node, entry);
+            }
+        }
+    }
+
+    public int weight(int entry) {
+        return weights[entry];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // The heaviest entries reachable under {@code prefix}, heaviest first
+    public int[] candidates(String prefix) {
+        Node node = root;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.child(prefix.charAt(i));
+        }
+        if (node == null || prefix.isEmpty()) {
+            return new int[0];
+        }
+        return Arrays.copyOf(node.top, node.topSize);
+    }
+
+    // Inserts the entry into, or moves it up within, the node's heaviest list
+    private void offer(Node node, int entry) {
+        int position = -1;
+        for (int i = 0; i < node.topSize; i++) {
+            if (node.top[i] == entry) {
+                position = i;
+                break;
+            }
+        }
+        if (position < 0) {
+            if (node.topSize < candidatesPerNode) {
+                if (node.topSize == node.top.length) {
+                    node.top = Arrays.copyOf(node.top, Math.min(candidatesPerNode, Math.max(2, node.topSize << 1)));
+                }
+                position = node.topSize++;
+            } else if (weights[entry] > weights[node.top[node.topSize - 1]]) {
+                position = node.topSize - 1;
+            } else {
+                return;
+            }
+            node.top[position] = entry;
+        }
+        while (position > 0 && weights[node.top[position - 1]] < weights[entry]) {
+            node.top[position] = node.top[position - 1];
+            node.top[--position] = entry;
+        }
+    }
+
+    private static final class Node {
+        private static final char[] NO_LABELS = new char[0];
+        private static final Node[] NO_CHILDREN = new Node[0];
+        private static final int[] NO_ENTRIES = new int[0];
+
+        private char[] labels = NO_LABELS;
+        private Node[] children = NO_CHILDREN;
+        private int[] top = NO_ENTRIES;
+        private int topSize;
+
+        private Node child(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            return index >= 0 ? children[index] : null;
+        }
+
+        private Node childOrCreate(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            if (index >= 0) {
+                return children[index];
+            }
+            int insertAt = -index - 1;
+            char[] grownLabels = new char[labels.length + 1];
+            Node[] grownChildren = new Node[children.length + 1];
+            System.arraycopy(labels, 0, grownLabels, 0, insertAt);
+            System.arraycopy(children, 0, grownChildren, 0, insertAt);
+            System.arraycopy(labels, insertAt, grownLabels, insertAt + 1, labels.length - insertAt);
+            System.arraycopy(children, insertAt, grownChildren, insertAt + 1, children.length - insertAt);
+            Node child = new Node();
+            grownLabels[insertAt] = label;
+            grownChildren[insertAt] = child;
+            labels = grownLabels;
+            children = grownChildren;
+            return child;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.raastabuzz.util;
+
+public class BoundingBox {
+
+    private final double minLat;
+    private final double maxLat;
+    private final double minLng;
+    private final double maxLng;
+
+    public BoundingBox(double minLat, double maxLat, double minLng, double maxLng) {
+        if (minLat > maxLat || minLng > maxLng) {
+            throw new IllegalArgumentException("Bounding box minimums must not exceed maximums");
+        }
+        this.minLat = minLat;
+        this.maxLat = maxLat;
+        this.minLng = minLng;
+        this.maxLng = maxLng;
+    }
+
+    /**
+     * Parses a {@code bbox} request parameter in the usual
+     * {@code minLng,minLat,maxLng,maxLat} order.
+     */
+    public static BoundingBox parse(String bbox) {
+        String[] parts = bbox == null ? new String[0] : bbox.split(",");
+        if (parts.length != 4) {
+            throw new IllegalArgumentException("bbox must be minLng,minLat,maxLng,maxLat");
+        }
+        try {
+            return new BoundingBox(
+                    Double.parseDouble(parts[1].trim()),
+                    Double.parseDouble(parts[3].trim()),
+                    Double.parseDouble(parts[0].trim()),
+                    Double.parseDouble(parts[2].trim()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("bbox must contain four numbers");
+        }
+    }
+
+    public boolean contains(double latitude, double longitude) {
+        return latitude >= minLat && latitude <= maxLat && longitude >= minLng && longitude <= maxLng;
+    }
+
+    public double getMinLat() {
+        return minLat;
+    }
+
+    public double getMaxLat() {
+        return maxLat;
+    }
+
+    public double getMinLng() {
+        return minLng;
+    }
+
+    public double getMaxLng() {
+        return maxLng;
+    }
+}
@@ -0,0 +1,125 @@
+package com.raastabuzz.util;
+
+/**
+ * Open-addressing table from {@code long} grid-cell keys to a fixed-width row of
+ * {@code int} counters, one per column. Keys live in one {@code long[]} and all
+ * counters in one flat {@code int[]} ({@code slot * columns + column}), so a
+ * cell costs its key plus its counters rather than a boxed map entry and an
+ * array object. Entries are never removed; a counter may drop back to zero.
+ * Not thread-safe.
+ */
+public class CellCountTable {
+
+    private static final int MIN_CAPACITY = 16;
+
+    private final int columns;
+    private long[] keys;
+    private boolean[] used;
+    private int[] counts;
+    private int size;
+
+    public CellCountTable(int columns) {
+        this.columns = columns;
+        this.keys = new long[MIN_CAPACITY];
+        this.used = new boolean[MIN_CAPACITY];
+        this.counts = new int[MIN_CAPACITY * columns];
+    }
+
+    public void add(long key, int column, int delta) {
+        // Resolved before touching counts, which slotFor replaces when it grows the table
+        int slot = slotFor(key);
+        counts[slot * columns + column] += delta;
+    }
+
+    // Returns the counter, or 0 if the key is absent
+    public int get(long key, int column) {
+        int mask = keys.length - 1;
+        for (int slot = slot(key, mask); used[slot]; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return counts[slot * columns + column];
+            }
+        }
+        return 0;
+    }
+
+    // Sum of the key's counters, or 0 if the key is absent
+    public int total(long key) {
+        int mask = keys.length - 1;
+        for (int slot = slot(key, mask); used[slot]; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                int total = 0;
+                for (int column = 0; column < columns; column++) {
+                    total += counts[slot * columns + column];
+                }
+                return total;
+            }
+        }
+        return 0;
+    }
+
+    public void forEach(Visitor visitor) {
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (used[slot]) {
+                visitor.visit(keys[slot], counts, slot * columns);
+            }
+        }
+    }
+
+    public int columns() {
+        return columns;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Receives each key with the shared counter array and the offset of its row
+    public interface Visitor {
+        void visit(long key, int[] counts, int offset);
+    }
+
+    private int slotFor(long key) {
+        int mask = keys.length - 1;
+        int slot = slot(key, mask);
+        for (; used[slot]; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+        }
+        keys[slot] = key;
+        used[slot] = true;
+        // Keep the load factor at or below one half
+        if (++size * 2 > keys.length) {
+            resize(keys.length << 1);
+            return slotFor(key);
+        }
+        return slot;
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        boolean[] oldUsed = used;
+        int[] oldCounts = counts;
+        keys = new long[capacity];
+        used = new boolean[capacity];
+        counts = new int[capacity * columns];
+        int mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldUsed[i]) {
+                int slot = slot(oldKeys[i], mask);
+                while (used[slot]) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                used[slot] = true;
+                System.arraycopy(oldCounts, i * columns, counts, slot * columns, columns);
+            }
+        }
+    }
+
+    private static int slot(long key, int mask) {
+        // Fibonacci hashing spreads neighbouring cells across the table
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+}
@@ -0,0 +1,103 @@
+package com.raastabuzz.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Reads the bundled place list: UTF-8 CSV lines of
+ * {@code name,latitude,longitude,kind} after an optional header, with
+ * {@code #} comment lines. Names cannot contain commas. Lines with bad
+ * coordinates or an unknown kind are skipped and counted.
+ */
+public final class Gazetteer {
+
+    public enum Kind {
+        // A neighbourhood or district
+        AREA,
+        // A junction, terminal or other named site
+        LANDMARK,
+        // One point on a road; long roads repeat their name at several points
+        ROAD,
+        // Another spelling or script of a place, only offered as a completion
+        ALIAS
+    }
+
+    private Gazetteer() {}
+
+    public static Result read(InputStream in) throws IOException {
+        List<Place> places = new ArrayList<>();
+        int skipped = 0;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("#") || line.startsWith("name,")) {
+                    continue;
+                }
+                String[] fields = line.split(",");
+                try {
+                    places.add(new Place(fields[0].trim(), Double.parseDouble(fields[1].trim()),
+                            Double.parseDouble(fields[2].trim()),
+                            Kind.valueOf(fields[3].trim().toUpperCase(Locale.ROOT))));
+                } catch (RuntimeException e) {
+                    skipped++;
+                }
+            }
+        }
+        return new Result(places, skipped);
+    }
+
+    public static final class Place {
+        private final String name;
+        private final double latitude;
+        private final double longitude;
+        private final Kind kind;
+
+        public Place(String name, double latitude, double longitude, Kind kind) {
+            this.name = name;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.kind = kind;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public double getLatitude() {
+            return latitude;
+        }
+
+        public double getLongitude() {
+            return longitude;
+        }
+
+        public Kind getKind() {
+            return kind;
+        }
+    }
+
+    public static final class Result {
+        private final List<Place> places;
+        private final int skipped;
+
+        private Result(List<Place> places, int skipped) {
+            this.places = places;
+            this.skipped = skipped;
+        }
+
+        public List<Place> getPlaces() {
+            return places;
+        }
+
+        // Lines that could not be parsed
+        public int getSkipped() {
+            return skipped;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.raastabuzz.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Standard base-32 geohashes. A hash of {@code precision} characters names a
+ * cell of {@code 5 * precision} interleaved bits, longitude first; at
+ * precision 5 a cell is about 4.9 km by 4.9 km.
+ */
+public final class Geohash {
+
+    private static final char[] BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz".toCharArray();
+
+    public static final int MAX_PRECISION = 12;
+
+    private Geohash() {}
+
+    public static String encode(double latitude, double longitude, int precision) {
+        checkPrecision(precision);
+        double minLat = -90, maxLat = 90, minLng = -180, maxLng = 180;
+        char[] hash = new char[precision];
+        boolean lngBit = true;
+        for (int i = 0; i < precision; i++) {
+            int value = 0;
+            for (int bit = 0; bit < 5; bit++) {
+                value <<= 1;
+                if (lngBit) {
+                    double mid = (minLng + maxLng) / 2;
+                    if (longitude >= mid) {
+                        value |= 1;
+                        minLng = mid;
+                    } else {
+                        maxLng = mid;
+                    }
+                } else {
+                    double mid = (minLat + maxLat) / 2;
+                    if (latitude >= mid) {
+                        value |= 1;
+                        minLat = mid;
+                    } else {
+                        maxLat = mid;
+                    }
+                }
+                lngBit = !lngBit;
+            }
+            hash[i] = BASE32[value];
+        }
+        return new String(hash);
+    }
+
+    // Height of a cell in degrees of latitude
+    public static double cellHeight(int precision) {
+        checkPrecision(precision);
+        return 180.0 / (1L << (5 * precision / 2));
+    }
+
+    // Width of a cell in degrees of longitude
+    public static double cellWidth(int precision) {
+        checkPrecision(precision);
+        return 360.0 / (1L << ((5 * precision + 1) / 2));
+    }
+
+    // Number of cells intersecting the box
+    public static long countCovering(BoundingBox box, int precision) {
+        return (long) rows(box, precision) * columns(box, precision);
+    }
+
+    /**
+     * Cells intersecting the box, those nearest its centre first, at most
+     * {@code maxCells} of them.
+     */
+    public static List<String> covering(BoundingBox box, int precision, int maxCells) {
+        double height = cellHeight(precision);
+        double width = cellWidth(precision);
+        long firstRow = (long) Math.floor((clampLatitude(box.getMinLat()) + 90) / height);
+        long firstColumn = (long) Math.floor((clampLongitude(box.getMinLng()) + 180) / width);
+        int rows = rows(box, precision);
+        int columns = columns(box, precision);
+        double centreRow = rows / 2.0 - 0.5;
+        double centreColumn = columns / 2.0 - 0.5;
+
+        // The maxCells cells nearest the centre all lie within maxCells rows and columns of it
+        int rowsFrom = (int) Math.max(0, Math.ceil(centreRow - maxCells / 2.0));
+        int rowsTo = (int) Math.min(rows, Math.floor(centreRow + maxCells / 2.0) + 1);
+        int columnsFrom = (int) Math.max(0, Math.ceil(centreColumn - maxCells / 2.0));
+        int columnsTo = (int) Math.min(columns, Math.floor(centreColumn + maxCells / 2.0) + 1);
+        List<long[]> cells = new ArrayList<>();
+        for (int row = rowsFrom; row < rowsTo; row++) {
+            for (int column = columnsFrom; column < columnsTo; column++) {
+                cells.add(new long[] {row, column});
+            }
+        }
+        if (cells.size() > maxCells) {
+            cells.sort(Comparator.comparingDouble(cell ->
+                    Math.pow(cell[0] - centreRow, 2) + Math.pow(cell[1] - centreColumn, 2)));
+            cells = cells.subList(0, Math.max(0, maxCells));
+        }
+
+        List<String> hashes = new ArrayList<>(cells.size());
+        for (long[] cell : cells) {
+            // Encoding the cell's centre avoids landing on a boundary through rounding
+            hashes.add(encode(-90 + (firstRow + cell[0] + 0.5) * height,
+                    -180 + (firstColumn + cell[1] + 0.5) * width, precision));
+        }
+        return hashes;
+    }
+
+    private static int rows(BoundingBox box, int precision) {
+        double height = cellHeight(precision);
+        return (int) (Math.floor((clampLatitude(box.getMaxLat()) + 90) / height)
+                - Math.floor((clampLatitude(box.getMinLat()) + 90) / height)) + 1;
+    }
+
+    private static int columns(BoundingBox box, int precision) {
+        double width = cellWidth(precision);
+        return (int) (Math.floor((clampLongitude(box.getMaxLng()) + 180) / width)
+                - Math.floor((clampLongitude(box.getMinLng()) + 180) / width)) + 1;
+    }
+
+    // Keeps the poles and the antimeridian inside the last cell rather than one past it
+    private static double clampLatitude(double latitude) {
+        return Math.max(-90, Math.min(Math.nextDown(90.0), latitude));
+    }
+
+    private static double clampLongitude(double longitude) {
+        return Math.max(-180, Math.min(Math.nextDown(180.0), longitude));
+    }
+
+    private static void checkPrecision(int precision) {
+        if (precision < 1 || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("Geohash precision must be between 1 and " + MAX_PRECISION);
+        }
+    }
+}
@@ -0,0 +1,430 @@
+package com.raastabuzz.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.function.LongPredicate;
+
+/**
+ * In-memory inverted index with BM25 ranking. Documents are identified by a
+ * caller-chosen {@code long} key and given a dense internal number; each term's
+ * postings are two parallel {@code int[]} arrays of document number and term
+ * frequency, appended in document order. Title terms count
+ * {@value #TITLE_WEIGHT} times. Replacing or removing a document only marks
+ * its old number dead; dead postings are skipped and dropped in bulk once they
+ * outnumber the live documents. Query terms also match longer terms they are a
+ * prefix of, at a reduced weight. Not thread-safe.
+ */
+public class InvertedIndex {
+
+    private static final int TITLE_WEIGHT = 2;
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    // Prefix expansions score less than an exact match and stop after the most common few
+    private static final double PREFIX_WEIGHT = 0.6;
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final int MAX_EXPANSIONS = 32;
+    private static final int MAX_EXPANSIONS_SCANNED = 1024;
+
+    private static final int MIN_COMPACTION = 1024;
+
+    private final NavigableMap<String, Postings> terms = new TreeMap<>();
+
+    private final Map<Long, Integer> docByKey = new HashMap<>();
+
+    // Per document number; a dead document has null terms and a negative length
+    private long[] docKeys = new long[16];
+    // The title and body a live document was indexed from, to spot unchanged text
+    private String[][] docText = new String[16][];
+    private int[] docLengths = new int[16];
+    private Postings[][] docTerms = new Postings[16][];
+    private int docCount;
+
+    private int liveDocs;
+    private long liveLength;
+
+    /**
+     * Indexes the document under {@code key}, replacing any earlier version.
+     * Returns false without touching the index when the text is unchanged.
+     */
+    public boolean put(long key, String title, String... body) {
+        Integer existing = docByKey.get(key);
+        if (existing != null && Objects.equals(docText[existing][0], title)
+                && Arrays.equals(docText[existing], 1, docText[existing].length, body, 0, body.length)) {
+            return false;
+        }
+        remove(key);
+
+        Map<String, int[]> frequencies = new HashMap<>();
+        int length = 0;
+        for (String term : SearchTokenizer.tokenize(title)) {
+            frequencies.computeIfAbsent(term, t -> new int[1])[0] += TITLE_WEIGHT;
+            length += TITLE_WEIGHT;
+        }
+        for (String field : body) {
+            for (String term : SearchTokenizer.tokenize(field)) {
+                frequencies.computeIfAbsent(term, t -> new int[1])[0]++;
+                length++;
+            }
+        }
+
+        int doc = docCount++;
+        ensureDocCapacity(docCount);
+        Postings[] postings = new Postings[frequencies.size()];
+        int i = 0;
+        for (Map.Entry<String, int[]> entry : frequencies.entrySet()) {
+            Postings termPostings = terms.computeIfAbsent(entry.getKey(), t -> new Postings());
+            termPostings.append(doc, entry.getValue()[0]);
+            postings[i++] = termPostings;
+        }
+        docKeys[doc] = key;
+        String[] text = new String[body.length + 1];
+        text[0] = title;
+        System.arraycopy(body, 0, text, 1, body.length);
+        docText[doc] = text;
+        docLengths[doc] = length;
+        docTerms[doc] = postings;
+        docByKey.put(key, doc);
+        liveDocs++;
+        liveLength += length;
+        return true;
+    }
+
+    public void remove(long key) {
+        Integer doc = docByKey.remove(key);
+        if (doc == null) {
+            return;
+        }
+        for (Postings postings : docTerms[doc]) {
+            postings.liveCount--;
+        }
+        docTerms[doc] = null;
+        docText[doc] = null;
+        liveDocs--;
+        liveLength -= docLengths[doc];
+        docLengths[doc] = -1;
+        if (docCount - liveDocs > Math.max(MIN_COMPACTION, liveDocs)) {
+            compact();
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} documents accepted by {@code filter} (all of
+     * them when it is null), best BM25 score first. A document scores the sum,
+     * over query terms, of its best match for that term: exact, or as a prefix
+     * of a longer term.
+     */
+    public List<Hit> search(String query, int limit, LongPredicate filter) {
+        List<String> queryTerms = SearchTokenizer.tokenize(query);
+        if (queryTerms.isEmpty() || liveDocs == 0) {
+            return List.of();
+        }
+        double averageLength = (double) liveLength / liveDocs;
+
+        // Each query term's postings with their weights: the exact term in full, prefix expansions reduced
+        List<List<Postings>> clauses = new ArrayList<>(queryTerms.size());
+        List<double[]> clauseWeights = new ArrayList<>(queryTerms.size());
+        long expected = 0;
+        for (String queryTerm : queryTerms) {
+            List<Postings> clause = new ArrayList<>();
+            Postings exact = terms.get(queryTerm);
+            if (exact != null && exact.liveCount > 0) {
+                clause.add(exact);
+            }
+            if (queryTerm.length() >= MIN_PREFIX_LENGTH) {
+                clause.addAll(expansions(queryTerm));
+            }
+            double[] weights = new double[clause.size()];
+            for (int i = 0; i < weights.length; i++) {
+                weights[i] = i == 0 && clause.get(0) == exact ? 1.0 : PREFIX_WEIGHT;
+                expected += clause.get(i).liveCount;
+            }
+            clauses.add(clause);
+            clauseWeights.add(weights);
+        }
+
+        // Sized up front so accumulating a common term's postings never rehashes
+        ScoreTable totals = new ScoreTable((int) Math.min(expected, liveDocs), docCount);
+        for (int c = 0; c < clauses.size(); c++) {
+            List<Postings> clause = clauses.get(c);
+            double[] weights = clauseWeights.get(c);
+            if (clause.size() == 1) {
+                score(clause.get(0), weights[0], averageLength, filter, totals, false);
+                continue;
+            }
+            long clauseExpected = 0;
+            for (Postings postings : clause) {
+                clauseExpected += postings.liveCount;
+            }
+            ScoreTable clauseScores = new ScoreTable((int) Math.min(clauseExpected, liveDocs), docCount);
+            for (int i = 0; i < clause.size(); i++) {
+                score(clause.get(i), weights[i], averageLength, filter, clauseScores, true);
+            }
+            clauseScores.forEach(totals::add);
+        }
+
+        PriorityQueue<Hit> best = new PriorityQueue<>((x, y) -> Double.compare(x.score, y.score));
+        totals.forEach((doc, score) -> {
+            if (best.size() < limit) {
+                best.add(new Hit(docKeys[doc], score));
+            } else if (score > best.peek().score) {
+                best.poll();
+                best.add(new Hit(docKeys[doc], score));
+            }
+        });
+        List<Hit> result = new ArrayList<>(best);
+        result.sort((x, y) -> Double.compare(y.score, x.score));
+        return result;
+    }
+
+    public int size() {
+        return liveDocs;
+    }
+
+    public int termCount() {
+        return terms.size();
+    }
+
+    private void score(Postings postings, double weight, double averageLength, LongPredicate filter,
+                       ScoreTable scores, boolean keepMax) {
+        if (postings.liveCount <= 0) {
+            return;
+        }
+        double idf = Math.log(1 + (liveDocs - postings.liveCount + 0.5) / (postings.liveCount + 0.5));
+        double scale = weight * idf * (K1 + 1);
+        double fixedNorm = K1 * (1 - B);
+        double lengthNorm = K1 * B / averageLength;
+        int[] docs = postings.docs;
+        int[] freqs = postings.freqs;
+        for (int i = 0; i < postings.size; i++) {
+            int doc = docs[i];
+            int length = docLengths[doc];
+            // Dead documents have a negative length
+            if (length < 0 || (filter != null && !filter.test(docKeys[doc]))) {
+                continue;
+            }
+            int tf = freqs[i];
+            double score = scale * tf / (tf + fixedNorm + lengthNorm * length);
+            if (keepMax) {
+                scores.max(doc, score);
+            } else {
+                scores.add(doc, score);
+            }
+        }
+    }
+
+    // Longer terms starting with the prefix, the most widely used first
+    private List<Postings> expansions(String prefix) {
+        List<Postings> candidates = new ArrayList<>();
+        for (Map.Entry<String, Postings> entry
+                : terms.subMap(prefix, false, prefix + Character.MAX_VALUE, false).entrySet()) {
+            if (entry.getValue().liveCount > 0) {
+                candidates.add(entry.getValue());
+            }
+            if (candidates.size() >= MAX_EXPANSIONS_SCANNED) {
+                break;
+            }
+        }
+        if (candidates.size() > MAX_EXPANSIONS) {
+            candidates.sort((a, b) -> Integer.compare(b.liveCount, a.liveCount));
+            return candidates.subList(0, MAX_EXPANSIONS);
+        }
+        return candidates;
+    }
+
+    // Renumbers the live documents densely and drops dead postings and unused terms
+    private void compact() {
+        int[] renumbered = new int[docCount];
+        int next = 0;
+        for (int doc = 0; doc < docCount; doc++) {
+            if (docTerms[doc] != null) {
+                renumbered[doc] = next;
+                docKeys[next] = docKeys[doc];
+                docText[next] = docText[doc];
+                docLengths[next] = docLengths[doc];
+                docTerms[next] = docTerms[doc];
+                next++;
+            } else {
+                renumbered[doc] = -1;
+            }
+        }
+        Arrays.fill(docTerms, next, docCount, null);
+        Arrays.fill(docText, next, docCount, null);
+        docCount = next;
+        docByKey.clear();
+        for (int doc = 0; doc < docCount; doc++) {
+            docByKey.put(docKeys[doc], doc);
+        }
+        terms.values().removeIf(postings -> {
+            postings.renumber(renumbered);
+            return postings.size == 0;
+        });
+    }
+
+    private void ensureDocCapacity(int capacity) {
+        if (capacity <= docKeys.length) {
+            return;
+        }
+        int grown = Math.max(capacity, docKeys.length << 1);
+        docKeys = Arrays.copyOf(docKeys, grown);
+        docText = Arrays.copyOf(docText, grown);
+        docLengths = Arrays.copyOf(docLengths, grown);
+        docTerms = Arrays.copyOf(docTerms, grown);
+    }
+
+    public static final class Hit {
+        private final long key;
+        private final double score;
+
+        private Hit(long key, double score) {
+            this.key = key;
+            this.score = score;
+        }
+
+        public long getKey() {
+            return key;
+        }
+
+        public double getScore() {
+            return score;
+        }
+    }
+
+    private static final class Postings {
+        private int[] docs = new int[4];
+        private int[] freqs = new int[4];
+        private int size;
+        // Postings whose document is still live, i.e. the document frequency
+        private int liveCount;
+
+        private void append(int doc, int freq) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size << 1);
+                freqs = Arrays.copyOf(freqs, size << 1);
+            }
+            docs[size] = doc;
+            freqs[size] = freq;
+            size++;
+            liveCount++;
+        }
+
+        private void renumber(int[] renumbered) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int doc = renumbered[docs[i]];
+                if (doc >= 0) {
+                    docs[kept] = doc;
+                    freqs[kept] = freqs[i];
+                    kept++;
+                }
+            }
+            size = kept;
+        }
+    }
+
+    /**
+     * Accumulator from document number to score: open addressing for the usual
+     * handful of matches, or arrays indexed by document number once a large
+     * share of the documents is expected to match.
+     */
+    private static final class ScoreTable {
+        // Null when indexed directly by document number
+        private int[] docs;
+        private double[] scores;
+        private boolean[] used;
+        private int size;
+
+        private ScoreTable(int expectedSize, int docCount) {
+            if (expectedSize * 4L >= docCount) {
+                scores = new double[docCount];
+                used = new boolean[docCount];
+                return;
+            }
+            int capacity = 16;
+            // Keep the load factor at or below one half
+            while (capacity < expectedSize * 2) {
+                capacity <<= 1;
+            }
+            docs = new int[capacity];
+            scores = new double[capacity];
+            used = new boolean[capacity];
+        }
+
+        private void add(int doc, double score) {
+            int slot = slotFor(doc);
+            scores[slot] += score;
+        }
+
+        private void max(int doc, double score) {
+            int slot = slotFor(doc);
+            scores[slot] = Math.max(scores[slot], score);
+        }
+
+        private void forEach(DocScoreVisitor visitor) {
+            for (int slot = 0; slot < used.length; slot++) {
+                if (used[slot]) {
+                    visitor.visit(docs != null ? docs[slot] : slot, scores[slot]);
+                }
+            }
+        }
+
+        private int slotFor(int doc) {
+            if (docs == null) {
+                used[doc] = true;
+                return doc;
+            }
+            int mask = docs.length - 1;
+            int slot = slot(doc, mask);
+            for (; used[slot]; slot = (slot + 1) & mask) {
+                if (docs[slot] == doc) {
+                    return slot;
+                }
+            }
+            docs[slot] = doc;
+            used[slot] = true;
+            if (++size * 2 > docs.length) {
+                resize();
+                return slotFor(doc);
+            }
+            return slot;
+        }
+
+        private void resize() {
+            int[] oldDocs = docs;
+            double[] oldScores = scores;
+            boolean[] oldUsed = used;
+            docs = new int[oldDocs.length << 1];
+            scores = new double[oldDocs.length << 1];
+            used = new boolean[oldDocs.length << 1];
+            int mask = docs.length - 1;
+            for (int i = 0; i < oldDocs.length; i++) {
+                if (oldUsed[i]) {
+                    int slot = slot(oldDocs[i], mask);
+                    while (used[slot]) {
+                        slot = (slot + 1) & mask;
+                    }
+                    docs[slot] = oldDocs[i];
+                    scores[slot] = oldScores[i];
+                    used[slot] = true;
+                }
+            }
+        }
+
+        private static int slot(int doc, int mask) {
+            int hash = doc * 0x9E3779B9;
+            return (hash ^ (hash >>> 16)) & mask;
+        }
+    }
+
+    private interface DocScoreVisitor {
+        void visit(int doc, double score);
+    }
+}
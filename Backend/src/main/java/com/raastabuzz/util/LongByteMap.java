@@ -0,0 +1,126 @@
+package com.raastabuzz.util;
+
+/**
+ * Open-addressing hash map from {@code long} keys to non-zero {@code byte}
+ * values, stored in two parallel primitive arrays. A zero value marks an empty
+ * slot, so an entry costs nine bytes plus load-factor slack instead of the
+ * boxed key, boxed value and node of a {@code HashMap}. Not thread-safe.
+ */
+public class LongByteMap {
+
+    private static final int MIN_CAPACITY = 8;
+
+    private long[] keys;
+    private byte[] values;
+    private int size;
+
+    public LongByteMap() {
+        this(MIN_CAPACITY);
+    }
+
+    public LongByteMap(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        // Keep the load factor at or below one half
+        while (capacity < expectedSize * 2) {
+            capacity <<= 1;
+        }
+        keys = new long[capacity];
+        values = new byte[capacity];
+    }
+
+    // Returns the stored value, or 0 if the key is absent
+    public byte get(long key) {
+        int mask = keys.length - 1;
+        for (int slot = slot(key, mask); values[slot] != 0; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+        }
+        return 0;
+    }
+
+    // Stores a non-zero value and returns the previous one, or 0 if the key was absent
+    public byte put(long key, byte value) {
+        if (value == 0) {
+            throw new IllegalArgumentException("Zero is reserved for absent keys");
+        }
+        int mask = keys.length - 1;
+        int slot = slot(key, mask);
+        for (; values[slot] != 0; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                byte previous = values[slot];
+                values[slot] = value;
+                return previous;
+            }
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size * 2 > keys.length) {
+            resize(keys.length << 1);
+        }
+        return 0;
+    }
+
+    // Removes the key and returns its value, or 0 if it was absent
+    public byte remove(long key) {
+        int mask = keys.length - 1;
+        int slot = slot(key, mask);
+        for (; values[slot] != 0; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                byte previous = values[slot];
+                shiftBack(slot, mask);
+                size--;
+                return previous;
+            }
+        }
+        return 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Closes the gap left at {@code gap} so every later entry in the probe run stays reachable
+    private void shiftBack(int gap, int mask) {
+        int slot = gap;
+        while (true) {
+            slot = (slot + 1) & mask;
+            if (values[slot] == 0) {
+                values[gap] = 0;
+                return;
+            }
+            int home = slot(keys[slot], mask);
+            // Move the entry only if its home slot is not in the cyclic range (gap, slot]
+            boolean reachable = gap <= slot ? (gap < home && home <= slot) : (gap < home || home <= slot);
+            if (!reachable) {
+                keys[gap] = keys[slot];
+                values[gap] = values[slot];
+                gap = slot;
+            }
+        }
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        byte[] oldValues = values;
+        keys = new long[capacity];
+        values = new byte[capacity];
+        int mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != 0) {
+                int slot = slot(oldKeys[i], mask);
+                while (values[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private static int slot(long key, int mask) {
+        // Fibonacci hashing spreads sequential ids across the table
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+}
@@ -0,0 +1,141 @@
+package com.raastabuzz.util;
+
+/**
+ * Static 2-d tree over latitude/longitude points for nearest-neighbour
+ * lookups. Points are projected onto a plane scaled to kilometres at the mean
+ * latitude, which is accurate to well under a percent across a city, and the
+ * tree is laid out implicitly in arrays: the node for a range is its middle
+ * element, with the lower half to the left. Built once and never modified, so
+ * concurrent lookups are safe.
+ */
+public class PointKdTree {
+
+    private final double longitudeScale;
+
+    // Projected coordinates and the caller's index of each point, in tree order
+    private final double[] xs;
+    private final double[] ys;
+    private final int[] ids;
+
+    public PointKdTree(double[] latitudes, double[] longitudes) {
+        int n = latitudes.length;
+        double meanLatitude = 0;
+        for (double latitude : latitudes) {
+            meanLatitude += latitude / n;
+        }
+        longitudeScale = Math.cos(Math.toRadians(meanLatitude)) * GeoUtils.KM_PER_DEGREE;
+        xs = new double[n];
+        ys = new double[n];
+        ids = new int[n];
+        for (int i = 0; i < n; i++) {
+            xs[i] = longitudes[i] * longitudeScale;
+            ys[i] = latitudes[i] * GeoUtils.KM_PER_DEGREE;
+            ids[i] = i;
+        }
+        build(0, n, false);
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * Index (into the arrays the tree was built from) of the point nearest to
+     * the location and no more than {@code maxKm} away, or -1 if there is none.
+     */
+    public int nearest(double latitude, double longitude, double maxKm) {
+        Search search = new Search(longitude * longitudeScale, latitude * GeoUtils.KM_PER_DEGREE, maxKm * maxKm);
+        nearest(search, 0, ids.length, false);
+        return search.best;
+    }
+
+    private void nearest(Search search, int from, int to, boolean byY) {
+        while (from < to) {
+            int mid = (from + to) >>> 1;
+            double dx = xs[mid] - search.x;
+            double dy = ys[mid] - search.y;
+            double distance = dx * dx + dy * dy;
+            if (distance <= search.bestDistance) {
+                search.bestDistance = distance;
+                search.best = ids[mid];
+            }
+            // Positive when the query lies below the splitting line, i.e. on the lower half's side
+            double split = byY ? dy : dx;
+            // Search the query's side first, then the other side only if the splitting line is close enough
+            if (split > 0) {
+                nearest(search, from, mid, !byY);
+                from = mid + 1;
+            } else {
+                nearest(search, mid + 1, to, !byY);
+                to = mid;
+            }
+            if (split * split > search.bestDistance) {
+                return;
+            }
+            byY = !byY;
+        }
+    }
+
+    // Orders [from, to) so its middle element splits the range on the current axis, then recurses
+    private void build(int from, int to, boolean byY) {
+        if (to - from < 2) {
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        select(from, to - 1, mid, byY ? ys : xs);
+        build(from, mid, !byY);
+        build(mid + 1, to, !byY);
+    }
+
+    // Quickselect: afterwards keys[k] is in sorted position with nothing larger before it or smaller after it
+    private void select(int left, int right, int k, double[] keys) {
+        while (left < right) {
+            double pivot = keys[(left + right) >>> 1];
+            int i = left;
+            int j = right;
+            while (i <= j) {
+                while (keys[i] < pivot) {
+                    i++;
+                }
+                while (keys[j] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(i++, j--);
+                }
+            }
+            if (k <= j) {
+                right = j;
+            } else if (k >= i) {
+                left = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private void swap(int a, int b) {
+        double x = xs[a];
+        xs[a] = xs[b];
+        xs[b] = x;
+        double y = ys[a];
+        ys[a] = ys[b];
+        ys[b] = y;
+        int id = ids[a];
+        ids[a] = ids[b];
+        ids[b] = id;
+    }
+
+    private static final class Search {
+        private final double x;
+        private final double y;
+        private double bestDistance;
+        private int best = -1;
+
+        private Search(double x, double y, double bestDistance) {
+            this.x = x;
+            this.y = y;
+            this.bestDistance = bestDistance;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.raastabuzz.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Google's encoded polyline format at 1e-5 precision, the same string the Maps
+ * Directions API returns as {@code overview_polyline}, so a route path can be
+ * stored in a single column.
+ */
+public final class PolylineCodec {
+
+    private static final double PRECISION = 1e5;
+
+    private PolylineCodec() {}
+
+    public static String encode(List<double[]> points) {
+        StringBuilder encoded = new StringBuilder();
+        long previousLat = 0;
+        long previousLng = 0;
+        for (double[] point : points) {
+            long lat = Math.round(point[0] * PRECISION);
+            long lng = Math.round(point[1] * PRECISION);
+            encodeValue(lat - previousLat, encoded);
+            encodeValue(lng - previousLng, encoded);
+            previousLat = lat;
+            previousLng = lng;
+        }
+        return encoded.toString();
+    }
+
+    public static List<double[]> decode(String encoded) {
+        List<double[]> points = new ArrayList<>();
+        int[] index = {0};
+        long lat = 0;
+        long lng = 0;
+        while (index[0] < encoded.length()) {
+            lat += decodeValue(encoded, index);
+            lng += decodeValue(encoded, index);
+            points.add(new double[] {lat / PRECISION, lng / PRECISION});
+        }
+        return points;
+    }
+
+    private static void encodeValue(long value, StringBuilder out) {
+        long shifted = value < 0 ? ~(value << 1) : value << 1;
+        while (shifted >= 0x20) {
+            out.append((char) ((0x20 | (shifted & 0x1f)) + 63));
+            shifted >>= 5;
+        }
+        out.append((char) (shifted + 63));
+    }
+
+    private static long decodeValue(String encoded, int[] index) {
+        long result = 0;
+        int shift = 0;
+        int b;
+        do {
+            if (index[0] >= encoded.length()) {
+                throw new IllegalArgumentException("Truncated polyline");
+            }
+            b = encoded.charAt(index[0]++) - 63;
+            result |= (long) (b & 0x1f) << shift;
+            shift += 5;
+        } while (b >= 0x20);
+        return (result & 1) != 0 ? ~(result >> 1) : result >> 1;
+    }
+}
@@ -0,0 +1,191 @@
+package com.raastabuzz.util;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A polyline widened by {@code bufferKm} on each side. Distances are measured
+ * to the nearest segment in a local flat projection around the tested point,
+ * which is accurate well beyond any sensible corridor width.
+ */
+public class RouteCorridor {
+
+    private final double[] latitudes;
+    private final double[] longitudes;
+    private final double[] cumulativeKm;
+    private final double bufferKm;
+    private final BoundingBox bounds;
+
+    /**
+     * @param points the route as {@code [latitude, longitude]} pairs, in travel order
+     */
+    public RouteCorridor(List<double[]> points, double bufferKm) {
+        if (points.size() < 2) {
+            throw new IllegalArgumentException("A route needs at least two points");
+        }
+        if (bufferKm <= 0) {
+            throw new IllegalArgumentException("Buffer must be positive");
+        }
+        int n = points.size();
+        this.latitudes = new double[n];
+        this.longitudes = new double[n];
+        this.cumulativeKm = new double[n];
+        this.bufferKm = bufferKm;
+
+        double minLat = Double.MAX_VALUE, maxLat = -Double.MAX_VALUE;
+        double minLng = Double.MAX_VALUE, maxLng = -Double.MAX_VALUE;
+        for (int i = 0; i < n; i++) {
+            double[] point = points.get(i);
+            if (point.length != 2 || Math.abs(point[0]) > 90 || Math.abs(point[1]) > 180) {
+                throw new IllegalArgumentException("Route point " + i + " is not a valid latitude/longitude");
+            }
+            latitudes[i] = point[0];
+            longitudes[i] = point[1];
+            if (i > 0) {
+                cumulativeKm[i] = cumulativeKm[i - 1]
+                        + GeoUtils.haversineKm(latitudes[i - 1], longitudes[i - 1], latitudes[i], longitudes[i]);
+            }
+            minLat = Math.min(minLat, point[0]);
+            maxLat = Math.max(maxLat, point[0]);
+            minLng = Math.min(minLng, point[1]);
+            maxLng = Math.max(maxLng, point[1]);
+        }
+        double latPad = latitudeDegrees(bufferKm);
+        double lngPad = longitudeDegrees(bufferKm, Math.max(Math.abs(minLat), Math.abs(maxLat)));
+        this.bounds = new BoundingBox(Math.max(-90, minLat - latPad), Math.min(90, maxLat + latPad),
+                minLng - lngPad, maxLng + lngPad);
+    }
+
+    /**
+     * Where the point sits relative to the route, or {@code null} when it lies
+     * outside the corridor.
+     */
+    public Position locate(double latitude, double longitude) {
+        if (!bounds.contains(latitude, longitude)) {
+            return null;
+        }
+        double kmPerLng = GeoUtils.KM_PER_DEGREE * Math.cos(Math.toRadians(latitude));
+        double best = Double.MAX_VALUE;
+        double bestAlong = 0;
+        for (int i = 0; i + 1 < latitudes.length; i++) {
+            // Segment endpoints relative to the point, in km
+            double ax = (longitudes[i] - longitude) * kmPerLng;
+            double ay = (latitudes[i] - latitude) * GeoUtils.KM_PER_DEGREE;
+            double bx = (longitudes[i + 1] - longitude) * kmPerLng;
+            double by = (latitudes[i + 1] - latitude) * GeoUtils.KM_PER_DEGREE;
+            double dx = bx - ax;
+            double dy = by - ay;
+            double lengthSq = dx * dx + dy * dy;
+            double t = lengthSq == 0 ? 0 : Math.max(0, Math.min(1, -(ax * dx + ay * dy) / lengthSq));
+            double cx = ax + t * dx;
+            double cy = ay + t * dy;
+            double distance = Math.sqrt(cx * cx + cy * cy);
+            if (distance < best) {
+                best = distance;
+                bestAlong = cumulativeKm[i] + t * (cumulativeKm[i + 1] - cumulativeKm[i]);
+            }
+        }
+        return best <= bufferKm ? new Position(best, bestAlong) : null;
+    }
+
+    public boolean contains(double latitude, double longitude) {
+        return locate(latitude, longitude) != null;
+    }
+
+    public int getPointCount() {
+        return latitudes.length;
+    }
+
+    public double getLatitude(int index) {
+        return latitudes[index];
+    }
+
+    public double getLongitude(int index) {
+        return longitudes[index];
+    }
+
+    public double getBufferKm() {
+        return bufferKm;
+    }
+
+    public double getLengthKm() {
+        return cumulativeKm[cumulativeKm.length - 1];
+    }
+
+    // The route's bounding box padded by the buffer
+    public BoundingBox getBounds() {
+        return bounds;
+    }
+
+    /**
+     * Keys of the grid cells, {@code cellDegrees} on a side, that the corridor
+     * overlaps, packed as {@code row << 32 | col} like the in-memory grid indexes.
+     * Each segment is walked in steps no longer than a cell and the cells within
+     * the buffer of each step are collected. Returns {@code null} as soon as more
+     * than {@code maxCells} would be needed.
+     */
+    public Set<Long> coveredCells(double cellDegrees, int maxCells) {
+        double latPad = latitudeDegrees(bufferKm);
+        Set<Long> cells = new HashSet<>();
+        for (int i = 0; i + 1 < latitudes.length; i++) {
+            double lat0 = latitudes[i];
+            double lng0 = longitudes[i];
+            double lat1 = latitudes[i + 1];
+            double lng1 = longitudes[i + 1];
+            int steps = (int) Math.ceil(Math.max(Math.abs(lat1 - lat0), Math.abs(lng1 - lng0)) / cellDegrees);
+            steps = Math.max(1, steps);
+            for (int s = 0; s < steps; s++) {
+                double fromLat = lat0 + (lat1 - lat0) * s / steps;
+                double fromLng = lng0 + (lng1 - lng0) * s / steps;
+                double toLat = lat0 + (lat1 - lat0) * (s + 1) / steps;
+                double toLng = lng0 + (lng1 - lng0) * (s + 1) / steps;
+                double lngPad = longitudeDegrees(bufferKm, Math.max(Math.abs(fromLat), Math.abs(toLat)) + latPad);
+                int minRow = cellIndex(Math.min(fromLat, toLat) - latPad, cellDegrees);
+                int maxRow = cellIndex(Math.max(fromLat, toLat) + latPad, cellDegrees);
+                int minCol = cellIndex(Math.min(fromLng, toLng) - lngPad, cellDegrees);
+                int maxCol = cellIndex(Math.max(fromLng, toLng) + lngPad, cellDegrees);
+                for (int row = minRow; row <= maxRow; row++) {
+                    for (int col = minCol; col <= maxCol; col++) {
+                        cells.add(((long) row << 32) | (col & 0xffffffffL));
+                    }
+                }
+                if (cells.size() > maxCells) {
+                    return null;
+                }
+            }
+        }
+        return cells;
+    }
+
+    public static double latitudeDegrees(double km) {
+        return km / GeoUtils.KM_PER_DEGREE;
+    }
+
+    public static double longitudeDegrees(double km, double atLatitude) {
+        double cos = Math.cos(Math.toRadians(Math.min(89.0, Math.abs(atLatitude))));
+        return km / (GeoUtils.KM_PER_DEGREE * cos);
+    }
+
+    private static int cellIndex(double degrees, double cellDegrees) {
+        return (int) Math.floor(degrees / cellDegrees);
+    }
+
+    public static final class Position {
+        private final double distanceFromRouteKm;
+        private final double distanceAlongRouteKm;
+
+        private Position(double distanceFromRouteKm, double distanceAlongRouteKm) {
+            this.distanceFromRouteKm = distanceFromRouteKm;
+            this.distanceAlongRouteKm = distanceAlongRouteKm;
+        }
+
+        public double getDistanceFromRouteKm() {
+            return distanceFromRouteKm;
+        }
+
+        public double getDistanceAlongRouteKm() {
+            return distanceAlongRouteKm;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.raastabuzz.util;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Splits Bangla and English text into search terms. Text is NFKC-normalised
+ * and lower-cased, Bangla digits are folded to ASCII so "মিরপুর ১০" and
+ * "Mirpur 10" share the number, and terms break on anything that is not a
+ * letter, digit or combining mark (Bangla vowel signs and the hasanta are marks
+ * and stay inside their word). Runs of letters and digits are split apart, so
+ * "Mirpur10" yields "mirpur" and "10". Zero-width joiners are dropped.
+ */
+public final class SearchTokenizer {
+
+    private static final int MAX_TERM_LENGTH = 40;
+
+    private SearchTokenizer() {}
+
+    public static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return terms;
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        StringBuilder term = new StringBuilder();
+        boolean digits = false;
+        for (int i = 0; i < normalized.length(); ) {
+            int c = normalized.codePointAt(i);
+            i += Character.charCount(c);
+            if (c == '\u200C' || c == '\u200D') {
+                continue;
+            }
+            if (c >= '\u09E6' && c <= '\u09EF') {
+                c = '0' + (c - '\u09E6');
+            }
+            boolean mark = isMark(c);
+            if (!Character.isLetterOrDigit(c) && !mark) {
+                flush(term, terms);
+                continue;
+            }
+            if (!mark) {
+                boolean digit = Character.isDigit(c);
+                if (term.length() > 0 && digit != digits) {
+                    flush(term, terms);
+                }
+                digits = digit;
+            } else if (term.length() == 0) {
+                // A stray mark cannot start a word
+                continue;
+            }
+            term.appendCodePoint(c);
+        }
+        flush(term, terms);
+        return terms;
+    }
+
+    private static boolean isMark(int c) {
+        int type = Character.getType(c);
+        return type == Character.NON_SPACING_MARK || type == Character.COMBINING_SPACING_MARK;
+    }
+
+    private static void flush(StringBuilder term, List<String> terms) {
+        if (term.length() > 0) {
+            terms.add(term.length() > MAX_TERM_LENGTH ? term.substring(0, MAX_TERM_LENGTH) : term.toString());
+            term.setLength(0);
+        }
+    }
+}
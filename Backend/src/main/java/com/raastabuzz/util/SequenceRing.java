@@ -0,0 +1,61 @@
+package com.raastabuzz.util;
+
+/**
+ * Fixed-capacity ring of items numbered with consecutive sequence numbers.
+ * Once full, each append evicts the oldest item, so the retained items are
+ * always the range {@code [firstSeq, nextSeq)}. Not thread-safe.
+ */
+public final class SequenceRing<T> {
+
+    private final Object[] items;
+    private long first;
+    private long next;
+
+    public SequenceRing(int capacity, long firstSeq) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.items = new Object[capacity];
+        this.first = firstSeq;
+        this.next = firstSeq;
+    }
+
+    // Stores the item under nextSeq() and returns that number
+    public long append(T item) {
+        long seq = next++;
+        items[slot(seq)] = item;
+        if (next - first > items.length) {
+            first++;
+        }
+        return seq;
+    }
+
+    // Oldest retained sequence number; equal to nextSeq() when empty
+    public long firstSeq() {
+        return first;
+    }
+
+    public long nextSeq() {
+        return next;
+    }
+
+    public boolean contains(long seq) {
+        return seq >= first && seq < next;
+    }
+
+    @SuppressWarnings("unchecked")
+    public T get(long seq) {
+        if (!contains(seq)) {
+            throw new IndexOutOfBoundsException("Sequence " + seq + " is not retained");
+        }
+        return (T) items[slot(seq)];
+    }
+
+    public int size() {
+        return (int) (next - first);
+    }
+
+    private int slot(long seq) {
+        return (int) Math.floorMod(seq, (long) items.length);
+    }
+}
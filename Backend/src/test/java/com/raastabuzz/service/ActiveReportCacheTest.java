@@ -0,0 +1,112 @@
+package com.raastabuzz.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.raastabuzz.dto.response.TrafficReportSummary;
+import com.raastabuzz.repository.TrafficReportRepository;
+import com.raastabuzz.support.TestReports;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ActiveReportCacheTest {
+
+    private final TrafficReportRepository repository = mock(TrafficReportRepository.class);
+
+    private ActiveReportCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ActiveReportCache(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(cache, "trafficReportRepository", repository);
+        ReflectionTestUtils.setField(cache, "maxSize", 3);
+        ReflectionTestUtils.setField(cache, "refillBelow", 2);
+    }
+
+    @Test
+    void feedMissesOnlyWhileReportsAreEvicted() {
+        warm(5);
+        assertThat(cache.getActiveFeed()).isEmpty();
+        assertThat(ids(cache.getCreatedSince(TestReports.T0.plusMinutes(3)).orElseThrow())).containsExactly(5L, 4L, 3L);
+
+        cache.onReportRemoved(TestReports.active(5, 5));
+        cache.onReportRemoved(TestReports.active(4, 4));
+        when(repository.findFeedAfter(isNull(), isNull(), eq(TestReports.T0.plusMinutes(2)), eq(Long.MAX_VALUE),
+                any(Pageable.class))).thenReturn(List.of(TestReports.active(2, 2), TestReports.active(1, 1)));
+        cache.refillIfShrunk();
+
+        assertThat(ids(cache.getActiveFeed().orElseThrow())).containsExactly(3L, 2L, 1L);
+    }
+
+    @Test
+    void partialRefillMovesTheEvictionPoint() {
+        warm(6);
+        cache.onReportRemoved(TestReports.active(6, 6));
+        cache.onReportRemoved(TestReports.active(5, 5));
+        when(repository.findFeedAfter(isNull(), isNull(), eq(TestReports.T0.plusMinutes(3)), eq(Long.MAX_VALUE),
+                any(Pageable.class))).thenReturn(List.of(
+                        TestReports.active(3, 3), TestReports.active(2, 2), TestReports.active(1, 1)));
+        cache.refillIfShrunk();
+
+        assertThat(cache.getActiveFeed()).isEmpty();
+        assertThat(ids(cache.getCreatedSince(TestReports.T0.plusMinutes(2)).orElseThrow())).containsExactly(4L, 3L, 2L);
+        assertThat(cache.getCreatedSince(TestReports.T0.plusMinutes(1))).isEmpty();
+    }
+
+    @Test
+    void noRefillAboveTheLowWaterMark() {
+        warm(4);
+        cache.onReportRemoved(TestReports.active(4, 4));
+        cache.refillIfShrunk();
+
+        assertThat(cache.getActiveFeed()).isEmpty();
+    }
+
+    @Test
+    void changesToEvictedReportsStayOut() {
+        warm(4);
+        cache.onReportSaved(TestReports.active(1, 1));
+
+        assertThat(cache.get(1L)).isEmpty();
+        assertThat(cache.get(4L)).isPresent();
+    }
+
+    @Test
+    void olderChangeArrivingLateIsIgnored() {
+        warm(2);
+        TrafficReportSummary edited = TestReports.summary(1, 23.746, 90.376, TestReports.T0.plusMinutes(1),
+                true, 0, 0, 9);
+        cache.onReportSaved(edited);
+        cache.onReportSaved(TestReports.summary(1, 23.746, 90.376, TestReports.T0.plusMinutes(1), true, 3, 0, 8));
+        cache.onReportRemoved(TestReports.summary(1, 23.746, 90.376, TestReports.T0.plusMinutes(1), false, 0, 0, 7));
+
+        assertThat(cache.get(1L)).containsSame(edited);
+        assertThat(ids(cache.getActiveFeed().orElseThrow())).containsExactly(2L, 1L);
+    }
+
+    // Reports 1..count created a minute apart, returned newest first as the repository does
+    private void warm(int count) {
+        List<TrafficReportSummary> reports = new ArrayList<>();
+        for (int id = count; id >= 1; id--) {
+            reports.add(TestReports.active(id, id));
+        }
+        when(repository.findActiveSummaries()).thenReturn(reports);
+        cache.warmUp();
+    }
+
+    private static List<Long> ids(List<TrafficReportSummary> reports) {
+        return reports.stream().map(TrafficReportSummary::getId).toList();
+    }
+}
@@ -0,0 +1,94 @@
+package com.raastabuzz.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.raastabuzz.support.TestReports;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class HeatmapAggregatorTest {
+
+    private static final String DELETE_HOUR = "DELETE FROM heatmap_counts WHERE hour_bucket = ? AND cell_degrees = ?";
+    private static final String DELETE_EXPIRED = "DELETE FROM heatmap_counts WHERE hour_bucket < ?";
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+
+    private final List<Long> written = new ArrayList<>();
+
+    private HeatmapAggregator aggregator;
+
+    @BeforeEach
+    void setUp() {
+        aggregator = new HeatmapAggregator(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(aggregator, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(aggregator, "transactionTemplate",
+                new TransactionTemplate(mock(PlatformTransactionManager.class)));
+        ReflectionTestUtils.setField(aggregator, "cellDegrees", 0.01);
+        ReflectionTestUtils.setField(aggregator, "retentionDays", 90);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            List<Object[]> rows = invocation.getArgument(1);
+            written.add((Long) rows.get(0)[0]);
+            return new int[rows.size()];
+        });
+    }
+
+    @Test
+    void failedHourIsRetriedWithoutHoldingUpTheOthers() {
+        LocalDateTime now = LocalDateTime.now();
+        save(1, now.minusHours(3));
+        save(2, now.minusHours(2));
+        save(3, now.minusHours(1));
+        long failing = hourOf(now.minusHours(2));
+        when(jdbcTemplate.update(DELETE_HOUR, failing, 0.01)).thenThrow(new RuntimeException("lock timeout"));
+
+        aggregator.persist();
+
+        assertThat(written).containsExactly(hourOf(now.minusHours(3)), hourOf(now.minusHours(1)));
+        verify(jdbcTemplate, times(1)).update(eq(DELETE_EXPIRED), eq(hourOf(now.minusDays(90))));
+
+        written.clear();
+        doReturn(0).when(jdbcTemplate).update(DELETE_HOUR, failing, 0.01);
+        aggregator.persist();
+        assertThat(written).containsExactly(failing);
+    }
+
+    @Test
+    void retentionRunsEvenWhenEveryHourFails() {
+        save(1, LocalDateTime.now());
+        when(jdbcTemplate.update(eq(DELETE_HOUR), eq(hourOf(LocalDateTime.now())), eq(0.01)))
+                .thenThrow(new RuntimeException("connection reset"));
+
+        aggregator.persist();
+
+        assertThat(written).isEmpty();
+        verify(jdbcTemplate, times(1)).update(eq(DELETE_EXPIRED), eq(hourOf(LocalDateTime.now().minusDays(90))));
+    }
+
+    private void save(long id, LocalDateTime createdAt) {
+        aggregator.onReportSaved(TestReports.summary(id, 23.746, 90.376, createdAt, true, 0, 0, id));
+    }
+
+    private static long hourOf(LocalDateTime time) {
+        return Math.floorDiv(time.atZone(ZoneId.systemDefault()).toEpochSecond(), 3600);
+    }
+}
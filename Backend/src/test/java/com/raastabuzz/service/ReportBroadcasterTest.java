@@ -0,0 +1,178 @@
+package com.raastabuzz.service;
+
+import static com.raastabuzz.support.TestReports.T0;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.raastabuzz.dto.response.ReportEvent;
+import com.raastabuzz.dto.response.TrafficReportSummary;
+import com.raastabuzz.model.Severity;
+import com.raastabuzz.model.TrafficCategory;
+import com.raastabuzz.util.Geohash;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ReportBroadcasterTest {
+
+    private static final String DHANMONDI = ReportBroadcaster.CELL_TOPIC_PREFIX + Geohash.encode(23.746, 90.376, 5);
+
+    private static final String UTTARA = ReportBroadcaster.CELL_TOPIC_PREFIX + Geohash.encode(23.874, 90.398, 5);
+
+    // Destination and event of each message, in the order the broker received them
+    private final List<String> destinations = new ArrayList<>();
+
+    private final List<ReportEvent> events = new ArrayList<>();
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ReportBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        SimpMessagingTemplate messagingTemplate = mock(SimpMessagingTemplate.class);
+        doAnswer(invocation -> {
+            synchronized (events) {
+                destinations.add(invocation.getArgument(0));
+                events.add(invocation.getArgument(1));
+            }
+            return null;
+        }).when(messagingTemplate).convertAndSend(anyString(), any(Object.class));
+
+        ReportEventLog log = new ReportEventLog(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(log, "capacity", 100);
+        log.init();
+
+        meterRegistry = new SimpleMeterRegistry();
+        broadcaster = new ReportBroadcaster(meterRegistry);
+        ReflectionTestUtils.setField(broadcaster, "messagingTemplate", messagingTemplate);
+        ReflectionTestUtils.setField(broadcaster, "reportEventLog", log);
+        ReflectionTestUtils.setField(broadcaster, "precision", 5);
+        ReflectionTestUtils.setField(broadcaster, "dispatchQueueCapacity", 10);
+        ReflectionTestUtils.setField(broadcaster, "coalesceWindowMs", 0L);
+        broadcaster.start();
+    }
+
+    @Test
+    void eachChangeIsSentAsWhatClientsNeed() {
+        broadcaster.broadcast(report(1, "Jam", 23.746, 90.376, 0, true, 1, T0));
+        broadcaster.broadcast(report(1, "Jam", 23.746, 90.376, 3, true, 2, T0.plusMinutes(1)));
+        broadcaster.broadcast(report(1, "Jam near Science Lab", 23.746, 90.376, 3, true, 3, T0.plusMinutes(2)));
+
+        assertThat(destinations).containsExactly(DHANMONDI, DHANMONDI, DHANMONDI);
+        assertThat(events).extracting(ReportEvent::getType).containsExactly(
+                ReportEvent.Type.CREATED, ReportEvent.Type.VOTES_CHANGED, ReportEvent.Type.UPDATED);
+        assertThat(events.get(0).getReport().getTitle()).isEqualTo("Jam");
+        // A vote flush touches updatedAt as well, which clients only need alongside an edit
+        assertThat(events.get(1).getChanges()).containsOnly(entry("upvotes", 3));
+        assertThat(events.get(1).getVersion()).isEqualTo(2);
+        assertThat(events.get(2).getChanges()).containsOnlyKeys("title", "updatedAt");
+        assertThat(events).extracting(ReportEvent::getSeq).isSorted().doesNotHaveDuplicates();
+    }
+
+    @Test
+    void unchangedAndOlderStatesAreNotSent() {
+        broadcaster.broadcast(report(1, "Jam", 23.746, 90.376, 3, true, 2, T0));
+        broadcaster.broadcast(report(1, "Jam", 23.746, 90.376, 3, true, 3, T0));
+        broadcaster.broadcast(report(1, "Jam", 23.746, 90.376, 1, true, 1, T0));
+
+        assertThat(events).extracting(ReportEvent::getType).containsExactly(ReportEvent.Type.CREATED);
+    }
+
+    @Test
+    void movedReportLeavesItsOldCellAndRemovalReachesTheLastOne() {
+        broadcaster.broadcast(report(1, "Jam", 23.746, 90.376, 0, true, 1, T0));
+        broadcaster.broadcast(report(1, "Jam", 23.874, 90.398, 0, true, 2, T0));
+        broadcaster.broadcast(report(1, "Jam", 23.874, 90.398, 0, false, 3, T0));
+
+        assertThat(destinations).containsExactly(DHANMONDI, DHANMONDI, UTTARA, UTTARA);
+        assertThat(events).extracting(ReportEvent::getType).containsExactly(ReportEvent.Type.CREATED,
+                ReportEvent.Type.REMOVED, ReportEvent.Type.UPDATED, ReportEvent.Type.REMOVED);
+        // Subscribers of the new cell have never seen it, so it arrives whole
+        assertThat(events.get(2).getReport().getLatitude()).isEqualTo(23.874);
+        assertThat(events.get(3).getVersion()).isEqualTo(3);
+
+        // Removed by a change that also moved it: both cells hear about it
+        broadcaster.broadcast(report(2, "Jam", 23.746, 90.376, 0, true, 4, T0));
+        broadcaster.broadcast(report(2, "Jam", 23.874, 90.398, 0, false, 5, T0));
+        assertThat(destinations.subList(4, destinations.size())).containsExactly(DHANMONDI, UTTARA, DHANMONDI);
+        assertThat(events.subList(5, events.size())).extracting(ReportEvent::getType)
+                .containsOnly(ReportEvent.Type.REMOVED);
+    }
+
+    @Test
+    void updatesWithinTheWindowGoOutOnceAsTheNewestState() throws InterruptedException {
+        ReflectionTestUtils.setField(broadcaster, "coalesceWindowMs", 100L);
+        broadcaster.broadcast(report(1, "Jam", 23.746, 90.376, 0, true, 1, T0));
+        assertThat(sent()).isEqualTo(1);
+
+        broadcaster.broadcast(report(1, "Jam", 23.746, 90.376, 1, true, 2, T0));
+        broadcaster.broadcast(report(1, "Jam", 23.746, 90.376, 3, true, 4, T0));
+        // Read before the newest one, committed after it
+        broadcaster.broadcast(report(1, "Jam", 23.746, 90.376, 2, true, 3, T0));
+        assertThat(sent()).isEqualTo(1);
+
+        awaitSent(2, 2000);
+        Thread.sleep(200);
+        assertThat(sent()).isEqualTo(2);
+        assertThat(events.get(1).getType()).isEqualTo(ReportEvent.Type.VOTES_CHANGED);
+        assertThat(events.get(1).getChanges()).containsOnly(entry("upvotes", 3));
+        assertThat(events.get(1).getVersion()).isEqualTo(4);
+        assertThat(meterRegistry.counter("reports.broadcasts.updates").count()).isEqualTo(3);
+        assertThat(meterRegistry.counter("reports.broadcasts.merged").count()).isEqualTo(2);
+    }
+
+    @Test
+    void removalWithinTheWindowDropsTheHeldUpdate() throws InterruptedException {
+        ReflectionTestUtils.setField(broadcaster, "coalesceWindowMs", 100L);
+        broadcaster.broadcast(report(1, "Jam", 23.746, 90.376, 0, true, 1, T0));
+        broadcaster.broadcast(report(1, "Jam", 23.746, 90.376, 1, true, 2, T0));
+        broadcaster.broadcast(report(1, "Jam", 23.746, 90.376, 1, false, 3, T0));
+
+        Thread.sleep(300);
+        assertThat(events).extracting(ReportEvent::getType)
+                .containsExactly(ReportEvent.Type.CREATED, ReportEvent.Type.REMOVED);
+    }
+
+    @Test
+    void shutdownSendsWhatIsStillHeld() throws InterruptedException {
+        ReflectionTestUtils.setField(broadcaster, "coalesceWindowMs", 60_000L);
+        broadcaster.broadcast(report(1, "Jam", 23.746, 90.376, 0, true, 1, T0));
+        broadcaster.broadcast(report(1, "Jam", 23.746, 90.376, 5, true, 2, T0));
+
+        broadcaster.shutdown();
+        assertThat(events).extracting(ReportEvent::getType)
+                .containsExactly(ReportEvent.Type.CREATED, ReportEvent.Type.VOTES_CHANGED);
+    }
+
+    private int sent() {
+        synchronized (events) {
+            return events.size();
+        }
+    }
+
+    private void awaitSent(int count, long timeoutMs) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        while (System.currentTimeMillis() < deadline && sent() < count) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static TrafficReportSummary report(long id, String title, double latitude, double longitude,
+                                               int upvotes, boolean active, long version, LocalDateTime updatedAt) {
+        return new TrafficReportSummary(id, title, "", TrafficCategory.TRAFFIC_JAM, Severity.MEDIUM, latitude,
+                longitude, null, null, false, active, upvotes, 0, 1, version, T0, updatedAt, 1L, "Tester");
+    }
+}
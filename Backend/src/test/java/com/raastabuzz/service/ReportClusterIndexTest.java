@@ -0,0 +1,110 @@
+package com.raastabuzz.service;
+
+import static com.raastabuzz.support.TestReports.T0;
+import static com.raastabuzz.support.TestReports.summary;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.raastabuzz.dto.response.ReportClusterResponse;
+import com.raastabuzz.dto.response.TrafficReportSummary;
+import com.raastabuzz.model.Severity;
+import com.raastabuzz.model.TrafficCategory;
+import com.raastabuzz.util.BoundingBox;
+
+class ReportClusterIndexTest {
+
+    private static final BoundingBox DHAKA = new BoundingBox(23.6, 23.9, 90.3, 90.5);
+
+    private static final BoundingBox BANGLADESH = new BoundingBox(20.5, 26.7, 88.0, 92.7);
+
+    private long version;
+
+    private ReportClusterIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ReportClusterIndex();
+    }
+
+    @Test
+    void nearbyReportsMergeAsTheMapZoomsOut() {
+        index.onReportSaved(report(1, 23.746, 90.376, TrafficCategory.TRAFFIC_JAM, Severity.HIGH, 2, 0));
+        index.onReportSaved(report(2, 23.756, 90.386, TrafficCategory.ACCIDENT, Severity.LOW, 0, 1));
+        index.onReportSaved(report(3, 22.357, 91.783, TrafficCategory.TRAFFIC_JAM, Severity.MEDIUM, 0, 0));
+
+        assertThat(index.getClusters(BANGLADESH, 16)).hasSize(3)
+                .allSatisfy(cluster -> assertThat(cluster.getCount()).isEqualTo(1));
+
+        List<ReportClusterResponse> clusters = index.getClusters(BANGLADESH, 8);
+        assertThat(clusters).hasSize(2);
+        ReportClusterResponse dhaka = clusters.stream().filter(c -> c.getCount() == 2).findFirst().orElseThrow();
+        assertThat(dhaka.getLatitude()).isCloseTo(23.751, within(1e-9));
+        assertThat(dhaka.getLongitude()).isCloseTo(90.381, within(1e-9));
+        assertThat(dhaka.getCategories()).containsOnly(
+                entry(TrafficCategory.TRAFFIC_JAM, 1), entry(TrafficCategory.ACCIDENT, 1));
+        assertThat(dhaka.getSeverities()).containsOnly(entry(Severity.HIGH, 1), entry(Severity.LOW, 1));
+        assertThat(dhaka.getUpvotes()).isEqualTo(2);
+        assertThat(dhaka.getDownvotes()).isEqualTo(1);
+    }
+
+    @Test
+    void onlyClustersInsideTheViewportAreReturned() {
+        index.onReportSaved(report(1, 23.746, 90.376, TrafficCategory.TRAFFIC_JAM, Severity.HIGH, 0, 0));
+        index.onReportSaved(report(2, 22.357, 91.783, TrafficCategory.TRAFFIC_JAM, Severity.HIGH, 0, 0));
+
+        // A few cells, walked one by one
+        assertThat(index.getClusters(new BoundingBox(23.74, 23.75, 90.37, 90.38), 16))
+                .extracting(ReportClusterResponse::getLatitude).containsExactly(23.746);
+        // Far more cells than clusters, answered by checking each cluster's centroid
+        assertThat(index.getClusters(DHAKA, 16))
+                .extracting(ReportClusterResponse::getLatitude).containsExactly(23.746);
+    }
+
+    @Test
+    void editsMoveAReportBetweenClustersAndZoomIsClamped() {
+        index.onReportSaved(report(1, 23.746, 90.376, TrafficCategory.TRAFFIC_JAM, Severity.HIGH, 0, 0));
+        index.onReportSaved(report(1, 22.357, 91.783, TrafficCategory.FLOODING, Severity.LOW, 0, 0));
+
+        assertThat(index.getClusters(DHAKA, 12)).isEmpty();
+        List<ReportClusterResponse> clusters = index.getClusters(BANGLADESH, 40);
+        assertThat(clusters).hasSize(1);
+        assertThat(clusters.get(0).getCategories()).containsOnly(entry(TrafficCategory.FLOODING, 1));
+        assertThat(index.getClusters(BANGLADESH, 0)).singleElement()
+                .extracting(ReportClusterResponse::getLatitude).isEqualTo(22.357);
+    }
+
+    @Test
+    void olderChangeArrivingLateIsIgnored() {
+        index.onReportSaved(summary(1, 23.746, 90.376, T0, true, 0, 0, 5));
+        index.onReportSaved(summary(1, 23.746, 90.376, T0, true, 4, 1, 7));
+        index.onReportSaved(summary(1, 23.746, 90.376, T0, true, 2, 0, 6));
+
+        List<ReportClusterResponse> clusters = index.getClusters(DHAKA, 12);
+        assertThat(clusters).hasSize(1);
+        assertThat(clusters.get(0).getUpvotes()).isEqualTo(4);
+        assertThat(clusters.get(0).getDownvotes()).isEqualTo(1);
+    }
+
+    @Test
+    void olderRemovalDoesNotDropANewerReport() {
+        index.onReportSaved(summary(1, 23.746, 90.376, T0, true, 0, 0, 7));
+        index.onReportRemoved(summary(1, 23.746, 90.376, T0, false, 0, 0, 6));
+
+        assertThat(index.getClusters(DHAKA, 12)).hasSize(1);
+
+        index.onReportRemoved(summary(1, 23.746, 90.376, T0, false, 0, 0, 8));
+        assertThat(index.getClusters(DHAKA, 12)).isEmpty();
+    }
+
+    private TrafficReportSummary report(long id, double latitude, double longitude, TrafficCategory category,
+                                        Severity severity, int upvotes, int downvotes) {
+        return new TrafficReportSummary(id, "Report " + id, "", category, severity, latitude, longitude, null, null,
+                false, true, upvotes, downvotes, 1, ++version, T0, T0, 1L, "Tester");
+    }
+}
@@ -0,0 +1,89 @@
+package com.raastabuzz.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.raastabuzz.dto.response.DuplicateCandidateResponse;
+import com.raastabuzz.dto.response.TrafficReportSummary;
+import com.raastabuzz.model.Severity;
+import com.raastabuzz.model.TrafficCategory;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ReportDuplicateDetectorTest {
+
+    // Roughly 111 m of latitude
+    private static final double DEGREES_PER_100M = 0.0009;
+
+    private ReportSpatialIndex index;
+
+    private ReportDuplicateDetector detector;
+
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        index = new ReportSpatialIndex();
+        ReflectionTestUtils.setField(index, "cellDegrees", 0.01);
+        detector = new ReportDuplicateDetector(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(detector, "reportSpatialIndex", index);
+        ReflectionTestUtils.setField(detector, "enabled", true);
+        ReflectionTestUtils.setField(detector, "radiusKm", 0.2);
+        ReflectionTestUtils.setField(detector, "windowMinutes", 10L);
+        ReflectionTestUtils.setField(detector, "maxCandidates", 5);
+        now = LocalDateTime.now();
+    }
+
+    @Test
+    void closerAndNewerReportsScoreHigher() {
+        index.onReportSaved(report(1, 50, 8, TrafficCategory.TRAFFIC_JAM));
+        index.onReportSaved(report(2, 150, 1, TrafficCategory.TRAFFIC_JAM));
+        index.onReportSaved(report(3, 0, 2, TrafficCategory.TRAFFIC_JAM));
+
+        List<DuplicateCandidateResponse> candidates = detector.findDuplicates(TrafficCategory.TRAFFIC_JAM, 23.746, 90.376);
+
+        assertThat(candidates).extracting(candidate -> candidate.getReport().getId()).containsExactly(3L, 1L, 2L);
+        // Same spot, a fifth of the window old: 0.6 for space plus 0.4 * 0.8 for time
+        assertThat(candidates.get(0).getScore()).isCloseTo(0.92, within(0.01));
+        assertThat(candidates.get(0).getDistanceKm()).isZero();
+    }
+
+    @Test
+    void otherCategoriesStaleAndDistantReportsAreNotDuplicates() {
+        index.onReportSaved(report(1, 0, 1, TrafficCategory.FLOODING));
+        index.onReportSaved(report(2, 0, 11, TrafficCategory.TRAFFIC_JAM));
+        index.onReportSaved(report(3, 300, 1, TrafficCategory.TRAFFIC_JAM));
+        index.onReportSaved(report(4, 100, 1, TrafficCategory.TRAFFIC_JAM));
+
+        assertThat(detector.findDuplicates(TrafficCategory.TRAFFIC_JAM, 23.746, 90.376))
+                .extracting(candidate -> candidate.getReport().getId()).containsExactly(4L);
+    }
+
+    @Test
+    void candidatesAreCappedAndCheckCanBeTurnedOff() {
+        for (long id = 1; id <= 8; id++) {
+            index.onReportSaved(report(id, 10 * id, 1, TrafficCategory.TRAFFIC_JAM));
+        }
+
+        assertThat(detector.findDuplicates(TrafficCategory.TRAFFIC_JAM, 23.746, 90.376))
+                .extracting(candidate -> candidate.getReport().getId()).containsExactly(1L, 2L, 3L, 4L, 5L);
+
+        ReflectionTestUtils.setField(detector, "enabled", false);
+        assertThat(detector.findDuplicates(TrafficCategory.TRAFFIC_JAM, 23.746, 90.376)).isEmpty();
+    }
+
+    // A report {@code metresNorth} of the submission, created {@code minutesAgo}
+    private TrafficReportSummary report(long id, double metresNorth, long minutesAgo, TrafficCategory category) {
+        LocalDateTime createdAt = now.minusMinutes(minutesAgo);
+        return new TrafficReportSummary(id, "Report " + id, "", category, Severity.MEDIUM,
+                23.746 + metresNorth / 100 * DEGREES_PER_100M, 90.376, null, null, false, true, 0, 0, 1, id,
+                createdAt, createdAt, 1L, "Tester");
+    }
+}
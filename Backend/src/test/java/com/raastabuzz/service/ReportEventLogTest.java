@@ -0,0 +1,91 @@
+package com.raastabuzz.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.raastabuzz.dto.response.ReportEvent;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ReportEventLogTest {
+
+    private ReportEventLog log;
+
+    @BeforeEach
+    void setUp() {
+        log = new ReportEventLog(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(log, "capacity", 4);
+        log.init();
+    }
+
+    @Test
+    void concurrentSendersDeliverInSeqOrder() throws Exception {
+        ReflectionTestUtils.setField(log, "capacity", 100_000);
+        log.init();
+        // Stands in for the broker: whatever reaches it first is what clients see first
+        List<Long> delivered = new ArrayList<>();
+        ExecutorService senders = Executors.newFixedThreadPool(3);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> runs = new ArrayList<>();
+        for (int t = 0; t < 3; t++) {
+            runs.add(senders.submit(() -> {
+                start.await();
+                for (int i = 0; i < 2000; i++) {
+                    log.append("wh0qc", seq -> ReportEvent.removed(seq, 1L, 1L), event -> {
+                        synchronized (delivered) {
+                            delivered.add(event.getSeq());
+                        }
+                    });
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> run : runs) {
+            run.get(30, TimeUnit.SECONDS);
+        }
+        senders.shutdown();
+
+        assertThat(delivered).hasSize(6000).isSorted().doesNotHaveDuplicates();
+    }
+
+    @Test
+    void resumingClientGetsOnlyItsCell() {
+        long before = log.lastSeq();
+        long first = append("wh0qc");
+        append("wh0qf");
+        long third = append("wh0qc");
+
+        assertThat(log.since(before, "wh0qc").orElseThrow()).extracting(ReportEvent::getSeq)
+                .containsExactly(first, third);
+        assertThat(log.since(third, "wh0qc").orElseThrow()).isEmpty();
+    }
+
+    @Test
+    void evictedRangeAsksForAResync() {
+        long before = log.lastSeq();
+        for (int i = 0; i < 5; i++) {
+            append("wh0qc");
+        }
+
+        assertThat(log.since(before, "wh0qc")).isEmpty();
+        assertThat(log.since(before + 1, "wh0qc").orElseThrow()).hasSize(4);
+        // A seq this server never handed out, e.g. from before a restart with a slower clock
+        assertThat(log.since(log.lastSeq() + 1, "wh0qc")).isEmpty();
+    }
+
+    private long append(String cell) {
+        return log.append(cell, seq -> ReportEvent.removed(seq, 1L, 1L), event -> {}).getSeq();
+    }
+}
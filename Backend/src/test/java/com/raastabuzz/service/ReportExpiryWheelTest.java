@@ -0,0 +1,138 @@
+package com.raastabuzz.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.raastabuzz.dto.response.TrafficReportSummary;
+import com.raastabuzz.repository.TrafficReportRepository;
+import com.raastabuzz.support.TestReports;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ReportExpiryWheelTest {
+
+    private final ReportExpiryPolicy policy = mock(ReportExpiryPolicy.class);
+    private final TrafficReportRepository repository = mock(TrafficReportRepository.class);
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final ReportChangeListener listener = mock(ReportChangeListener.class);
+
+    private final List<Long> deactivated = new ArrayList<>();
+
+    private ReportExpiryWheel wheel;
+
+    @BeforeEach
+    void setUp() {
+        wheel = new ReportExpiryWheel(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(wheel, "reportExpiryPolicy", policy);
+        ReflectionTestUtils.setField(wheel, "trafficReportRepository", repository);
+        ReflectionTestUtils.setField(wheel, "reportVersionSequence", mock(ReportVersionSequence.class));
+        ReflectionTestUtils.setField(wheel, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(wheel, "transactionTemplate",
+                new TransactionTemplate(mock(PlatformTransactionManager.class)));
+        ReflectionTestUtils.setField(wheel, "eventPublisher", mock(ApplicationEventPublisher.class));
+        ReflectionTestUtils.setField(wheel, "reportChangeListeners", List.of(wheel, listener));
+        ReflectionTestUtils.setField(wheel, "tickMs", 60_000L);
+        ReflectionTestUtils.setField(wheel, "maxBatch", 500);
+        when(policy.getUpvoteExtension()).thenReturn(Duration.ofMinutes(30));
+        when(policy.getMaxExtension()).thenReturn(Duration.ofHours(2));
+        // The deactivating UPDATE lists the due ids last
+        when(jdbcTemplate.update(anyString(), any(Object[].class))).thenAnswer(invocation -> {
+            // Mockito hands the varargs over expanded, after the SQL
+            Object[] args = invocation.getArguments();
+            int count = (args.length - 3) / 3;
+            for (int i = args.length - count; i < args.length; i++) {
+                deactivated.add((Long) args[i]);
+            }
+            return count;
+        });
+        when(repository.findSummariesByIds(any())).thenAnswer(invocation -> {
+            List<TrafficReportSummary> summaries = new ArrayList<>();
+            for (Long id : invocation.<Iterable<Long>>getArgument(0)) {
+                summaries.add(TestReports.summary(id, 23.746, 90.376, TestReports.T0, false, 0, 0, id));
+            }
+            return summaries;
+        });
+    }
+
+    @Test
+    void onlyReportsPastTheirDeadlineExpire() {
+        TrafficReportSummary overdue = TestReports.at(1, 23.746, 90.376);
+        TrafficReportSummary later = TestReports.at(2, 23.746, 90.376);
+        // Due many revolutions from now, in whatever slot that lands
+        TrafficReportSummary farOff = TestReports.at(3, 23.746, 90.376);
+        deadlines(Map.of(overdue, LocalDateTime.now().minusMinutes(5),
+                later, LocalDateTime.now().plusMinutes(10),
+                farOff, LocalDateTime.now().plusDays(30)));
+        when(repository.findActiveSummaries()).thenReturn(List.of(overdue, later, farOff));
+        wheel.rebuild();
+
+        wheel.tick();
+
+        assertThat(deactivated).containsExactly(1L);
+        verify(listener, times(1)).onReportRemoved(any());
+        assertThat(expiries()).containsOnlyKeys(2L, 3L);
+    }
+
+    @Test
+    void upvoteExtendsTheDeadline() {
+        TrafficReportSummary report = TestReports.at(1, 23.746, 90.376);
+        deadlines(Map.of(report, LocalDateTime.now().minusMinutes(5)));
+        when(repository.findActiveSummaries()).thenReturn(List.of());
+        wheel.rebuild();
+        wheel.onReportSaved(report);
+        wheel.onReportSaved(TestReports.summary(1, 23.746, 90.376, TestReports.T0, true, 1, 0, 2));
+
+        wheel.tick();
+
+        assertThat(deactivated).isEmpty();
+        verify(listener, never()).onReportRemoved(any());
+    }
+
+    @Test
+    void removedReportsAreSkipped() {
+        TrafficReportSummary report = TestReports.at(1, 23.746, 90.376);
+        deadlines(Map.of(report, LocalDateTime.now().minusMinutes(5)));
+        when(repository.findActiveSummaries()).thenReturn(List.of(report));
+        wheel.rebuild();
+        wheel.onReportRemoved(report);
+
+        wheel.tick();
+
+        assertThat(deactivated).isEmpty();
+        verify(listener, never()).onReportRemoved(any());
+    }
+
+    private void deadlines(Map<TrafficReportSummary, LocalDateTime> deadlines) {
+        // Later saves of the same report carry new counts, so match by id
+        when(policy.baseDeadline(any())).thenAnswer(invocation -> {
+            TrafficReportSummary report = invocation.getArgument(0);
+            return deadlines.entrySet().stream().filter(e -> e.getKey().getId().equals(report.getId()))
+                    .findFirst().orElseThrow().getValue();
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Long, ?> expiries() {
+        return (Map<Long, ?>) ReflectionTestUtils.getField(wheel, "expiries");
+    }
+}
@@ -0,0 +1,130 @@
+package com.raastabuzz.service;
+
+import static com.raastabuzz.support.TestReports.T0;
+import static com.raastabuzz.support.TestReports.summary;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.raastabuzz.dto.response.NearbyReportResponse;
+import com.raastabuzz.dto.response.TrafficReportSummary;
+import com.raastabuzz.util.GeoUtils;
+
+class ReportSpatialIndexTest {
+
+    private ReportSpatialIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ReportSpatialIndex();
+        ReflectionTestUtils.setField(index, "cellDegrees", 0.01);
+    }
+
+    @Test
+    void areaQueriesMatchABruteForceScan() {
+        Random random = new Random(7);
+        List<TrafficReportSummary> reports = randomReports(random, 1500);
+
+        for (int q = 0; q < 300; q++) {
+            // Small boxes walk the grid; the widest cover more cells than there are reports and scan instead
+            double height = q % 3 == 0 ? 0.5 : random.nextDouble() * 0.05;
+            double width = q % 3 == 0 ? 0.5 : random.nextDouble() * 0.05;
+            double minLat = 23.6 + random.nextDouble() * 0.3;
+            double minLng = 90.3 + random.nextDouble() * 0.2;
+            List<Long> expected = reports.stream()
+                    .filter(r -> r.getLatitude() >= minLat && r.getLatitude() <= minLat + height
+                            && r.getLongitude() >= minLng && r.getLongitude() <= minLng + width)
+                    .map(TrafficReportSummary::getId).toList();
+
+            assertThat(ids(index.findInArea(minLat, minLat + height, minLng, minLng + width)))
+                    .containsExactlyInAnyOrderElementsOf(expected);
+        }
+    }
+
+    @Test
+    void nearestMatchesABruteForceScan() {
+        Random random = new Random(11);
+        List<TrafficReportSummary> reports = randomReports(random, 1500);
+        Predicate<TrafficReportSummary> even = report -> report.getId() % 2 == 0;
+
+        for (int q = 0; q < 300; q++) {
+            double latitude = 23.6 + random.nextDouble() * 0.35;
+            double longitude = 90.3 + random.nextDouble() * 0.25;
+            int k = new int[] {1, 5, 20}[q % 3];
+            double maxKm = new double[] {0.3, 2, 50}[q / 3 % 3];
+            Predicate<TrafficReportSummary> filter = q % 2 == 0 ? report -> true : even;
+            List<Double> expected = reports.stream().filter(filter)
+                    .map(r -> GeoUtils.haversineKm(latitude, longitude, r.getLatitude(), r.getLongitude()))
+                    .filter(km -> km <= maxKm).sorted().limit(k).toList();
+
+            List<NearbyReportResponse> nearest = index.findNearest(latitude, longitude, k, maxKm, filter);
+            assertThat(nearest.stream().map(NearbyReportResponse::getDistanceKm).toList())
+                    .containsExactlyElementsOf(expected);
+            assertThat(nearest).allMatch(hit -> filter.test(hit.getReport()));
+        }
+    }
+
+    @Test
+    void movedAndDeactivatedReportsLeaveTheirCells() {
+        index.onReportSaved(summary(1, 23.746, 90.376, T0, true, 0, 0, 1));
+        index.onReportSaved(summary(2, 23.746, 90.376, T0, true, 0, 0, 2));
+        index.onReportSaved(summary(1, 23.810, 90.412, T0, true, 0, 0, 3));
+        index.onReportSaved(summary(2, 23.746, 90.376, T0, false, 0, 0, 4));
+
+        assertThat(index.findInArea(23.74, 23.75, 90.37, 90.38)).isEmpty();
+        assertThat(index.findNearest(23.746, 90.376, 5, 50, report -> true))
+                .extracting(hit -> hit.getReport().getId()).containsExactly(1L);
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void olderChangeArrivingLateIsIgnored() {
+        index.onReportSaved(summary(1, 23.746, 90.376, T0, true, 0, 0, 5));
+        // Moved across town by an edit, then a vote flush publishes what it read before the edit
+        index.onReportSaved(summary(1, 23.810, 90.412, T0, true, 0, 0, 7));
+        index.onReportSaved(summary(1, 23.746, 90.376, T0, true, 3, 0, 6));
+
+        assertThat(ids(index.findInArea(23.80, 23.82, 90.40, 90.42))).containsExactly(1L);
+        assertThat(index.findInArea(23.74, 23.75, 90.37, 90.38)).isEmpty();
+        assertThat(index.findInArea(23.80, 23.82, 90.40, 90.42).get(0).getChangeVersion()).isEqualTo(7);
+    }
+
+    @Test
+    void olderRemovalDoesNotDropANewerReport() {
+        index.onReportSaved(summary(1, 23.746, 90.376, T0, true, 0, 0, 7));
+        index.onReportRemoved(summary(1, 23.746, 90.376, T0, false, 0, 0, 6));
+
+        assertThat(index.size()).isEqualTo(1);
+
+        index.onReportRemoved(summary(1, 23.746, 90.376, T0, false, 0, 0, 8));
+        assertThat(index.size()).isZero();
+    }
+
+    // Greater Dhaka, with some reports stacked on the same spot
+    private List<TrafficReportSummary> randomReports(Random random, int count) {
+        List<TrafficReportSummary> reports = new ArrayList<>();
+        for (long id = 1; id <= count; id++) {
+            double latitude = 23.65 + random.nextDouble() * 0.25;
+            double longitude = 90.33 + random.nextDouble() * 0.17;
+            if (id % 50 == 0) {
+                latitude = reports.get(reports.size() - 1).getLatitude();
+                longitude = reports.get(reports.size() - 1).getLongitude();
+            }
+            TrafficReportSummary report = summary(id, latitude, longitude, T0, true, 0, 0, id);
+            reports.add(report);
+            index.onReportSaved(report);
+        }
+        return reports;
+    }
+
+    private static List<Long> ids(List<TrafficReportSummary> reports) {
+        return reports.stream().map(TrafficReportSummary::getId).toList();
+    }
+}
@@ -0,0 +1,73 @@
+package com.raastabuzz.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.raastabuzz.dto.response.RouteAlertMessage;
+import com.raastabuzz.model.SavedRoute;
+import com.raastabuzz.model.User;
+import com.raastabuzz.support.TestReports;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RouteAlertEngineTest {
+
+    private final SimpMessagingTemplate messagingTemplate = mock(SimpMessagingTemplate.class);
+
+    private RouteAlertEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        RouteIncidentService routeIncidentService = new RouteIncidentService(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(routeIncidentService, "maxBufferKm", 5.0);
+        engine = new RouteAlertEngine(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(engine, "routeIncidentService", routeIncidentService);
+        ReflectionTestUtils.setField(engine, "messagingTemplate", messagingTemplate);
+        ReflectionTestUtils.setField(engine, "bufferKm", 0.3);
+        ReflectionTestUtils.setField(engine, "cellDegrees", 0.01);
+        ReflectionTestUtils.setField(engine, "maxCellsPerRoute", 20000);
+        ReflectionTestUtils.setField(engine, "dispatchQueueCapacity", 10);
+        engine.start();
+
+        // Mirpur Road, owned by someone other than the reporter
+        User owner = new User("Owner", "owner@test.com", "secret");
+        owner.setId(2L);
+        SavedRoute route = new SavedRoute();
+        route.setId(1L);
+        route.setName("Commute");
+        route.setUser(owner);
+        route.setAlertsEnabled(true);
+        route.setFromLatitude(23.739);
+        route.setFromLongitude(90.376);
+        route.setToLatitude(23.757);
+        route.setToLongitude(90.388);
+        engine.register(route);
+    }
+
+    @Test
+    void alertsOwnersOfRoutesAlongTheReport() throws InterruptedException {
+        engine.onReportChanged(new ReportChangedEvent(TestReports.at(1, 23.746, 90.380), RouteAlertMessage.NEW_REPORT));
+        engine.onReportChanged(new ReportChangedEvent(TestReports.at(2, 23.810, 90.412), RouteAlertMessage.NEW_REPORT));
+        engine.shutdown();
+
+        verify(messagingTemplate, times(1)).convertAndSendToUser(eq("owner@test.com"), eq("/queue/alerts"), any());
+    }
+
+    @Test
+    void changesWithoutAReasonAreNotMatched() throws InterruptedException {
+        engine.onReportChanged(new ReportChangedEvent(TestReports.at(1, 23.746, 90.380)));
+        engine.shutdown();
+
+        verify(messagingTemplate, never()).convertAndSendToUser(anyString(), anyString(), any());
+    }
+}
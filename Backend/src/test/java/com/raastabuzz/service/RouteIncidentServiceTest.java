@@ -0,0 +1,133 @@
+package com.raastabuzz.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.raastabuzz.dto.response.RouteIncidentResponse;
+import com.raastabuzz.dto.response.TrafficReportSummary;
+import com.raastabuzz.model.SavedRoute;
+import com.raastabuzz.support.TestReports;
+import com.raastabuzz.util.RouteCorridor;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RouteIncidentServiceTest {
+
+    private final ReportSpatialIndex index = mock(ReportSpatialIndex.class);
+
+    private final List<TrafficReportSummary> active = new ArrayList<>();
+
+    private RouteIncidentService service;
+
+    private SavedRoute route;
+
+    @BeforeEach
+    void setUp() {
+        service = new RouteIncidentService(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "reportSpatialIndex", index);
+        ReflectionTestUtils.setField(service, "defaultBufferKm", 0.3);
+        ReflectionTestUtils.setField(service, "maxBufferKm", 5.0);
+        ReflectionTestUtils.setField(service, "maxSize", 10);
+        ReflectionTestUtils.setField(service, "cellDegrees", 0.01);
+        ReflectionTestUtils.setField(service, "maxCellsPerRoute", 20000);
+        // Mirpur Road, Dhanmondi to Farmgate
+        route = new SavedRoute();
+        route.setId(1L);
+        route.setFromLatitude(23.739);
+        route.setFromLongitude(90.376);
+        route.setToLatitude(23.757);
+        route.setToLongitude(90.388);
+        when(index.findAlongRoute(any())).thenAnswer(invocation -> {
+            RouteCorridor corridor = invocation.getArgument(0);
+            List<RouteIncidentResponse> along = new ArrayList<>();
+            for (TrafficReportSummary report : active) {
+                if (corridor.contains(report.getLatitude(), report.getLongitude())) {
+                    along.add(new RouteIncidentResponse(report, 0, 0));
+                }
+            }
+            return along;
+        });
+    }
+
+    @Test
+    void changesOutsideTheCorridorKeepTheEntry() {
+        active.add(TestReports.at(1, 23.746, 90.380));
+        lookUp();
+        service.onReportSaved(TestReports.at(2, 23.810, 90.412));
+
+        lookUp();
+        verify(index, times(1)).findAlongRoute(any());
+    }
+
+    @Test
+    void reportEnteringTheCorridorDropsTheEntry() {
+        lookUp();
+        TrafficReportSummary created = TestReports.at(1, 23.746, 90.380);
+        active.add(created);
+        service.onReportSaved(created);
+
+        assertThat(lookUp()).hasSize(1);
+        verify(index, times(2)).findAlongRoute(any());
+    }
+
+    @Test
+    void voteOnAListedReportIsSwappedIn() {
+        active.add(TestReports.at(1, 23.746, 90.380));
+        lookUp();
+        service.onReportSaved(TestReports.summary(1, 23.746, 90.380, TestReports.T0, true, 3, 1, 2));
+
+        assertThat(lookUp().get(0).getReport().getUpvotes()).isEqualTo(3);
+        // An older state arriving late is ignored
+        service.onReportSaved(TestReports.summary(1, 23.746, 90.380, TestReports.T0, true, 2, 1, 1));
+        assertThat(lookUp().get(0).getReport().getUpvotes()).isEqualTo(3);
+        verify(index, times(1)).findAlongRoute(any());
+    }
+
+    @Test
+    void listedReportEndingDropsTheEntry() {
+        TrafficReportSummary report = TestReports.at(1, 23.746, 90.380);
+        active.add(report);
+        lookUp();
+        active.clear();
+        service.onReportRemoved(TestReports.summary(1, 23.746, 90.380, TestReports.T0, false, 0, 0, 2));
+
+        assertThat(lookUp()).isEmpty();
+    }
+
+    @Test
+    void evictedEntriesLeaveTheCellIndex() {
+        ReflectionTestUtils.setField(service, "maxSize", 1);
+        lookUp();
+        SavedRoute other = new SavedRoute();
+        other.setId(2L);
+        other.setFromLatitude(23.810);
+        other.setFromLongitude(90.412);
+        other.setToLatitude(23.820);
+        other.setToLongitude(90.420);
+        service.getRouteIncidents(other, null);
+
+        Map<?, ?> entriesByCell = (Map<?, ?>) ReflectionTestUtils.getField(service, "entriesByCell");
+        Set<Object> indexedRoutes = new HashSet<>();
+        entriesByCell.values().forEach(entries -> ((Set<?>) entries)
+                .forEach(entry -> indexedRoutes.add(ReflectionTestUtils.getField(entry, "routeId"))));
+        assertThat(indexedRoutes).containsExactly(2L);
+    }
+
+    private List<RouteIncidentResponse> lookUp() {
+        return service.getRouteIncidents(route, null);
+    }
+}
@@ -0,0 +1,304 @@
+package com.raastabuzz.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.raastabuzz.dto.request.TrafficReportRequest;
+import com.raastabuzz.dto.response.CursorPageResponse;
+import com.raastabuzz.dto.response.DuplicateCandidateResponse;
+import com.raastabuzz.dto.response.ReportChangesResponse;
+import com.raastabuzz.dto.response.ReportSubmissionResult;
+import com.raastabuzz.dto.response.TrafficReportSummary;
+import com.raastabuzz.model.Severity;
+import com.raastabuzz.model.TrafficCategory;
+import com.raastabuzz.model.TrafficReport;
+import com.raastabuzz.model.User;
+import com.raastabuzz.model.VoteType;
+import com.raastabuzz.repository.TrafficReportRepository;
+import com.raastabuzz.repository.UserRepository;
+import com.raastabuzz.support.TestReports;
+
+/**
+ * Runs the service against an embedded database with the real vote queue, so
+ * an edit can be caught between loading a report and saving it. Nothing rolls
+ * back, so each test gets a new context.
+ */
+@DataJpaTest
+@Import({TrafficReportService.class, VoteWriteBehindQueue.class, UserVoteStore.class, ReportVersionSequence.class,
+        VoteWriteBehindQueueTest.Metrics.class})
+@TestPropertySource(properties = {"app.votes.flush.interval-ms=10", "app.votes.flush.retry-backoff-ms=10"})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class TrafficReportServiceTest {
+
+    @MockBean
+    private ActiveReportCache activeReportCache;
+
+    @MockBean
+    private ReportBroadcaster reportBroadcaster;
+
+    @MockBean
+    private ReportSpatialIndex reportSpatialIndex;
+
+    @MockBean
+    private ReportClusterIndex reportClusterIndex;
+
+    @MockBean
+    private ReportDuplicateDetector reportDuplicateDetector;
+
+    @MockBean
+    private TrendingReportIndex trendingReportIndex;
+
+    @MockBean
+    private ReverseGeocoder reverseGeocoder;
+
+    @SpyBean
+    private ReportVersionSequence reportVersionSequence;
+
+    @Autowired
+    private TrafficReportService trafficReportService;
+
+    @Autowired
+    private VoteWriteBehindQueue queue;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TrafficReportRepository trafficReportRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void editDoesNotOverwriteVotesFlushedWhileItRuns() throws InterruptedException {
+        User author = userRepository.save(new User("author", "author@test.com", "secret"));
+        User voter = userRepository.save(new User("voter", "voter@test.com", "secret"));
+        Long reportId = report(author);
+
+        // The edit stamps its version after loading the report; a vote flushed then used to be lost
+        Thread editor = Thread.currentThread();
+        AtomicBoolean raced = new AtomicBoolean();
+        doAnswer(invocation -> {
+            if (Thread.currentThread() == editor && raced.compareAndSet(false, true)) {
+                // From another thread: a query on this one would flush the edit early and take the row lock
+                Thread voting = new Thread(() -> queue.submit(reportId, VoteType.UPVOTE, voter.getId()));
+                voting.start();
+                voting.join();
+                awaitUpvotes(reportId, 500);
+            }
+            return invocation.callRealMethod();
+        }).when(reportVersionSequence).next();
+
+        TrafficReportRequest edit = new TrafficReportRequest();
+        edit.setTitle("Jam cleared near Dhanmondi 27");
+        edit.setDescription("Moving again");
+        edit.setCategory(TrafficCategory.TRAFFIC_JAM);
+        edit.setSeverity(Severity.LOW);
+        edit.setLatitude(23.746);
+        edit.setLongitude(90.376);
+        trafficReportService.updateReport(reportId, edit, author);
+        queue.shutdown();
+
+        assertThat(raced).isTrue();
+        assertThat(jdbcTemplate.queryForObject("SELECT upvotes FROM traffic_reports WHERE id = ?",
+                Integer.class, reportId)).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT title FROM traffic_reports WHERE id = ?",
+                String.class, reportId)).isEqualTo("Jam cleared near Dhanmondi 27");
+    }
+
+    @Test
+    void eachUserCountsOnceAsAReporter() {
+        User author = userRepository.save(new User("author", "author@test.com", "secret"));
+        User witness = userRepository.save(new User("witness", "witness@test.com", "secret"));
+        Long reportId = report(author);
+        when(reportDuplicateDetector.findDuplicates(any(), anyDouble(), anyDouble())).thenReturn(List.of(
+                new DuplicateCandidateResponse(trafficReportRepository.findSummaryById(reportId).orElseThrow(), 0, 1)));
+
+        ReportSubmissionResult own = trafficReportService.createReport(submission(), author);
+        ReportSubmissionResult first = trafficReportService.createReport(submission(), witness);
+        ReportSubmissionResult again = trafficReportService.createReport(submission(), witness);
+
+        assertThat(own.isMerged()).isTrue();
+        assertThat(own.isNewReporter()).isFalse();
+        assertThat(first.isNewReporter()).isTrue();
+        assertThat(again.isMerged()).isTrue();
+        assertThat(again.isNewReporter()).isFalse();
+        assertThat(again.getReport().getReporterCount()).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForObject("SELECT reporter_count FROM traffic_reports WHERE id = ?",
+                Integer.class, reportId)).isEqualTo(2);
+    }
+
+    @Test
+    void feedPagesVisitEveryReportOnceAcrossTimestampTies() {
+        User author = userRepository.save(new User("author", "author@test.com", "secret"));
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            ids.add(report(author));
+        }
+        // Minutes after T0 per report; three share a timestamp and straddle a page boundary
+        int[] minutes = {0, 1, 2, 2, 2, 3, 4, 2};
+        for (int i = 0; i < ids.size(); i++) {
+            jdbcTemplate.update("UPDATE traffic_reports SET created_at = ? WHERE id = ?",
+                    Timestamp.valueOf(TestReports.T0.plusMinutes(minutes[i])), ids.get(i));
+        }
+        jdbcTemplate.update("UPDATE traffic_reports SET active = false WHERE id = ?", ids.get(7));
+        jdbcTemplate.update("UPDATE traffic_reports SET category = 'FLOODING' WHERE id = ?", ids.get(1));
+
+        List<Long> seen = new ArrayList<>();
+        List<Integer> pageSizes = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPageResponse<TrafficReportSummary> page = trafficReportService.getReportFeed(cursor, 2, null, null);
+            page.getItems().forEach(report -> seen.add(report.getId()));
+            pageSizes.add(page.getItems().size());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertThat(seen).containsExactly(ids.get(6), ids.get(5), ids.get(4), ids.get(3), ids.get(2), ids.get(1),
+                ids.get(0));
+        assertThat(pageSizes).containsExactly(2, 2, 2, 1);
+        assertThat(trafficReportService.getReportFeed(null, 10, TrafficCategory.FLOODING, null).getItems())
+                .extracting(TrafficReportSummary::getId).containsExactly(ids.get(1));
+        assertThatThrownBy(() -> trafficReportService.getReportFeed("not-a-cursor", 2, null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void changesPageInVersionOrderAndReportRemovals() {
+        User author = userRepository.save(new User("author", "author@test.com", "secret"));
+        long start = reportVersionSequence.next();
+        TrafficReportSummary kept = trafficReportService.createReport(submission(), author).getReport();
+        Long deletedId = trafficReportService.createReport(submission(), author).getReport().getId();
+        Long archivedId = trafficReportService.createReport(submission(), author).getReport().getId();
+        trafficReportService.deleteReport(deletedId, author);
+        trafficReportService.deleteReport(archivedId, author);
+        // As the archiver moves it: out of the hot table, keeping its last version
+        jdbcTemplate.update("INSERT INTO archived_traffic_reports (id, title, description, category, severity, "
+                + "latitude, longitude, verified, active, upvotes, downvotes, reporter_count, change_version, "
+                + "created_at, updated_at, deactivated_at, archived_at, user_id) "
+                + "SELECT id, title, description, category, severity, latitude, longitude, verified, active, "
+                + "upvotes, downvotes, reporter_count, change_version, created_at, updated_at, deactivated_at, "
+                + "CURRENT_TIMESTAMP, user_id FROM traffic_reports WHERE id = ?", archivedId);
+        jdbcTemplate.update("DELETE FROM traffic_reports WHERE id = ?", archivedId);
+        long latest = reportVersionSequence.safeHighWater();
+
+        ReportChangesResponse snapshot = trafficReportService.getChangesSince(0, 10);
+        assertThat(snapshot.getUpserts()).extracting(TrafficReportSummary::getId).containsExactly(kept.getId());
+        assertThat(snapshot.getTombstones()).isEmpty();
+        assertThat(snapshot.getVersion()).isEqualTo(latest);
+
+        ReportChangesResponse first = trafficReportService.getChangesSince(start, 1);
+        assertThat(first.getUpserts()).extracting(TrafficReportSummary::getId).containsExactly(kept.getId());
+        assertThat(first.getTombstones()).isEmpty();
+        assertThat(first.isHasMore()).isTrue();
+        assertThat(first.getVersion()).isEqualTo(kept.getChangeVersion());
+
+        ReportChangesResponse second = trafficReportService.getChangesSince(first.getVersion(), 1);
+        assertThat(second.getUpserts()).isEmpty();
+        assertThat(second.getTombstones()).containsExactly(deletedId, archivedId);
+        assertThat(second.isHasMore()).isFalse();
+        assertThat(second.getVersion()).isEqualTo(latest);
+
+        ReportChangesResponse caughtUp = trafficReportService.getChangesSince(latest, 10);
+        assertThat(caughtUp.getUpserts()).isEmpty();
+        assertThat(caughtUp.getTombstones()).isEmpty();
+        assertThat(caughtUp.getVersion()).isEqualTo(latest);
+    }
+
+    @Test
+    void changesStopBelowAVersionStillInFlight() throws Exception {
+        User author = userRepository.save(new User("author", "author@test.com", "secret"));
+        trafficReportService.createReport(submission(), author);
+        long synced = trafficReportService.getChangesSince(0, 10).getVersion();
+
+        // Takes its version, then holds its transaction open while a later report commits
+        CountDownLatch created = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicReference<Long> slowId = new AtomicReference<>();
+        Thread slow = new Thread(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            slowId.set(trafficReportService.createReport(submission(), author).getReport().getId());
+            created.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        slow.start();
+        assertThat(created.await(5, TimeUnit.SECONDS)).isTrue();
+        Long fastId = trafficReportService.createReport(submission(), author).getReport().getId();
+
+        ReportChangesResponse held = trafficReportService.getChangesSince(synced, 10);
+        assertThat(held.getUpserts()).isEmpty();
+        assertThat(held.getVersion()).isEqualTo(synced);
+
+        release.countDown();
+        slow.join();
+        ReportChangesResponse resumed = trafficReportService.getChangesSince(held.getVersion(), 10);
+        assertThat(resumed.getUpserts()).extracting(TrafficReportSummary::getId)
+                .containsExactly(slowId.get(), fastId);
+        assertThat(resumed.getVersion()).isEqualTo(reportVersionSequence.safeHighWater());
+    }
+
+    private static TrafficReportRequest submission() {
+        TrafficReportRequest request = new TrafficReportRequest();
+        request.setTitle("Jam");
+        request.setDescription("Still slow");
+        request.setCategory(TrafficCategory.TRAFFIC_JAM);
+        request.setSeverity(Severity.MEDIUM);
+        request.setLatitude(23.746);
+        request.setLongitude(90.376);
+        return request;
+    }
+
+    // Waits for the flush to land, or gives up once it is evidently blocked behind the edit
+    private void awaitUpvotes(Long reportId, long timeoutMs) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        while (System.currentTimeMillis() < deadline && jdbcTemplate.queryForObject(
+                "SELECT upvotes FROM traffic_reports WHERE id = ?", Integer.class, reportId) == 0) {
+            Thread.sleep(10);
+        }
+    }
+
+    private Long report(User author) {
+        TrafficReport report = new TrafficReport();
+        report.setTitle("Jam");
+        report.setDescription("Slow");
+        report.setCategory(TrafficCategory.TRAFFIC_JAM);
+        report.setSeverity(Severity.MEDIUM);
+        report.setLatitude(23.746);
+        report.setLongitude(90.376);
+        report.setUser(author);
+        return trafficReportRepository.save(report).getId();
+    }
+}
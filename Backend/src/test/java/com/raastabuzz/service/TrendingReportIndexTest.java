@@ -0,0 +1,90 @@
+package com.raastabuzz.service;
+
+import static com.raastabuzz.support.TestReports.T0;
+import static com.raastabuzz.support.TestReports.active;
+import static com.raastabuzz.support.TestReports.summary;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.assertj.core.data.Offset;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.raastabuzz.dto.response.TrendingReportResponse;
+
+class TrendingReportIndexTest {
+
+    private TrendingReportIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TrendingReportIndex();
+        ReflectionTestUtils.setField(index, "halfLifeMinutes", 180.0);
+        ReflectionTestUtils.setField(index, "voteWeight", 0.5);
+        ReflectionTestUtils.setField(index, "reporterWeight", 1.0);
+        ReflectionTestUtils.setField(index, "verifiedBonus", 2.0);
+    }
+
+    @Test
+    void newerReportOutranksOlderOneWithTheSameBase() {
+        index.onReportSaved(active(1, 0));
+        index.onReportSaved(active(2, 60));
+
+        assertThat(ids(index.getTrending(10))).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void scoreHalvesEveryHalfLife() {
+        // Anchored to now: scores of reports months old underflow to zero
+        LocalDateTime now = LocalDateTime.now();
+        index.onReportSaved(summary(1, 23.746, 90.376, now.minusMinutes(180), true, 0, 0, 1));
+        index.onReportSaved(summary(2, 23.746, 90.376, now, true, 0, 0, 2));
+
+        List<TrendingReportResponse> trending = index.getTrending(10);
+        assertThat(trending.get(1).getScore() / trending.get(0).getScore()).isCloseTo(0.5, within());
+    }
+
+    @Test
+    void votesReorderAndRemovalDrops() {
+        index.onReportSaved(active(1, 0));
+        index.onReportSaved(active(2, 10));
+        index.onReportSaved(summary(1, 23.746, 90.376, T0, true, 10, 0, 2));
+
+        assertThat(ids(index.getTrending(10))).containsExactly(1L, 2L);
+
+        index.onReportSaved(summary(1, 23.746, 90.376, T0, false, 10, 0, 3));
+        assertThat(ids(index.getTrending(10))).containsExactly(2L);
+    }
+
+    @Test
+    void olderChangeArrivingLateIsIgnored() {
+        index.onReportSaved(active(1, 0));
+        index.onReportSaved(active(2, 10));
+        index.onReportSaved(summary(1, 23.746, 90.376, T0, true, 10, 0, 5));
+        // Read before the upvotes landed, published after them
+        index.onReportSaved(summary(1, 23.746, 90.376, T0, true, 0, 0, 4));
+        index.onReportRemoved(summary(1, 23.746, 90.376, T0, false, 0, 0, 3));
+
+        assertThat(ids(index.getTrending(10))).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void limitTakesTheTopOfTheRanking() {
+        for (long id = 1; id <= 50; id++) {
+            index.onReportSaved(active(id, id));
+        }
+
+        assertThat(ids(index.getTrending(3))).containsExactly(50L, 49L, 48L);
+    }
+
+    private static List<Long> ids(List<TrendingReportResponse> trending) {
+        return trending.stream().map(response -> response.getReport().getId()).toList();
+    }
+
+    private static Offset<Double> within() {
+        return Offset.offset(1e-9);
+    }
+}
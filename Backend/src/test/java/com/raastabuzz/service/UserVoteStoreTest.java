@@ -0,0 +1,105 @@
+package com.raastabuzz.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.raastabuzz.model.VoteType;
+import com.raastabuzz.repository.VoteRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class UserVoteStoreTest {
+
+    private final VoteRepository repository = mock(VoteRepository.class);
+
+    private UserVoteStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new UserVoteStore(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(store, "voteRepository", repository);
+        ReflectionTestUtils.setField(store, "maxSize", 2);
+        ReflectionTestUtils.setField(store, "idleTtlMs", 60_000L);
+        when(repository.findVoteStatesByUserId(1L)).thenReturn(List.<Object[]>of(new Object[] {10L, VoteType.UPVOTE}));
+    }
+
+    @Test
+    void leastRecentlyUsedAreReloadedOnTheirNextRequest() {
+        store.forUser(1L);
+        store.forUser(2L);
+        store.forUser(3L);
+        // Within the idle TTL, but the oldest of three with room for two
+        lastUsed(1L, System.currentTimeMillis() - 1_000);
+        store.evictIdle();
+
+        assertThat(store.forUser(1L).get(10L)).isEqualTo(VoteType.UPVOTE);
+        verify(repository, times(2)).findVoteStatesByUserId(1L);
+        verify(repository, times(1)).findVoteStatesByUserId(2L);
+    }
+
+    @Test
+    void usersWithQueuedVotesAreKept() {
+        store.withUser(1L, votes -> {
+            votes.put(11L, VoteType.DOWNVOTE);
+            votes.queued(1);
+            return null;
+        });
+        lastUsed(1L, 0);
+        store.evictIdle();
+        assertThat(store.forUser(1L).get(11L)).isEqualTo(VoteType.DOWNVOTE);
+
+        store.settle(1L, 1);
+        lastUsed(1L, 0);
+        store.evictIdle();
+        assertThat(store.forUser(1L).get(11L)).isNull();
+    }
+
+    @Test
+    void loadOverlappingAnEvictionIsRetried() {
+        Object[] fresh = {10L, VoteType.DOWNVOTE};
+        boolean[] overlapped = {false};
+        when(repository.findVoteStatesByUserId(1L)).thenAnswer(invocation -> {
+            if (overlapped[0]) {
+                return List.<Object[]>of(fresh);
+            }
+            overlapped[0] = true;
+            // While this load runs, another request loads the user, its vote is flushed and the copy dropped
+            store.forUser(1L);
+            store.markStale(1L);
+            store.settle(1L, 0);
+            return List.<Object[]>of(new Object[] {10L, VoteType.UPVOTE});
+        });
+
+        assertThat(store.forUser(1L).get(10L)).isEqualTo(VoteType.DOWNVOTE);
+        verify(repository, times(3)).findVoteStatesByUserId(1L);
+    }
+
+    @Test
+    void staleUserIsReloadedOnceSettled() {
+        store.withUser(1L, votes -> {
+            votes.put(11L, VoteType.DOWNVOTE);
+            votes.queued(2);
+            return null;
+        });
+        store.markStale(1L);
+        store.settle(1L, 1);
+        assertThat(store.forUser(1L).get(11L)).isEqualTo(VoteType.DOWNVOTE);
+
+        store.settle(1L, 1);
+        assertThat(store.forUser(1L).get(11L)).isNull();
+        assertThat(store.forUser(1L).get(10L)).isEqualTo(VoteType.UPVOTE);
+    }
+
+    private void lastUsed(Long userId, long millis) {
+        ReflectionTestUtils.setField(store.forUser(userId), "lastUsedMillis", millis);
+    }
+}
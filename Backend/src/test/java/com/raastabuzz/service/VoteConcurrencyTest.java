@@ -0,0 +1,125 @@
+package com.raastabuzz.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.raastabuzz.model.Severity;
+import com.raastabuzz.model.TrafficCategory;
+import com.raastabuzz.model.TrafficReport;
+import com.raastabuzz.model.User;
+import com.raastabuzz.model.VoteType;
+import com.raastabuzz.repository.TrafficReportRepository;
+import com.raastabuzz.repository.UserRepository;
+
+/**
+ * Many users voting and switching votes on one report from many threads, with
+ * short flush intervals so the votes land across many batches. Afterwards the
+ * report's counters must match its vote rows exactly.
+ */
+@DataJpaTest
+@Import({VoteWriteBehindQueue.class, UserVoteStore.class, ReportVersionSequence.class,
+        VoteWriteBehindQueueTest.Metrics.class})
+@TestPropertySource(properties = {"app.votes.flush.interval-ms=5", "app.votes.flush.max-batch=50"})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DirtiesContext
+class VoteConcurrencyTest {
+
+    private static final int USERS = 40;
+    private static final int THREADS = 8;
+    private static final int VOTES_PER_THREAD = 400;
+
+    @MockBean
+    private ActiveReportCache activeReportCache;
+
+    @Autowired
+    private VoteWriteBehindQueue queue;
+
+    @Autowired
+    private UserVoteStore userVoteStore;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TrafficReportRepository trafficReportRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void countersMatchVoteRowsUnderConcurrentVoting() throws Exception {
+        User author = userRepository.save(new User("author", "author@test.com", "secret"));
+        TrafficReport report = new TrafficReport();
+        report.setTitle("Jam");
+        report.setDescription("Slow");
+        report.setCategory(TrafficCategory.TRAFFIC_JAM);
+        report.setSeverity(Severity.HIGH);
+        report.setLatitude(23.746);
+        report.setLongitude(90.376);
+        report.setUser(author);
+        Long reportId = trafficReportRepository.save(report).getId();
+        List<Long> voters = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            voters.add(userRepository.save(new User("voter" + i, "voter" + i + "@test.com", "secret")).getId());
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> runs = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            runs.add(pool.submit(() -> {
+                start.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < VOTES_PER_THREAD; i++) {
+                    Long voter = voters.get(random.nextInt(voters.size()));
+                    queue.submit(reportId, random.nextBoolean() ? VoteType.UPVOTE : VoteType.DOWNVOTE, voter);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> run : runs) {
+            run.get(60, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+        queue.shutdown();
+
+        int upvoteRows = voteRows(reportId, VoteType.UPVOTE);
+        int downvoteRows = voteRows(reportId, VoteType.DOWNVOTE);
+        assertThat(jdbcTemplate.queryForObject("SELECT upvotes FROM traffic_reports WHERE id = ?",
+                Integer.class, reportId)).isEqualTo(upvoteRows);
+        assertThat(jdbcTemplate.queryForObject("SELECT downvotes FROM traffic_reports WHERE id = ?",
+                Integer.class, reportId)).isEqualTo(downvoteRows);
+        assertThat(upvoteRows + downvoteRows).isEqualTo(USERS);
+        // Every user's last accepted vote is the one stored
+        for (Long voter : voters) {
+            assertThat(jdbcTemplate.queryForObject(
+                    "SELECT type FROM votes WHERE user_id = ? AND traffic_report_id = ?", String.class, voter, reportId))
+                    .isEqualTo(userVoteStore.forUser(voter).get(reportId).name());
+        }
+    }
+
+    private int voteRows(Long reportId, VoteType type) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM votes WHERE traffic_report_id = ? AND type = ?",
+                Integer.class, reportId, type.name());
+    }
+}
@@ -0,0 +1,167 @@
+package com.raastabuzz.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.raastabuzz.model.Severity;
+import com.raastabuzz.model.TrafficCategory;
+import com.raastabuzz.model.TrafficReport;
+import com.raastabuzz.model.User;
+import com.raastabuzz.model.VoteType;
+import com.raastabuzz.repository.TrafficReportRepository;
+import com.raastabuzz.repository.UserRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Runs the queue against an embedded database. The long flush interval holds
+ * the first batch open while a test changes the database under it; shutdown()
+ * then flushes whatever is queued, which is why each test gets a new context.
+ */
+@DataJpaTest
+@Import({VoteWriteBehindQueue.class, UserVoteStore.class, ReportVersionSequence.class,
+        VoteWriteBehindQueueTest.Metrics.class})
+@TestPropertySource(properties = {"app.votes.flush.interval-ms=1000", "app.votes.flush.retry-backoff-ms=10"})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class VoteWriteBehindQueueTest {
+
+    @TestConfiguration
+    static class Metrics {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @MockBean
+    private ActiveReportCache activeReportCache;
+
+    @Autowired
+    private VoteWriteBehindQueue queue;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TrafficReportRepository trafficReportRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private User author;
+
+    @BeforeEach
+    void setUp() {
+        author = user("author");
+    }
+
+    @Test
+    void storedVoteDecidesWhatChanges() throws InterruptedException {
+        Long reportId = report();
+        User voter = user("voter");
+        queue.submit(reportId, VoteType.UPVOTE, voter.getId());
+        // The row landed some other way after the voter's votes were loaded into memory
+        jdbcTemplate.update("INSERT INTO votes (type, created_at, user_id, traffic_report_id) "
+                + "VALUES ('UPVOTE', CURRENT_TIMESTAMP, ?, ?)", voter.getId(), reportId);
+        queue.shutdown();
+
+        assertThat(counts(reportId)).containsExactly(0, 0);
+        assertThat(voteRows(reportId)).isEqualTo(1);
+        assertThat(meterRegistry.counter("votes.dropped").count()).isZero();
+    }
+
+    @Test
+    void badVoteIsDroppedAlone() throws InterruptedException {
+        Long reportId = report();
+        User kept = user("kept");
+        User gone = user("gone");
+        queue.submit(reportId, VoteType.UPVOTE, kept.getId());
+        queue.submit(reportId, VoteType.DOWNVOTE, gone.getId());
+        // Its vote row can no longer be inserted, which fails the whole batch
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", gone.getId());
+        queue.shutdown();
+
+        assertThat(counts(reportId)).containsExactly(1, 0);
+        assertThat(voteRows(reportId)).isEqualTo(1);
+        assertThat(meterRegistry.counter("votes.persisted").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("votes.dropped").count()).isEqualTo(1);
+    }
+
+    @Test
+    void votesOnRemovedReportsAreSkipped() throws InterruptedException {
+        Long removedId = report();
+        Long keptId = report();
+        User voter = user("voter");
+        queue.submit(removedId, VoteType.UPVOTE, voter.getId());
+        queue.submit(keptId, VoteType.DOWNVOTE, voter.getId());
+        jdbcTemplate.update("DELETE FROM traffic_reports WHERE id = ?", removedId);
+        queue.shutdown();
+
+        assertThat(counts(keptId)).containsExactly(0, 1);
+        assertThat(jdbcTemplate.queryForObject("SELECT points FROM users WHERE id = ?", Integer.class,
+                voter.getId())).isEqualTo(1);
+        assertThat(meterRegistry.counter("votes.dropped").count()).isZero();
+    }
+
+    @Test
+    void votesOnDeactivatedReportsAreSkipped() throws InterruptedException {
+        Long deletedId = report();
+        User voter = user("voter");
+        queue.submit(deletedId, VoteType.UPVOTE, voter.getId());
+        // Deleted by its author or expired: the row stays, marked inactive
+        jdbcTemplate.update("UPDATE traffic_reports SET active = false, change_version = 7 WHERE id = ?", deletedId);
+        queue.shutdown();
+
+        assertThat(counts(deletedId)).containsExactly(0, 0);
+        assertThat(voteRows(deletedId)).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT change_version FROM traffic_reports WHERE id = ?",
+                Long.class, deletedId)).isEqualTo(7);
+        assertThat(jdbcTemplate.queryForObject("SELECT points FROM users WHERE id = ?", Integer.class,
+                voter.getId())).isZero();
+        assertThat(meterRegistry.counter("votes.dropped").count()).isZero();
+    }
+
+    private User user(String name) {
+        return userRepository.save(new User(name, name + "@test.com", "secret"));
+    }
+
+    private Long report() {
+        TrafficReport report = new TrafficReport();
+        report.setTitle("Jam");
+        report.setDescription("Slow");
+        report.setCategory(TrafficCategory.TRAFFIC_JAM);
+        report.setSeverity(Severity.MEDIUM);
+        report.setLatitude(23.746);
+        report.setLongitude(90.376);
+        report.setUser(author);
+        return trafficReportRepository.save(report).getId();
+    }
+
+    private Integer[] counts(Long reportId) {
+        return jdbcTemplate.queryForObject("SELECT upvotes, downvotes FROM traffic_reports WHERE id = ?",
+                (rs, row) -> new Integer[] {rs.getInt(1), rs.getInt(2)}, reportId);
+    }
+
+    private int voteRows(Long reportId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM votes WHERE traffic_report_id = ?",
+                Integer.class, reportId);
+    }
+}
@@ -0,0 +1,34 @@
+package com.raastabuzz.support;
+
+import java.time.LocalDateTime;
+
+import com.raastabuzz.dto.response.TrafficReportSummary;
+import com.raastabuzz.model.Severity;
+import com.raastabuzz.model.TrafficCategory;
+
+/**
+ * Report summaries for unit tests; only the fields a test names differ from
+ * the defaults.
+ */
+public final class TestReports {
+
+    public static final LocalDateTime T0 = LocalDateTime.of(2026, 1, 1, 8, 0);
+
+    private TestReports() {}
+
+    // An active traffic jam in Dhanmondi created {@code minutes} after T0
+    public static TrafficReportSummary active(long id, long minutes) {
+        return summary(id, 23.746, 90.376, T0.plusMinutes(minutes), true, 0, 0, id);
+    }
+
+    public static TrafficReportSummary at(long id, double latitude, double longitude) {
+        return summary(id, latitude, longitude, T0, true, 0, 0, id);
+    }
+
+    public static TrafficReportSummary summary(long id, double latitude, double longitude, LocalDateTime createdAt,
+                                               boolean active, int upvotes, int downvotes, long version) {
+        return new TrafficReportSummary(id, "Report " + id, "", TrafficCategory.TRAFFIC_JAM, Severity.MEDIUM,
+                latitude, longitude, null, null, false, active, upvotes, downvotes, 1, version,
+                createdAt, createdAt, 1L, "Tester");
+    }
+}
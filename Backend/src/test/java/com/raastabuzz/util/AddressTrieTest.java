@@ -0,0 +1,67 @@
+package com.raastabuzz.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+class AddressTrieTest {
+
+    @Test
+    void heaviestUnderEachPrefixFirst() {
+        AddressTrie trie = new AddressTrie(2);
+        int mirpur = trie.add(5);
+        int mohakhali = trie.add(9);
+        int motijheel = trie.add(7);
+        trie.addKey(mirpur, "mirpur");
+        trie.addKey(mohakhali, "mohakhali");
+        trie.addKey(motijheel, "motijheel");
+
+        assertThat(trie.candidates("m")).containsExactly(mohakhali, motijheel);
+        assertThat(trie.candidates("mi")).containsExactly(mirpur);
+        assertThat(trie.candidates("mirpurx")).isEmpty();
+        assertThat(trie.candidates("")).isEmpty();
+    }
+
+    @Test
+    void incrementsReorderEveryKeyOfTheEntry() {
+        AddressTrie trie = new AddressTrie(2);
+        int mirpur = trie.add(1);
+        int mohakhali = trie.add(3);
+        int motijheel = trie.add(2);
+        trie.addKey(mirpur, "mirpur");
+        trie.addKey(mirpur, "মিরপুর");
+        trie.addKey(mohakhali, "mohakhali");
+        trie.addKey(motijheel, "motijheel");
+        assertThat(trie.candidates("m")).containsExactly(mohakhali, motijheel);
+
+        trie.increment(mirpur, 5);
+
+        assertThat(trie.weight(mirpur)).isEqualTo(6);
+        assertThat(trie.candidates("m")).containsExactly(mirpur, mohakhali);
+        assertThat(trie.candidates("মি")).containsExactly(mirpur);
+    }
+
+    @Test
+    void repeatedKeysAndShrinkingWeightsAreIgnoredOrRejected() {
+        AddressTrie trie = new AddressTrie(3);
+        int gulshan = trie.add(1);
+        trie.addKey(gulshan, "gulshan");
+        trie.addKey(gulshan, "gulshan");
+
+        assertThat(trie.candidates("gul")).containsExactly(gulshan);
+        assertThatThrownBy(() -> trie.increment(gulshan, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void growsPastItsInitialCapacity() {
+        AddressTrie trie = new AddressTrie(3);
+        for (int i = 0; i < 100; i++) {
+            trie.addKey(trie.add(i), "road " + i);
+        }
+
+        assertThat(trie.size()).isEqualTo(100);
+        assertThat(trie.candidates("road")).containsExactly(99, 98, 97);
+        assertThat(trie.candidates("road 4")).containsExactly(49, 48, 47);
+    }
+}
@@ -0,0 +1,52 @@
+package com.raastabuzz.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class CellCountTableTest {
+
+    @Test
+    void countsMatchAMapOfRows() {
+        Random random = new Random(11);
+        CellCountTable table = new CellCountTable(3);
+        Map<Long, int[]> expected = new HashMap<>();
+        for (int i = 0; i < 50_000; i++) {
+            long key = ((long) (random.nextInt(60) - 30) << 32) | (random.nextInt(60) & 0xffffffffL);
+            int column = random.nextInt(3);
+            int delta = random.nextInt(5) - 2;
+            table.add(key, column, delta);
+            expected.computeIfAbsent(key, k -> new int[3])[column] += delta;
+        }
+
+        assertThat(table.size()).isEqualTo(expected.size());
+        expected.forEach((key, counts) -> {
+            for (int column = 0; column < 3; column++) {
+                assertThat(table.get(key, column)).isEqualTo(counts[column]);
+            }
+            assertThat(table.total(key)).isEqualTo(counts[0] + counts[1] + counts[2]);
+        });
+        Map<Long, int[]> visited = new HashMap<>();
+        table.forEach((key, counts, offset) -> visited.put(key, new int[] {counts[offset], counts[offset + 1],
+                counts[offset + 2]}));
+        assertThat(visited).containsOnlyKeys(expected.keySet());
+        visited.forEach((key, counts) -> assertThat(counts).containsExactly(expected.get(key)));
+    }
+
+    @Test
+    void absentKeysReadAsZero() {
+        CellCountTable table = new CellCountTable(2);
+        table.add(5, 1, 3);
+        table.add(5, 1, -3);
+
+        assertThat(table.get(6, 0)).isZero();
+        assertThat(table.total(6)).isZero();
+        // The entry stays after dropping back to zero
+        assertThat(table.size()).isEqualTo(1);
+        assertThat(table.get(5, 1)).isZero();
+    }
+}
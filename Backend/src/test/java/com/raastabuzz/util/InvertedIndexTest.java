@@ -0,0 +1,92 @@
+package com.raastabuzz.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class InvertedIndexTest {
+
+    @Test
+    void rarerAndTitleTermsScoreHigher() {
+        InvertedIndex index = new InvertedIndex();
+        index.put(1, "Jam at Farmgate", "Traffic is slow");
+        index.put(2, "Flooding", "Water on the road near Farmgate");
+        index.put(3, "Accident", "Traffic stopped on the road");
+
+        assertThat(keys(index.search("farmgate", 10, null))).containsExactly(1L, 2L);
+        assertThat(keys(index.search("traffic flooding", 10, null)).get(0)).isEqualTo(2L);
+    }
+
+    @Test
+    void prefixesMatchAtAReducedWeight() {
+        InvertedIndex index = new InvertedIndex();
+        index.put(1, "Mirpur", "");
+        index.put(2, "Mirpur road", "");
+        index.put(3, "Mir", "");
+
+        List<InvertedIndex.Hit> hits = index.search("mir", 10, null);
+        assertThat(keys(hits).get(0)).isEqualTo(3L);
+        assertThat(keys(hits)).containsExactlyInAnyOrder(1L, 2L, 3L);
+        assertThat(index.search("m", 10, null)).isEmpty();
+    }
+
+    @Test
+    void replacedAndRemovedDocumentsStopMatching() {
+        InvertedIndex index = new InvertedIndex();
+        index.put(1, "Jam", "Farmgate");
+        assertThat(index.put(1, "Jam", "Farmgate")).isFalse();
+        assertThat(index.put(1, "Jam", "Shahbag")).isTrue();
+        index.put(2, "Jam", "Farmgate");
+        index.remove(2);
+
+        assertThat(index.search("farmgate", 10, null)).isEmpty();
+        assertThat(keys(index.search("shahbag", 10, null))).containsExactly(1L);
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void editWithTheSameHashCodeIsReindexed() {
+        InvertedIndex index = new InvertedIndex();
+        // "Aa" and "BB" share a String hashCode
+        index.put(1, "Jam", "Aa");
+        assertThat(index.put(1, "Jam", "BB")).isTrue();
+
+        assertThat(index.search("aa", 10, null)).isEmpty();
+        assertThat(keys(index.search("bb", 10, null))).containsExactly(1L);
+    }
+
+    @Test
+    void filterAndLimitApply() {
+        InvertedIndex index = new InvertedIndex();
+        for (long key = 1; key <= 20; key++) {
+            index.put(key, "Jam", "Road " + key);
+        }
+
+        assertThat(index.search("jam", 5, null)).hasSize(5);
+        assertThat(keys(index.search("jam", 100, key -> key % 2 == 0))).hasSize(10).allMatch(key -> key % 2 == 0);
+    }
+
+    @Test
+    void compactionKeepsResultsIntact() {
+        InvertedIndex index = new InvertedIndex();
+        for (long key = 0; key < 3000; key++) {
+            index.put(key, "Report " + key, key % 3 == 0 ? "pothole" : "jam");
+        }
+        for (long key = 0; key < 3000; key++) {
+            if (key % 3 != 0) {
+                index.remove(key);
+            }
+        }
+
+        assertThat(index.size()).isEqualTo(1000);
+        assertThat(index.search("jam", 10, null)).isEmpty();
+        assertThat(index.search("pothole", 2000, null)).hasSize(1000);
+        assertThat(keys(index.search("2997", 10, null))).containsExactly(2997L);
+    }
+
+    private static List<Long> keys(List<InvertedIndex.Hit> hits) {
+        return hits.stream().map(InvertedIndex.Hit::getKey).toList();
+    }
+}
@@ -0,0 +1,48 @@
+package com.raastabuzz.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class LongByteMapTest {
+
+    @Test
+    void behavesLikeAHashMapUnderRandomOperations() {
+        Random random = new Random(7);
+        LongByteMap map = new LongByteMap();
+        Map<Long, Byte> expected = new HashMap<>();
+        for (int i = 0; i < 200_000; i++) {
+            // A narrow key range keeps collisions, removals and re-inserts frequent
+            long key = random.nextInt(5000) * 4096L - 1_000_000L;
+            if (random.nextInt(3) == 0) {
+                assertThat(map.remove(key)).isEqualTo(valueOf(expected.remove(key)));
+            } else {
+                byte value = (byte) (1 + random.nextInt(2));
+                assertThat(map.put(key, value)).isEqualTo(valueOf(expected.put(key, value)));
+            }
+        }
+
+        assertThat(map.size()).isEqualTo(expected.size());
+        for (long key = -1_000_000L; key < 5000 * 4096L; key += 4096) {
+            assertThat(map.get(key)).isEqualTo(valueOf(expected.get(key)));
+        }
+    }
+
+    @Test
+    void zeroIsReservedForAbsentKeys() {
+        LongByteMap map = new LongByteMap(4);
+        assertThat(map.get(0)).isZero();
+        assertThatThrownBy(() -> map.put(1, (byte) 0)).isInstanceOf(IllegalArgumentException.class);
+        map.put(0, (byte) 2);
+        assertThat(map.get(0)).isEqualTo((byte) 2);
+    }
+
+    private static byte valueOf(Byte value) {
+        return value == null ? 0 : value;
+    }
+}
@@ -0,0 +1,71 @@
+package com.raastabuzz.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class PointKdTreeTest {
+
+    @Test
+    void matchesABruteForceScan() {
+        Random random = new Random(42);
+        int n = 2000;
+        double[] latitudes = new double[n];
+        double[] longitudes = new double[n];
+        // Greater Dhaka, with some points stacked on the same spot
+        for (int i = 0; i < n; i++) {
+            latitudes[i] = 23.65 + random.nextDouble() * 0.25;
+            longitudes[i] = 90.33 + random.nextDouble() * 0.17;
+            if (i % 50 == 1) {
+                latitudes[i] = latitudes[i - 1];
+                longitudes[i] = longitudes[i - 1];
+            }
+        }
+        PointKdTree tree = new PointKdTree(latitudes, longitudes);
+        double scale = Math.cos(Math.toRadians(mean(latitudes))) * GeoUtils.KM_PER_DEGREE;
+
+        for (int q = 0; q < 1000; q++) {
+            double latitude = 23.6 + random.nextDouble() * 0.35;
+            double longitude = 90.3 + random.nextDouble() * 0.25;
+            double maxKm = q % 2 == 0 ? 0.5 : 50;
+            int found = tree.nearest(latitude, longitude, maxKm);
+
+            double best = Double.MAX_VALUE;
+            for (int i = 0; i < n; i++) {
+                best = Math.min(best, distance(latitudes[i], longitudes[i], latitude, longitude, scale));
+            }
+            if (best > maxKm) {
+                assertThat(found).isEqualTo(-1);
+            } else {
+                // Ties may resolve to either point; the distance is what must agree
+                assertThat(distance(latitudes[found], longitudes[found], latitude, longitude, scale))
+                        .isCloseTo(best, offset(1e-9));
+            }
+        }
+    }
+
+    @Test
+    void emptyAndSinglePointTrees() {
+        assertThat(new PointKdTree(new double[0], new double[0]).nearest(23.7, 90.4, 10)).isEqualTo(-1);
+        PointKdTree one = new PointKdTree(new double[] {23.7}, new double[] {90.4});
+        assertThat(one.nearest(23.7, 90.4, 0)).isZero();
+        assertThat(one.nearest(23.8, 90.4, 1)).isEqualTo(-1);
+    }
+
+    private static double distance(double lat1, double lng1, double lat2, double lng2, double scale) {
+        double dx = (lng1 - lng2) * scale;
+        double dy = (lat1 - lat2) * GeoUtils.KM_PER_DEGREE;
+        return Math.sqrt(dx * dx + dy * dy);
+    }
+
+    private static double mean(double[] values) {
+        double mean = 0;
+        for (double value : values) {
+            mean += value / values.length;
+        }
+        return mean;
+    }
+}
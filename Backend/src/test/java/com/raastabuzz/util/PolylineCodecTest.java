@@ -0,0 +1,37 @@
+package com.raastabuzz.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class PolylineCodecTest {
+
+    @Test
+    void roundTripsAtFivePlaces() {
+        List<double[]> points = List.of(new double[] {23.74612, 90.37633}, new double[] {23.75001, 90.38999},
+                new double[] {-33.86882, 151.20929});
+
+        List<double[]> decoded = PolylineCodec.decode(PolylineCodec.encode(points));
+
+        assertThat(decoded).hasSize(points.size());
+        for (int i = 0; i < points.size(); i++) {
+            assertThat(decoded.get(i)[0]).isCloseTo(points.get(i)[0], within(1e-9));
+            assertThat(decoded.get(i)[1]).isCloseTo(points.get(i)[1], within(1e-9));
+        }
+    }
+
+    @Test
+    void largestJumpsTakeTwelveCharactersAPoint() {
+        // Alternating between opposite corners of the globe maximizes every delta
+        List<double[]> points = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            points.add(i % 2 == 0 ? new double[] {-90, -180} : new double[] {90, 180});
+        }
+
+        assertThat(PolylineCodec.encode(points)).hasSizeLessThanOrEqualTo(2000 * 12);
+    }
+}
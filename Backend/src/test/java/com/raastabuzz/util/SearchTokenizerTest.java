@@ -0,0 +1,38 @@
+package com.raastabuzz.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class SearchTokenizerTest {
+
+    @Test
+    void splitsAndLowerCasesEnglish() {
+        assertThat(SearchTokenizer.tokenize("Jam near Mirpur-10, FARMGATE!"))
+                .containsExactly("jam", "near", "mirpur", "10", "farmgate");
+    }
+
+    @Test
+    void banglaDigitsMatchAsciiOnes() {
+        assertThat(SearchTokenizer.tokenize("মিরপুর ১০")).containsExactly("মিরপুর", "10");
+        assertThat(SearchTokenizer.tokenize("Mirpur10")).containsExactly("mirpur", "10");
+    }
+
+    @Test
+    void vowelSignsStayInsideTheirWord() {
+        // The hasanta and vowel signs are combining marks, not separators; joiners are dropped
+        assertThat(SearchTokenizer.tokenize("র\u200Dযাব")).containsExactly("রযাব");
+        assertThat(SearchTokenizer.tokenize("র‍যাব")).containsExactly("রযাব");
+    }
+
+    @Test
+    void emptyInputsGiveNoTerms() {
+        assertThat(SearchTokenizer.tokenize(null)).isEmpty();
+        assertThat(SearchTokenizer.tokenize(" -- ")).isEmpty();
+    }
+
+    @Test
+    void longTermsAreCut() {
+        assertThat(SearchTokenizer.tokenize("a".repeat(60)).get(0)).hasSize(40);
+    }
+}
@@ -0,0 +1,58 @@
+package com.raastabuzz.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+class SequenceRingTest {
+
+    @Test
+    void numbersItemsFromTheFirstSeq() {
+        SequenceRing<String> ring = new SequenceRing<>(3, 100);
+        assertThat(ring.size()).isZero();
+        assertThat(ring.firstSeq()).isEqualTo(ring.nextSeq());
+
+        assertThat(ring.append("a")).isEqualTo(100);
+        assertThat(ring.append("b")).isEqualTo(101);
+        assertThat(ring.get(100)).isEqualTo("a");
+        assertThat(ring.get(101)).isEqualTo("b");
+        assertThat(ring.nextSeq()).isEqualTo(102);
+    }
+
+    @Test
+    void fullRingEvictsTheOldest() {
+        SequenceRing<String> ring = new SequenceRing<>(3, 100);
+        for (String item : new String[] {"a", "b", "c", "d", "e"}) {
+            ring.append(item);
+        }
+
+        assertThat(ring.size()).isEqualTo(3);
+        assertThat(ring.firstSeq()).isEqualTo(102);
+        assertThat(ring.contains(101)).isFalse();
+        assertThat(ring.get(102)).isEqualTo("c");
+        assertThat(ring.get(104)).isEqualTo("e");
+        assertThatThrownBy(() -> ring.get(101)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> ring.get(105)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    void worksWithLargeAndNegativeSeqs() {
+        SequenceRing<Long> ring = new SequenceRing<>(4, -2);
+        for (long i = 0; i < 10; i++) {
+            ring.append(i);
+        }
+        assertThat(ring.get(7)).isEqualTo(9L);
+        assertThat(ring.get(4)).isEqualTo(6L);
+
+        long start = System.currentTimeMillis() * 1000;
+        SequenceRing<Long> timed = new SequenceRing<>(5, start);
+        timed.append(1L);
+        assertThat(timed.get(start)).isEqualTo(1L);
+    }
+
+    @Test
+    void capacityMustBePositive() {
+        assertThatThrownBy(() -> new SequenceRing<String>(0, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -101,6 +101,8 @@ const TrafficMap = ({ routeData, onReportClick, isLoaded }) => {
   const [error, setError] = useState(null);
   const [imageDialogOpen, setImageDialogOpen] = useState(false);
   const directionsRendererRef = useRef(null);
+  // Live updates cover the cells in view; moved along with the map
+  const areaSubscriptionRef = useRef(null);
 
   // Fetch traffic reports
   const fetchTrafficReports = useCallback(async () => {
@@ -126,9 +128,9 @@ const TrafficMap = ({ routeData, onReportClick, isLoaded }) => {
     }
   }, [isLoaded, fetchTrafficReports]);
 
-  // Subscribe to real-time updates
+  // Subscribe to real-time updates for the visible area
   useEffect(() => {
-    const unsubscribe = trafficReportService.subscribeToUpdates((report) => {
+    const subscription = trafficReportService.subscribeToArea((report) => {
       setTrafficReports((prevReports) => {
         if (!report.active) {
           // console.log(trafficReports[5].imageUrl);
@@ -142,19 +144,38 @@ const TrafficMap = ({ routeData, onReportClick, isLoaded }) => {
             updated = [...prevReports, report];
           }
           updated.sort((a, b) => new Date(b.createdAt) - new Date(a.createdAt));
-          if (selectedReport && report.id === selectedReport.id) {
-            setSelectedReport(report);
-          }
+          setSelectedReport((selected) =>
+            selected && selected.id === report.id ? report : selected
+          );
           // console.log(trafficReports[5].imageUrl);
           return updated;
         }
         // console.log(trafficReports[5].imageUrl);
         return prevReports;
       });
-    });
+    }, fetchTrafficReports); // Reload if we were away too long for the missed updates to be replayed
+
+    areaSubscriptionRef.current = subscription;
+    return () => {
+      subscription.unsubscribe();
+      areaSubscriptionRef.current = null;
+    };
+  }, [fetchTrafficReports]);
 
-    return () => unsubscribe();
-  }, [selectedReport]);
+  const handleMapIdle = () => {
+    const bounds = map && map.getBounds();
+    if (!bounds || !areaSubscriptionRef.current) {
+      return;
+    }
+    const northEast = bounds.getNorthEast();
+    const southWest = bounds.getSouthWest();
+    areaSubscriptionRef.current.setArea({
+      minLat: southWest.lat(),
+      maxLat: northEast.lat(),
+      minLng: southWest.lng(),
+      maxLng: northEast.lng(),
+    });
+  };
 
   // Initialize DirectionsRenderer
   useEffect(() => {
@@ -243,6 +264,7 @@ const TrafficMap = ({ routeData, onReportClick, isLoaded }) => {
           console.log("Map loaded");
           setMap(map);
         }}
+        onIdle={handleMapIdle}
         onClick={(event) => {
           setSelectedReport(null);
           if (onReportClick) {
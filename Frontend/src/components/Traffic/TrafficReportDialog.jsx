@@ -1,6 +1,7 @@
 import { MyLocation, PhotoCamera } from "@mui/icons-material";
 import {
   Alert,
+  Autocomplete,
   Box,
   Button,
   Chip,
@@ -17,9 +18,10 @@ import {
   Typography,
 } from "@mui/material";
 import axios from "axios";
-import { useState } from "react";
+import { useRef, useState } from "react";
 import { useAuth } from "../../context/AuthContext";
 import { trafficCategories } from "../../data/demoData";
+import { trafficReportService } from "../../services/trafficReportService";
 const API_BASE_URL =
   import.meta.env.VITE_API_BASE_URL || "http://localhost:8080/api";
 
@@ -39,7 +41,12 @@ const TrafficReportDialog = ({ open, onClose }) => {
   });
   const [loading, setLoading] = useState(false);
   const [success, setSuccess] = useState(false);
+  // Set when the server merged the submission into an existing report
+  const [reporterCount, setReporterCount] = useState(1);
   const [error, setError] = useState(null);
+  const [addressOptions, setAddressOptions] = useState([]);
+  // Only the latest keystroke's suggestions are shown
+  const addressRequest = useRef(0);
 
   // Simulate getting current location (for demo, use fixed coords)
   const handleGetCurrentLocation = () => {
@@ -71,17 +78,49 @@ const TrafficReportDialog = ({ open, onClose }) => {
     setFormData((prev) => ({ ...prev, [field]: value }));
   };
 
-  // Example function to get address from lat/lng
-  async function getAddressFromLatLng(lat, lng) {
-    const apiKey = import.meta.env.VITE_GOOGLE_MAPS_API_KEY;
-    const url = `https://maps.googleapis.com/maps/api/geocode/json?latlng=${lat},${lng}&key=${apiKey}`;
-    const response = await fetch(url);
-    const data = await response.json();
-    if (data.results && data.results.length > 0) {
-      return data.results[0].formatted_address;
+  const handleAddressInput = async (value) => {
+    handleInputChange("address", value);
+    const request = ++addressRequest.current;
+    if (!value.trim()) {
+      setAddressOptions([]);
+      return;
+    }
+    try {
+      const suggestions = await trafficReportService.suggestAddresses(
+        value,
+        formData.latitude ?? undefined,
+        formData.longitude ?? undefined
+      );
+      if (request === addressRequest.current) {
+        setAddressOptions(suggestions);
+      }
+    } catch (err) {
+      setAddressOptions([]);
+    }
+  };
+
+  // A picked suggestion also supplies the coordinates if none were set yet
+  const handleAddressSelect = (suggestion) => {
+    if (!suggestion || typeof suggestion === "string") {
+      return;
     }
-    return "";
-  }
+    setFormData((prev) => {
+      const next = { ...prev, address: suggestion.address };
+      if (
+        !prev.latitude &&
+        !prev.longitude &&
+        suggestion.latitude != null &&
+        suggestion.longitude != null
+      ) {
+        next.latitude = suggestion.latitude;
+        next.longitude = suggestion.longitude;
+        next.location = `Lat: ${suggestion.latitude.toFixed(
+          5
+        )}, Lng: ${suggestion.longitude.toFixed(5)}`;
+      }
+      return next;
+    });
+  };
 
   const handleSubmit = async () => {
     if (
@@ -97,14 +136,6 @@ const TrafficReportDialog = ({ open, onClose }) => {
     setLoading(true);
     setError(null);
 
-    let address = formData.address;
-    if (!address && formData.latitude && formData.longitude) {
-      address = await getAddressFromLatLng(
-        formData.latitude,
-        formData.longitude
-      );
-    }
-
     try {
       // 1. Submit the traffic report (without image)
       const payload = {
@@ -114,7 +145,8 @@ const TrafficReportDialog = ({ open, onClose }) => {
         severity: formData.severity,
         latitude: formData.latitude,
         longitude: formData.longitude,
-        address: address,
+        // Left blank, the server names the spot from its own gazetteer
+        address: formData.address,
       };
 
       const reportRes = await axios.post(
@@ -129,8 +161,11 @@ const TrafficReportDialog = ({ open, onClose }) => {
 
       const reportId = reportRes.data.id; // Adjust if your backend returns a different field
 
-      // 2. If image is selected, upload it
-      if (formData.imageFile && reportId) {
+      // Duplicates are merged server-side into an existing report
+      setReporterCount(reportRes.data.reporterCount || 1);
+
+      // 2. If image is selected, upload it (unless it merged into a report that already has one)
+      if (formData.imageFile && reportId && !reportRes.data.imageUrl) {
         const imageForm = new FormData();
         imageForm.append("file", formData.imageFile);
 
@@ -186,7 +221,9 @@ const TrafficReportDialog = ({ open, onClose }) => {
         {success ? (
           <Alert severity="success" sx={{ mt: 2 }}>
             <Typography variant="body2">
-              Thank you! Your traffic report has been submitted successfully.
+              {reporterCount > 1
+                ? `Thank you! This matches an existing report, now confirmed by ${reporterCount} people.`
+                : "Thank you! Your traffic report has been submitted successfully."}
             </Typography>
           </Alert>
         ) : (
@@ -287,6 +324,44 @@ const TrafficReportDialog = ({ open, onClose }) => {
               </Button>
             </Box>
 
+            {/* Address */}
+            <Autocomplete
+              freeSolo
+              options={addressOptions}
+              filterOptions={(options) => options}
+              getOptionLabel={(option) =>
+                typeof option === "string" ? option : option.address
+              }
+              inputValue={formData.address}
+              onInputChange={(e, value, reason) => {
+                if (reason === "input") {
+                  handleAddressInput(value);
+                } else if (reason === "clear") {
+                  handleInputChange("address", "");
+                }
+              }}
+              onChange={(e, value) => handleAddressSelect(value)}
+              renderOption={(props, option) => (
+                <li {...props} key={option.address}>
+                  <Box>
+                    <Typography variant="body2">{option.address}</Typography>
+                    <Typography variant="caption" color="text.secondary">
+                      {option.reportCount} reports
+                      {option.distanceKm != null &&
+                        ` · ${option.distanceKm.toFixed(1)} km away`}
+                    </Typography>
+                  </Box>
+                </li>
+              )}
+              renderInput={(params) => (
+                <TextField
+                  {...params}
+                  label="Address"
+                  placeholder="Start typing a place, e.g. Dhanmondi 27"
+                />
+              )}
+            />
+
             {/* Description */}
             <TextField
               label="Description"
@@ -296,7 +296,7 @@ import {
   Typography,
 } from "@mui/material";
 import axios from "axios";
-import React, { useEffect, useState } from "react";
+import React, { useEffect, useRef, useState } from "react";
 import { useAuth } from "../../context/AuthContext";
 import { trafficReportService } from "../../services/trafficReportService";
 const API_BASE_URL =
@@ -397,6 +397,26 @@ function isWithinRadius(lat1, lng1, lat2, lng2, radiusKm) {
   return R * c <= radiusKm;
 }
 
+// Greater Dhaka, watched for live updates when there is no route
+const DEFAULT_AREA = { minLat: 23.65, maxLat: 23.92, minLng: 90.3, maxLng: 90.5 };
+
+// Box around the path widened by radiusKm, for live update subscriptions
+function areaAround(pathCoords, radiusKm) {
+  if (pathCoords.length === 0) {
+    return DEFAULT_AREA;
+  }
+  const lats = pathCoords.map((coord) => (typeof coord.lat === "function" ? coord.lat() : coord.lat));
+  const lngs = pathCoords.map((coord) => (typeof coord.lng === "function" ? coord.lng() : coord.lng));
+  const latMargin = radiusKm / 111.2;
+  const lngMargin = latMargin / Math.cos((Math.max(...lats.map(Math.abs)) * Math.PI) / 180);
+  return {
+    minLat: Math.min(...lats) - latMargin,
+    maxLat: Math.max(...lats) + latMargin,
+    minLng: Math.min(...lngs) - lngMargin,
+    maxLng: Math.max(...lngs) + lngMargin,
+  };
+}
+
 // Accept pathCoords and radius as props
 const TrafficReportsList = ({
   maxItems = 10,
@@ -412,13 +432,21 @@ const TrafficReportsList = ({
     try {
       setLoading(true);
       setError(null);
-      const data = await trafficReportService.getRecentReports(24);
-
-      // If pathCoords provided, filter reports near the route
-      let filtered = data;
-      console.log("Path Coords:", pathCoords);
-      if (pathCoords.length > 0) {
-        filtered = data.filter((report) =>
+      // A route is matched server-side against its corridor; a single point is filtered here
+      let filtered;
+      if (pathCoords.length > 1) {
+        const path = pathCoords.map((coord) => ({
+          latitude: typeof coord.lat === "function" ? coord.lat() : coord.lat,
+          longitude: typeof coord.lng === "function" ? coord.lng() : coord.lng,
+        }));
+        const incidents = await trafficReportService.getReportsAlongRoute(path, radiusKm);
+        filtered = incidents.map((incident) => incident.report);
+      } else {
+        const data = await trafficReportService.getRecentReports(24);
+        filtered = data;
+      }
+      if (pathCoords.length === 1) {
+        filtered = filtered.filter((report) =>
           pathCoords.some((coord) =>
             isWithinRadius(
               typeof coord.lat === "function" ? coord.lat() : coord.lat,
@@ -445,9 +473,14 @@ const TrafficReportsList = ({
     // eslint-disable-next-line
   }, [maxItems, JSON.stringify(pathCoords), radiusKm]);
 
-  // Subscribe to real-time updates
+  const areaSubscriptionRef = useRef(null);
+  // Latest fetchReports, for reloading from inside the subscription
+  const fetchReportsRef = useRef(fetchReports);
+  fetchReportsRef.current = fetchReports;
+
+  // Subscribe to real-time updates for the route's area
   useEffect(() => {
-    const unsubscribe = trafficReportService.subscribeToUpdates((report) => {
+    const subscription = trafficReportService.subscribeToArea((report) => {
       setReports((prevReports) => {
         if (!report.active) {
           // Remove deactivated report
@@ -470,12 +503,23 @@ const TrafficReportsList = ({
         // If not recent and not in list, ignore
         return prevReports;
       });
-    });
+    }, () => fetchReportsRef.current()); // Reload if we were away too long for the missed updates to be replayed
 
+    areaSubscriptionRef.current = subscription;
     // Cleanup subscription on unmount
-    return () => unsubscribe();
+    return () => {
+      subscription.unsubscribe();
+      areaSubscriptionRef.current = null;
+    };
   }, [maxItems]);
 
+  useEffect(() => {
+    if (areaSubscriptionRef.current) {
+      areaSubscriptionRef.current.setArea(areaAround(pathCoords, radiusKm));
+    }
+    // eslint-disable-next-line
+  }, [maxItems, JSON.stringify(pathCoords), radiusKm]);
+
   const handleVote = async (reportId, voteType) => {
     if (!user) return;
 
@@ -614,6 +658,8 @@ const TrafficReportsList = ({
                         <Typography variant="caption" color="text.secondary">
                           By {report.user?.username || "Anonymous"} •{" "}
                           {getTimeAgo(report.createdAt)}
+                          {report.reporterCount > 1 &&
+                            ` • ${report.reporterCount} reporters`}
                         </Typography>
 
                         <Stack direction="row" spacing={0.5}>
@@ -140,11 +140,24 @@ trafficReportAPI.interceptors.request.use((config) => {
   return config;
 });
 
+// Reloads after a missed-event gap are spread over this long
+const RESYNC_JITTER_MS = 3000;
+
 export const trafficReportService = {
   // WebSocket client instance
   stompClient: null,
-  // Callbacks for subscribers to real-time updates
+  // Area subscribers to real-time updates: { cells: Set of geohash cells, callback, onResync }
   subscribers: [],
+  // Cell topic -> STOMP subscription (null until connected)
+  cellSubscriptions: new Map(),
+  // Latest known state of each report, which live patches are applied to
+  reportsById: new Map(),
+  // Report id -> in-flight fetch of a report patched before we held it
+  reportFetches: new Map(),
+  // Highest event seq received; resubscribing after a reconnect asks the server to replay what came after it
+  lastSeq: null,
+  // Callbacks for saved-route alerts addressed to the signed-in user
+  alertSubscribers: [],
 
   // Initialize WebSocket connection
   connectWebSocket: function () {
@@ -155,8 +168,11 @@ export const trafficReportService = {
     //needs to change here for real time update///
 
     const socket = new SockJS('http://localhost:8080/ws'); // Adjust to your backend WebSocket URL
+    // The token identifies the user so alerts on /user/queue/alerts reach them
+    const token = localStorage.getItem('token');
     this.stompClient = new Client({
       webSocketFactory: () => socket,
+      connectHeaders: token ? { Authorization: `Bearer ${token}` } : {},
       reconnectDelay: 5000, // Auto-reconnect every 5 seconds
       heartbeatIncoming: 4000,
       heartbeatOutgoing: 4000,
@@ -164,11 +180,14 @@ export const trafficReportService = {
 
     this.stompClient.onConnect = (frame) => {
       console.log('Connected to WebSocket');
-      // Subscribe to the reports topic
-      this.stompClient.subscribe('/topic/reports', (message) => {
-        const report = JSON.parse(message.body);
-        // Notify all subscribers
-        this.subscribers.forEach((callback) => callback(report));
+      // Replays must be listened for before the cell topics asking for them
+      this.stompClient.subscribe('/user/queue/replay', (message) => this.applyReplay(JSON.parse(message.body)));
+      // Subscriptions do not survive a reconnect; take out every wanted cell topic again, resuming after lastSeq
+      this.cellSubscriptions.forEach((subscription, topic) => this.cellSubscriptions.set(topic, null));
+      this.syncCellSubscriptions(this.lastSeq);
+      this.stompClient.subscribe('/user/queue/alerts', (message) => {
+        const alert = JSON.parse(message.body);
+        this.alertSubscribers.forEach((callback) => callback(alert));
       });
     };
 
@@ -188,19 +207,189 @@ export const trafficReportService = {
     if (this.stompClient) {
       this.stompClient.deactivate();
       this.stompClient = null;
+      this.cellSubscriptions.clear();
       console.log('Disconnected from WebSocket');
     }
   },
 
-  // Subscribe to real-time updates
-  subscribeToUpdates: function (callback) {
-    this.subscribers.push(callback);
-    // Ensure WebSocket is connected
+  // Subscribe to real-time updates for reports in an area. Call setArea({ minLat, maxLat, minLng, maxLng })
+  // whenever the area changes; only the cell topics that change are (un)subscribed.
+  // onResync is called when events were missed for too long to replay and the area's reports must be reloaded.
+  subscribeToArea: function (callback, onResync) {
+    const subscriber = { cells: new Set(), callback, onResync, request: 0, resyncTimer: null };
+    this.subscribers.push(subscriber);
+    this.connectWebSocket();
+    return {
+      setArea: async (area) => {
+        const request = ++subscriber.request;
+        try {
+          const { topicPrefix, cells } = await this.getCells(area);
+          // A newer area or an unsubscribe may have overtaken this one
+          if (request !== subscriber.request || !this.subscribers.includes(subscriber)) {
+            return;
+          }
+          subscriber.cells = new Set(cells.map((cell) => topicPrefix + cell));
+          this.syncCellSubscriptions();
+        } catch (error) {
+          console.error('Error subscribing to area:', error);
+        }
+      },
+      unsubscribe: () => {
+        clearTimeout(subscriber.resyncTimer);
+        this.subscribers = this.subscribers.filter((s) => s !== subscriber);
+        this.syncCellSubscriptions();
+        if (this.subscribers.length === 0 && this.alertSubscribers.length === 0) {
+          this.disconnectWebSocket();
+        }
+      },
+    };
+  },
+
+  // Brings the STOMP subscriptions in line with the cells all area subscribers want; topics taken out again
+  // after a reconnect pass resumeFrom so the server replays the events sent while we were away
+  syncCellSubscriptions: function (resumeFrom = null) {
+    const wanted = new Set();
+    this.subscribers.forEach((subscriber) => subscriber.cells.forEach((topic) => wanted.add(topic)));
+    this.cellSubscriptions.forEach((subscription, topic) => {
+      if (!wanted.has(topic)) {
+        if (subscription && this.stompClient && this.stompClient.connected) {
+          subscription.unsubscribe();
+        }
+        this.cellSubscriptions.delete(topic);
+      }
+    });
+    const connected = this.stompClient && this.stompClient.connected;
+    wanted.forEach((topic) => {
+      if (this.cellSubscriptions.get(topic)) {
+        return;
+      }
+      this.cellSubscriptions.set(
+        topic,
+        connected
+          ? this.stompClient.subscribe(
+              topic,
+              (message) => this.handleCellEvent(topic, JSON.parse(message.body)),
+              resumeFrom != null ? { 'resume-from': String(resumeFrom) } : {}
+            )
+          : null
+      );
+    });
+  },
+
+  handleCellEvent: async function (topic, event) {
+    if (this.lastSeq == null || event.seq > this.lastSeq) {
+      this.lastSeq = event.seq;
+    }
+    const report = await this.applyEvent(event);
+    if (!report) {
+      return;
+    }
+    this.subscribers.forEach((subscriber) => {
+      if (subscriber.cells.has(topic)) {
+        subscriber.callback(report);
+      }
+    });
+  },
+
+  // Applies a replay ({ destination, lastSeq, resync, events }) sent in answer to a resuming subscription
+  applyReplay: function (replay) {
+    if (this.lastSeq == null || replay.lastSeq > this.lastSeq) {
+      this.lastSeq = replay.lastSeq;
+    }
+    if (!replay.resync) {
+      replay.events.forEach((event) => this.handleCellEvent(replay.destination, event));
+      return;
+    }
+    this.subscribers.forEach((subscriber) => {
+      if (!subscriber.onResync || !subscriber.cells.has(replay.destination) || subscriber.resyncTimer) {
+        return;
+      }
+      // One reload per subscriber however many cells resync, spread out so a reconnect storm doesn't reload at once
+      subscriber.resyncTimer = setTimeout(() => {
+        subscriber.resyncTimer = null;
+        subscriber.onResync();
+      }, Math.random() * RESYNC_JITTER_MS);
+    });
+  },
+
+  // Applies a report event ({ type, seq, id, version, changes | report }) to reportsById and returns the
+  // report as it now stands ({ id, active: false } once removed), or null for an event already superseded
+  applyEvent: async function (event) {
+    const current = this.reportsById.get(event.id);
+    const known = current ? current.changeVersion : null;
+    if (event.type === 'REMOVED') {
+      if (known != null && event.version < known) {
+        return null;
+      }
+      this.reportsById.delete(event.id);
+      return { id: event.id, active: false, changeVersion: event.version };
+    }
+    if (event.report) {
+      if (known != null && event.version < known) {
+        return null;
+      }
+      this.reportsById.set(event.id, event.report);
+      return event.report;
+    }
+    if (!current) {
+      const pending = this.reportFetches.get(event.id);
+      if (pending) {
+        // Already being fetched for an earlier patch; apply this one on top once it lands
+        await pending.catch(() => null);
+        return this.reportsById.has(event.id) ? this.applyEvent(event) : null;
+      }
+      // A patch for a report loaded before we were watching it; fetch it whole instead
+      const fetch = trafficReportAPI.get(`/${event.id}`).then((response) => this.rememberReports([response.data]));
+      this.reportFetches.set(event.id, fetch);
+      try {
+        await fetch;
+        return this.reportsById.get(event.id) || null;
+      } catch (error) {
+        console.error('Error fetching patched report:', error);
+        return null;
+      } finally {
+        this.reportFetches.delete(event.id);
+      }
+    }
+    if (known != null && event.version <= known) {
+      return null;
+    }
+    const updated = { ...current, ...event.changes, changeVersion: event.version };
+    this.reportsById.set(event.id, updated);
+    return updated;
+  },
+
+  // Records reports fetched over REST so later patches have something to apply to
+  rememberReports: function (reports) {
+    reports.forEach((report) => {
+      const current = this.reportsById.get(report.id);
+      if (!current || current.changeVersion == null || report.changeVersion >= current.changeVersion) {
+        this.reportsById.set(report.id, report);
+      }
+    });
+    return reports;
+  },
+
+  // Cell topics covering an area ({ minLat, maxLat, minLng, maxLng })
+  getCells: async (area) => {
+    try {
+      const response = await trafficReportAPI.get('/cells', {
+        params: { bbox: [area.minLng, area.minLat, area.maxLng, area.maxLat].join(',') },
+      });
+      return response.data;
+    } catch (error) {
+      console.error('Error fetching cells:', error);
+      throw error;
+    }
+  },
+
+  // Subscribe to alerts for reports along the user's saved routes
+  subscribeToAlerts: function (callback) {
+    this.alertSubscribers.push(callback);
     this.connectWebSocket();
-    // Return unsubscribe function
     return () => {
-      this.subscribers = this.subscribers.filter((cb) => cb !== callback);
-      if (this.subscribers.length === 0) {
+      this.alertSubscribers = this.alertSubscribers.filter((cb) => cb !== callback);
+      if (this.subscribers.length === 0 && this.alertSubscribers.length === 0) {
         this.disconnectWebSocket();
       }
     };
@@ -211,7 +400,7 @@ export const trafficReportService = {
     try {
       const response = await trafficReportAPI.get('');
       console.log(response.data);
-      return response.data;
+      return trafficReportService.rememberReports(response.data);
     } catch (error) {
       console.error('Error fetching reports:', error);
       throw error;
@@ -253,13 +442,39 @@ export const trafficReportService = {
     }
   },
 
+  // Recent reports of the same category close to a point, best match first
+  getDuplicateCandidates: async (lat, lng, category) => {
+    try {
+      const response = await trafficReportAPI.get('/duplicates', {
+        params: { lat, lng, category },
+      });
+      return response.data;
+    } catch (error) {
+      console.error('Error fetching duplicate candidates:', error);
+      throw error;
+    }
+  },
+
+  // Get trending reports, highest time-decayed score first
+  getTrendingReports: async (limit = 20) => {
+    try {
+      const response = await trafficReportAPI.get('/trending', {
+        params: { limit },
+      });
+      return response.data;
+    } catch (error) {
+      console.error('Error fetching trending reports:', error);
+      throw error;
+    }
+  },
+
   // Get recent reports
   getRecentReports: async (hours = 24) => {
     try {
       const response = await trafficReportAPI.get('/recent', {
         params: { hours },
       });
-      return response.data;
+      return trafficReportService.rememberReports(response.data);
     } catch (error) {
       console.error('Error fetching recent reports:', error);
       throw error;
@@ -291,6 +506,42 @@ export const trafficReportService = {
     }
   },
 
+  // Active reports within bufferKm of a route path ([{ latitude, longitude }]), ordered along the route
+  getReportsAlongRoute: async (path, bufferKm) => {
+    try {
+      const response = await trafficReportAPI.post('/along-route', { path, bufferKm });
+      trafficReportService.rememberReports(response.data.map((incident) => incident.report));
+      return response.data;
+    } catch (error) {
+      console.error('Error fetching reports along route:', error);
+      throw error;
+    }
+  },
+
+  // Current user's vote for each report id ({ id: 'UPVOTE' | 'DOWNVOTE' | null })
+  getMyVotes: async (reportIds) => {
+    try {
+      const response = await trafficReportAPI.post('/my-votes', { reportIds });
+      return response.data;
+    } catch (error) {
+      console.error('Error fetching my votes:', error);
+      throw error;
+    }
+  },
+
+  // Address completions for a typed prefix; lat/lng (both or neither) favour nearby places
+  suggestAddresses: async (prefix, lat, lng, limit = 5) => {
+    try {
+      const response = await axios.get(`${API_BASE_URL}/addresses/suggest`, {
+        params: { prefix, lat, lng, limit },
+      });
+      return response.data;
+    } catch (error) {
+      console.error('Error fetching address suggestions:', error);
+      throw error;
+    }
+  },
+
   // Delete report
   deleteReport: async (reportId) => {
     try {